@@ -0,0 +1,70 @@
+package cs3500.animator.benchmark;
+
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.util.ParallelAnimationReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the throughput of {@link AnimationReader#parseFile}, {@link
+ * AnimationReader#parseMappedFile} and {@link ParallelAnimationReader#parseFile} on the files in
+ * Examples. For parseFile the file is read into
+ * memory before measuring. Parsed lines are given to a builder that only counts them, so that only
+ * the time spent tokenizing and parsing is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnimationReaderBenchmark {
+
+  @Param({"buildings", "hanoi", "big-bang-big-crunch"})
+  private String file;
+
+  private Path path;
+  private String text;
+
+  /**
+   * Reads the example file being benchmarked into memory.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Setup
+  public void readFile() throws IOException {
+    this.path = Paths.get(System.getProperty("animator.examples", "Examples"), this.file + ".txt");
+    this.text = new String(Files.readAllBytes(this.path), StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public int parseFile() {
+    return AnimationReader.parseFile(new StringReader(this.text), new CountingBuilder());
+  }
+
+  @Benchmark
+  public int parseMappedFile() throws IOException {
+    return AnimationReader.parseMappedFile(this.path, new CountingBuilder());
+  }
+
+  @Benchmark
+  public int parseFileInParallel() throws IOException {
+    return ParallelAnimationReader.parseFile(this.path, new CountingBuilder());
+  }
+}
@@ -0,0 +1,44 @@
+package cs3500.animator.benchmark;
+
+import cs3500.animator.util.AnimationBuilder;
+
+/**
+ * A builder that counts the lines it is given instead of building an animation, so that only the
+ * time spent tokenizing and parsing a file is measured.
+ */
+class CountingBuilder implements AnimationBuilder<Integer> {
+
+  private int count;
+
+  @Override
+  public Integer build() {
+    return this.count;
+  }
+
+  @Override
+  public AnimationBuilder<Integer> setBounds(int x, int y, int width, int height) {
+    this.count++;
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Integer> declareShape(String name, String type) {
+    this.count++;
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Integer> addMotion(String name,
+      int t1, int x1, int y1, int w1, int h1, int r1, int g1, int b1,
+      int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2) {
+    this.count++;
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<Integer> addKeyframe(String name,
+      int t, int x, int y, int w, int h, int r, int g, int b) {
+    this.count++;
+    return this;
+  }
+}
@@ -0,0 +1,114 @@
+package cs3500.animator.benchmark;
+
+import cs3500.animator.controller.IFeatures;
+import cs3500.animator.view.IView;
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A view that writes SVG and text output to the given appendable like {@link
+ * cs3500.animator.view.SVGView} and {@link cs3500.animator.view.TextView}, but without being a
+ * window, so that exporters can be benchmarked on machines without a display. Frames given to it
+ * are counted and then dropped, so that computing frames can be benchmarked without drawing them.
+ */
+class OutputOnlyView implements IView {
+
+  private long shapesDrawn;
+
+  /**
+   * Gets the number of shapes in every frame given to this view so far.
+   *
+   * @return the number of shapes given to this view
+   */
+  long getShapesDrawn() {
+    return this.shapesDrawn;
+  }
+
+  @Override
+  public void generateSVG(Appendable a, String svgText) throws IOException {
+    a.append(svgText);
+  }
+
+  @Override
+  public void printTextView(String textDescription, Appendable a) throws IOException {
+    a.append(textDescription);
+  }
+
+  @Override
+  public void writePNG(RenderedImage image, String directory, int tick, int lastTick) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void addShapes(List<Shape> currentShapes, List<Color> currentColors) {
+    this.shapesDrawn += currentShapes.size();
+  }
+
+  @Override
+  public void addFrame(int count, int[] geometry, int[] argb, boolean[] ellipse) {
+    this.shapesDrawn += count;
+  }
+
+  @Override
+  public void setCanvasSize(int x, int y, int width, int height) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void refresh() {
+    // Frames are dropped as soon as they are given, so there is nothing to refresh
+  }
+
+  @Override
+  public void setDirtyRegions(boolean dirtyRegions) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void makeVisible() {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void addFeatures(IFeatures features) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void initializeSpeedChanger(int speed) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void initializeShapeList(List<String> shapes) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void initializeKeyframeList(List<String> keyframes) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void makePopupError(String message) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void updateKeyframeEditorGUI(int x, int y, int r, int g, int b, int height, int width) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void initializeScrubber(int lastTick) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+
+  @Override
+  public void updateScrubber(int currentTick) {
+    throw new UnsupportedOperationException("Only SVG and text output are supported");
+  }
+}
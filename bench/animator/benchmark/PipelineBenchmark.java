@@ -0,0 +1,156 @@
+package cs3500.animator.benchmark;
+
+import cs3500.animator.controller.SVGController;
+import cs3500.animator.controller.TextController;
+import cs3500.animator.controller.VisualController;
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.util.AnimationReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for each stage an animation file goes through, on its own, for the files in Examples
+ * and for copies of them scaled up to many times their size:
+ * <ul>
+ * <li>{@code parse}: tokenizing and parsing the text of the file with {@link
+ * AnimationReader#parseFile}, into a builder that only counts the lines</li>
+ * <li>{@code build}: creating the shapes and motions of the file and constructing and validating
+ * a {@link cs3500.animator.model.ShapeAnimation} from them, without parsing</li>
+ * <li>{@code interpolate}: computing the frame of every tick with {@link VisualController}, the
+ * way playback does, without drawing them</li>
+ * <li>{@code text}: writing the text description with {@link TextController}</li>
+ * <li>{@code svg}: writing the SVG with {@link SVGController} on a single thread</li>
+ * </ul>
+ * A file scaled up N times holds N copies of its shapes, each with shapes of its own. Run {@link
+ * #main} to run every stage with the GC profiler, which reports the bytes allocated per operation
+ * ({@code gc.alloc.rate.norm}) and the allocation rate of each stage alongside its time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+
+  @Param({"buildings", "hanoi", "big-bang-big-crunch"})
+  private String file;
+
+  // the number of copies of the file to benchmark
+  @Param({"1", "10"})
+  private int scale;
+
+  private RecordedAnimation animation;
+  private String text;
+  private IModel model;
+  private OutputOnlyView view;
+  private VisualController visualController;
+  private int lastTick;
+  private ForkJoinPool pool;
+  private StringBuilder output;
+
+  /**
+   * Runs every stage with the GC profiler. Any other JMH command line options given are used as
+   * well.
+   *
+   * @param args JMH command line options
+   * @throws CommandLineOptionException if the options are not valid
+   * @throws RunnerException            if a benchmark fails
+   */
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(PipelineBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+
+  /**
+   * Reads and scales the example file being benchmarked, and prepares the input of every stage.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Setup
+  public void readModel() throws IOException {
+    this.animation = RecordedAnimation.read(
+        Paths.get(System.getProperty("animator.examples", "Examples"), this.file + ".txt"))
+        .scale(this.scale);
+    this.text = this.animation.toText();
+    this.model = (IModel) this.animation.replay(new AnimationBuilderImpl());
+    this.view = new OutputOnlyView();
+    this.visualController = new VisualController(this.view, this.model);
+    for (Shape s : this.model.getShapes()) {
+      for (IMotion m : s.getMotions()) {
+        this.lastTick = Math.max(this.lastTick, m.getEndingKeyframe().getTick());
+      }
+    }
+    this.pool = new ForkJoinPool(1);
+    this.output = new StringBuilder();
+  }
+
+  /**
+   * Shuts down the pool.
+   */
+  @TearDown
+  public void shutDown() {
+    this.pool.shutdown();
+  }
+
+  @Benchmark
+  public int parse() {
+    return AnimationReader.parseFile(new StringReader(this.text), new CountingBuilder());
+  }
+
+  @Benchmark
+  public Object build() {
+    return this.animation.replay(new AnimationBuilderImpl());
+  }
+
+  @Benchmark
+  public long interpolate() {
+    for (int tick = 0; tick <= this.lastTick; tick++) {
+      this.visualController.updateTick(tick);
+    }
+    return this.view.getShapesDrawn();
+  }
+
+  @Benchmark
+  public int text() throws IOException {
+    this.output.setLength(0);
+    new TextController(this.view, this.model).createTextView(this.output);
+    return this.output.length();
+  }
+
+  @Benchmark
+  public int svg() throws IOException {
+    this.output.setLength(0);
+    SVGController controller = new SVGController(this.view, this.model, this.pool);
+    controller.setTempo(20);
+    controller.createSVG(this.output);
+    return this.output.length();
+  }
+}
@@ -0,0 +1,118 @@
+package cs3500.animator.benchmark;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.util.AnimationReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the time and allocation of reading keyframes during playback of the files in
+ * Examples. {@code playback} visits every tick of the animation and interpolates each motion
+ * occurring at it the way the visual view does. {@code checkMotions} compares every pair of
+ * adjacent motions the way the model validates them. Both are measured with shapes that store
+ * their motions as objects and with compact shapes. Run with {@code -prof gc} to see the bytes
+ * allocated per operation ({@code gc.alloc.rate.norm}) and the number of collections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaybackBenchmark {
+
+  @Param({"buildings", "hanoi", "big-bang-big-crunch"})
+  private String file;
+
+  // whether shapes keep their keyframes in arrays of ints
+  @Param({"false", "true"})
+  private boolean compact;
+
+  private IModel model;
+  private List<Shape> shapes;
+  private int lastTick;
+
+  /**
+   * Reads the example file being benchmarked into a model and finds its last tick.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Setup
+  public void readModel() throws IOException {
+    try (FileReader reader = new FileReader(
+        System.getProperty("animator.examples", "Examples") + "/" + this.file + ".txt")) {
+      this.model = (IModel) AnimationReader.parseFile(reader,
+          new AnimationBuilderImpl(this.compact));
+    }
+    this.shapes = this.model.getShapes();
+    for (Shape s : this.shapes) {
+      for (IMotion m : s.getMotions()) {
+        this.lastTick = Math.max(this.lastTick, m.getEndingKeyframe().getTick());
+      }
+    }
+  }
+
+  @Benchmark
+  public long playback() {
+    long checksum = 0;
+    for (int tick = 0; tick <= this.lastTick; tick++) {
+      for (Shape s : this.shapes) {
+        for (IMotion m : this.model.getMotionsAtTick(s, tick)) {
+          Keyframe start = m.getStartingKeyframe();
+          Keyframe end = m.getEndingKeyframe();
+          checksum += interpolate(tick, start.getTick(), end.getTick(), start.getX(), end.getX())
+              + interpolate(tick, start.getTick(), end.getTick(), start.getY(), end.getY())
+              + interpolate(tick, start.getTick(), end.getTick(),
+              start.getWidth(), end.getWidth())
+              + interpolate(tick, start.getTick(), end.getTick(),
+              start.getHeight(), end.getHeight())
+              + interpolate(tick, start.getTick(), end.getTick(), start.getR(), end.getR())
+              + interpolate(tick, start.getTick(), end.getTick(), start.getG(), end.getG())
+              + interpolate(tick, start.getTick(), end.getTick(), start.getB(), end.getB());
+        }
+      }
+    }
+    return checksum;
+  }
+
+  @Benchmark
+  public int checkMotions() {
+    int valid = 0;
+    for (Shape s : this.shapes) {
+      List<IMotion> motions = s.getMotions();
+      for (int i = 0; i + 1 < motions.size(); i++) {
+        if (motions.get(i).isConsistent(motions.get(i + 1))
+            && !motions.get(i).overlaps(motions.get(i + 1))) {
+          valid++;
+        }
+      }
+    }
+    return valid;
+  }
+
+  /**
+   * Interpolates a field at the given tick the same way the visual view does.
+   */
+  private static int interpolate(int tick, int startTick, int endTick, int startValue,
+      int endValue) {
+    return (int) Math.round(startValue * ((double) (endTick - tick) / (endTick - startTick))
+        + endValue * ((double) (tick - startTick) / (endTick - startTick)));
+  }
+}
@@ -0,0 +1,163 @@
+package cs3500.animator.benchmark;
+
+import cs3500.animator.util.AnimationBuilder;
+import cs3500.animator.util.AnimationReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The lines of an animation file, recorded as they are parsed so that they can be given to another
+ * builder again without parsing the file, or written back out as text. An animation can be scaled
+ * up into copies of itself, to benchmark inputs larger than the files in Examples.
+ */
+final class RecordedAnimation implements AnimationBuilder<RecordedAnimation> {
+
+  private final int[] bounds;
+  // one entry per shape or motion line in the order they were parsed: the name of the shape, the
+  // type of a shape line or null for a motion line, and the values of a motion line
+  private final List<String> names;
+  private final List<String> types;
+  private final List<int[]> motions;
+
+  /**
+   * Constructs an empty recording, with a canvas at the origin of size 1 by 1 like a new model.
+   */
+  RecordedAnimation() {
+    this.bounds = new int[]{0, 0, 1, 1};
+    this.names = new ArrayList<>();
+    this.types = new ArrayList<>();
+    this.motions = new ArrayList<>();
+  }
+
+  /**
+   * Parses the given animation file into a recording.
+   *
+   * @param file the animation file to read
+   * @return the lines of the file
+   * @throws IOException if the file cannot be read
+   */
+  static RecordedAnimation read(Path file) throws IOException {
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return AnimationReader.parseFile(reader, new RecordedAnimation());
+    }
+  }
+
+  /**
+   * Creates an animation made of the given number of copies of this one, on the same canvas. The
+   * shapes of every copy after the first are renamed by adding "-" and the number of the copy to
+   * their names, so each copy animates shapes of its own and stays a valid animation.
+   *
+   * @param copies the number of copies of this animation
+   * @return the scaled up animation
+   * @throws IllegalArgumentException if the number of copies is not positive
+   */
+  RecordedAnimation scale(int copies) {
+    if (copies < 1) {
+      throw new IllegalArgumentException("Must make at least one copy");
+    }
+    RecordedAnimation scaled = new RecordedAnimation();
+    scaled.setBounds(this.bounds[0], this.bounds[1], this.bounds[2], this.bounds[3]);
+    for (int copy = 0; copy < copies; copy++) {
+      String suffix = copy == 0 ? "" : "-" + copy;
+      for (int i = 0; i < this.names.size(); i++) {
+        scaled.names.add(this.names.get(i) + suffix);
+        scaled.types.add(this.types.get(i));
+        scaled.motions.add(this.motions.get(i));
+      }
+    }
+    return scaled;
+  }
+
+  /**
+   * Gives every recorded line to the given builder in order, and builds its animation.
+   *
+   * @param builder the builder to give the lines to
+   * @param <T>     the type of animation the builder creates
+   * @return the animation the builder created
+   */
+  <T> T replay(AnimationBuilder<T> builder) {
+    builder.setBounds(this.bounds[0], this.bounds[1], this.bounds[2], this.bounds[3]);
+    for (int i = 0; i < this.names.size(); i++) {
+      int[] m = this.motions.get(i);
+      if (m == null) {
+        builder.declareShape(this.names.get(i), this.types.get(i));
+      } else {
+        builder.addMotion(this.names.get(i), m[0], m[1], m[2], m[3], m[4], m[5], m[6], m[7],
+            m[8], m[9], m[10], m[11], m[12], m[13], m[14], m[15]);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Writes the recorded lines in the format of animation files.
+   *
+   * @return the text of the animation file
+   */
+  String toText() {
+    StringBuilder text = new StringBuilder();
+    text.append("canvas ").append(this.bounds[0]).append(' ').append(this.bounds[1]).append(' ')
+        .append(this.bounds[2]).append(' ').append(this.bounds[3]).append('\n');
+    for (int i = 0; i < this.names.size(); i++) {
+      int[] m = this.motions.get(i);
+      if (m == null) {
+        text.append("shape ").append(this.names.get(i)).append(' ').append(this.types.get(i));
+      } else {
+        text.append("motion ").append(this.names.get(i));
+        for (int value : m) {
+          text.append(' ').append(value);
+        }
+      }
+      text.append('\n');
+    }
+    return text.toString();
+  }
+
+  @Override
+  public RecordedAnimation build() {
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<RecordedAnimation> setBounds(int x, int y, int width, int height) {
+    this.bounds[0] = x;
+    this.bounds[1] = y;
+    this.bounds[2] = width;
+    this.bounds[3] = height;
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<RecordedAnimation> declareShape(String name, String type) {
+    this.names.add(name);
+    this.types.add(type);
+    this.motions.add(null);
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<RecordedAnimation> addMotion(String name,
+      int t1, int x1, int y1, int w1, int h1, int r1, int g1, int b1,
+      int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2) {
+    this.names.add(name);
+    this.types.add(null);
+    this.motions.add(new int[]{t1, x1, y1, w1, h1, r1, g1, b1, t2, x2, y2, w2, h2, r2, g2, b2});
+    return this;
+  }
+
+  /**
+   * Animation files have no keyframe lines, so recordings do not support them.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public AnimationBuilder<RecordedAnimation> addKeyframe(String name,
+      int t, int x, int y, int w, int h, int r, int g, int b) {
+    throw new UnsupportedOperationException("Animation files have no keyframe lines");
+  }
+}
@@ -0,0 +1,79 @@
+package cs3500.animator.benchmark;
+
+import cs3500.animator.controller.SVGController;
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.util.AnimationReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the time {@link SVGController#createSVG} takes to export the files in Examples,
+ * converting shapes on a pool of each given size. A size of 1 converts the shapes one after
+ * another. The SVG is written into a StringBuilder that is reused between operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SVGExportBenchmark {
+
+  @Param({"big-bang-big-crunch"})
+  private String file;
+
+  // the number of threads converting shapes
+  @Param({"1", "2", "4"})
+  private int threads;
+
+  private IModel model;
+  private ForkJoinPool pool;
+  private StringBuilder output;
+
+  /**
+   * Reads the example file being benchmarked into a model and creates the pool.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Setup
+  public void readModel() throws IOException {
+    try (FileReader reader = new FileReader(
+        System.getProperty("animator.examples", "Examples") + "/" + this.file + ".txt")) {
+      this.model = (IModel) AnimationReader.parseFile(reader, new AnimationBuilderImpl());
+    }
+    this.pool = new ForkJoinPool(this.threads);
+    this.output = new StringBuilder();
+  }
+
+  /**
+   * Shuts down the pool.
+   */
+  @TearDown
+  public void shutDown() {
+    this.pool.shutdown();
+  }
+
+  @Benchmark
+  public int createSVG() throws IOException {
+    this.output.setLength(0);
+    SVGController controller = new SVGController(new OutputOnlyView(), this.model, this.pool);
+    controller.setTempo(20);
+    controller.createSVG(this.output);
+    return this.output.length();
+  }
+}
@@ -0,0 +1,67 @@
+package cs3500.animator.benchmark;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.util.AnimationReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the time the shapes of the files in Examples take to write their SVG, with
+ * {@link Shape#makeSVGHeader} and {@link Shape#makeSVGMotions}, on a single thread. Unlike
+ * {@link SVGExportBenchmark}, this leaves out the controller and the view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SVGShapeBenchmark {
+
+  @Param({"buildings", "big-bang-big-crunch"})
+  private String file;
+
+  // whether the shapes store their motions compactly
+  @Param({"false", "true"})
+  private boolean compact;
+
+  private IModel model;
+
+  /**
+   * Reads the example file being benchmarked into a model.
+   *
+   * @throws IOException if the file cannot be read
+   */
+  @Setup
+  public void readModel() throws IOException {
+    try (FileReader reader = new FileReader(
+        System.getProperty("animator.examples", "Examples") + "/" + this.file + ".txt")) {
+      this.model = (IModel) AnimationReader.parseFile(reader,
+          new AnimationBuilderImpl(this.compact));
+    }
+  }
+
+  @Benchmark
+  public int makeSVG() {
+    int length = 0;
+    for (Shape s : this.model.getShapes()) {
+      length += s.makeSVGHeader(this.model.getCanvasX(), this.model.getCanvasY()).length();
+      length += s.makeSVGMotions(20, this.model.getCanvasX(), this.model.getCanvasY()).length();
+    }
+    return length;
+  }
+}
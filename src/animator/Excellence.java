@@ -6,11 +6,18 @@ import cs3500.animator.model.IModel;
 import cs3500.animator.model.ShapeAnimation;
 import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
 import cs3500.animator.util.AnimationBuilder;
+import cs3500.animator.util.AnimationFollower;
 import cs3500.animator.util.AnimationReader;
+import cs3500.animator.util.BinaryAnimationReader;
+import cs3500.animator.util.ParallelAnimationReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Paths;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 
@@ -28,10 +35,20 @@ public class Excellence {
    */
   public static void main(String[] args) throws IOException {
 
-    int tempo = 15;
+    String tempo = "15";
     String inputFile = "";
-    Appendable outputFile = System.out;
+    // Text and SVG views write their output in pieces, so the output is buffered
+    Writer outputFile = new BufferedWriter(new OutputStreamWriter(System.out));
+    String outputPath = null;
     String viewType = "";
+    String loadMode = "";
+    String storeMode = "";
+    long frameCacheSize = 0;
+    String targetFps = "60";
+    boolean printStatistics = false;
+    boolean dirtyRegions = false;
+    boolean timeSorted = false;
+    boolean follow = false;
     int i = 0;
     while (i < args.length) {
       String next = args[i];
@@ -52,14 +69,62 @@ public class Excellence {
 
         case "-out":
           if (i + 1 < args.length) {
-            outputFile = new FileWriter(args[i + 1]);
+            outputPath = args[i + 1];
           }
           i = i + 2;
           break;
 
+        case "-load":
+          if (i + 1 < args.length) {
+            loadMode = args[i + 1];
+          }
+          i = i + 2;
+          break;
+
+        case "-store":
+          if (i + 1 < args.length) {
+            storeMode = args[i + 1];
+          }
+          i = i + 2;
+          break;
+
+        case "-cache":
+          if (i + 1 < args.length) {
+            frameCacheSize = Long.parseLong(args[i + 1]) * 1024 * 1024;
+          }
+          i = i + 2;
+          break;
+
+        case "-fps":
+          if (i + 1 < args.length) {
+            targetFps = args[i + 1];
+          }
+          i = i + 2;
+          break;
+
+        case "-dirty":
+          dirtyRegions = true;
+          i = i + 1;
+          break;
+
+        case "-sorted":
+          timeSorted = true;
+          i = i + 1;
+          break;
+
+        case "-follow":
+          follow = true;
+          i = i + 1;
+          break;
+
+        case "-stats":
+          printStatistics = true;
+          i = i + 1;
+          break;
+
         case "-speed":
           if (i + 1 < args.length) {
-            tempo = Integer.parseInt(args[i + 1]);
+            tempo = args[i + 1];
           }
           i = i + 2;
           break;
@@ -74,33 +139,94 @@ public class Excellence {
               JOptionPane.ERROR_MESSAGE);
     }
 
-    AnimationBuilder builder = new AnimationBuilderImpl();
-    FileReader fr = new FileReader(new File(inputFile));
-    ShapeAnimation fileAnimation =
-        (ShapeAnimation) AnimationReader.parseFile(fr, builder);
+    // Compact shapes keep their keyframes in arrays of ints, for very large animation files
+    AnimationBuilder<ShapeAnimation> builder =
+        new AnimationBuilderImpl(storeMode.equals("compact"));
+    ShapeAnimation fileAnimation;
+    AnimationFollower follower = null;
+    if (follow) {
+      // Only the visual view reads appended lines, and only from text files read as a whole
+      if (!viewType.equals("visual")) {
+        throw new IllegalArgumentException("-follow is only supported for the visual view");
+      }
+      if (!loadMode.equals("")) {
+        throw new IllegalArgumentException("-follow cannot be combined with -load " + loadMode);
+      }
+      // Lines appended to the file later are added to this same animation
+      follower = new AnimationFollower(Paths.get(inputFile), storeMode.equals("compact"));
+      loadMode = "follow";
+    }
+    switch (loadMode) {
+      case "mapped":
+        // Memory-map the file instead of reading it through a Reader
+        fileAnimation = AnimationReader.parseMappedFile(Paths.get(inputFile), builder);
+        break;
+      case "parallel":
+        // Parse chunks of the file on every core, then build the animation in file order
+        fileAnimation = ParallelAnimationReader.parseFile(Paths.get(inputFile), builder);
+        break;
+      case "binary":
+        // Binary animations are read without any parsing of text
+        fileAnimation = BinaryAnimationReader.parseFile(Paths.get(inputFile), builder);
+        break;
+      case "windowed":
+        // Only the motions near the tick being played are kept in memory
+        fileAnimation = BinaryAnimationReader.openWindowed(Paths.get(inputFile));
+        break;
+      case "follow":
+        fileAnimation = follower.getModel();
+        break;
+      default:
+        FileReader fr = new FileReader(new File(inputFile));
+        fileAnimation = AnimationReader.parseFile(fr, builder);
+    }
 
-    IModel model = new ShapeAnimation(fileAnimation.getShapes(),
-        fileAnimation.getCanvasX(), fileAnimation.getCanvasY(),
-        fileAnimation.getCanvasWidth(), fileAnimation.getCanvasHeight());
+    // A windowed animation is used as it is, since copying it would read every motion, and a
+    // followed animation is used as it is, since appended lines are added to it
+    IModel model = loadMode.equals("windowed") || loadMode.equals("follow") ? fileAnimation
+        : new ShapeAnimation(fileAnimation.getShapes(),
+            fileAnimation.getCanvasX(), fileAnimation.getCanvasY(),
+            fileAnimation.getCanvasWidth(), fileAnimation.getCanvasHeight());
 
     IController controller = AbstractController.createControllerFactory().create(model, viewType);
+    // The png view writes a directory of images rather than a single file
+    if (outputPath != null && !viewType.equals("png")) {
+      outputFile = new BufferedWriter(new FileWriter(outputPath));
+    }
     switch (viewType) {
       case "text":
+        controller.setTimeSorted(timeSorted);
         controller.createTextView(outputFile);
 
         break;
       case "svg":
-        controller.setTempo(tempo);
+        controller.setTempo(Integer.parseInt(tempo));
         controller.createSVG(outputFile);
 
+        break;
+      case "png":
+        if (outputPath == null) {
+          throw new IllegalArgumentException("An output directory is required for PNG views");
+        }
+        controller.createPNGs(outputPath);
         break;
       case "visual":
-        controller.setTempo(tempo);
+        // Visual playback supports fractional speeds
+        controller.setTempo(Double.parseDouble(tempo));
+        controller.setFrameCacheSize(frameCacheSize);
+        controller.setTargetFrameRate(Double.parseDouble(targetFps));
+        controller.setDirtyRegions(dirtyRegions);
+        if (follower != null) {
+          controller.follow(follower);
+        }
         controller.initializeAnimation();
         controller.startAnimation();
         break;
       case "edit":
-        controller.setTempo(tempo);
+        controller.setTempo(Double.parseDouble(tempo));
+        controller.setFrameCacheSize(frameCacheSize);
+        controller.setTargetFrameRate(Double.parseDouble(targetFps));
+        controller.setDirtyRegions(dirtyRegions);
 
         controller.addFeaturesToView();
         controller.initializeAnimation();
@@ -112,6 +238,16 @@ public class Excellence {
             .showMessageDialog(frame, "View type required", "Error",
                 JOptionPane.ERROR_MESSAGE);
     }
+    if (outputPath != null && !viewType.equals("png")) {
+      outputFile.close();
+    } else {
+      outputFile.flush();
+    }
+    if (printStatistics && (viewType.equals("visual") || viewType.equals("edit"))) {
+      // Print the frame statistics when the window is closed
+      Runtime.getRuntime().addShutdownHook(
+          new Thread(() -> System.err.println(controller.getFrameStatistics())));
+    }
   }
 
 }
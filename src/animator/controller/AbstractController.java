@@ -2,8 +2,10 @@ package cs3500.animator.controller;
 
 import cs3500.animator.model.IModel;
 import cs3500.animator.model.Shape;
+import cs3500.animator.util.AnimationFollower;
 import cs3500.animator.view.EditorView;
 import cs3500.animator.view.IView;
+import cs3500.animator.view.PNGView;
 import cs3500.animator.view.SVGView;
 import cs3500.animator.view.TextView;
 import cs3500.animator.view.VisualView;
@@ -49,6 +51,11 @@ public class AbstractController implements IController {
     throw new UnsupportedOperationException("Not supported for SVG, visual, or editor views");
   }
 
+  @Override
+  public void createPNGs(String directory) throws IOException {
+    throw new UnsupportedOperationException("Not supported for text, SVG, visual, or editor views");
+  }
+
   @Override
   public void startAnimation() {
     throw new UnsupportedOperationException("Not supported for SVG, or text views");
@@ -60,6 +67,41 @@ public class AbstractController implements IController {
 
   }
 
+  @Override
+  public void setTempo(double t) throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Not supported for text or SVG views");
+  }
+
+  @Override
+  public void setFrameCacheSize(long bytes) throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Not supported for SVG or text views");
+  }
+
+  @Override
+  public void setTargetFrameRate(double fps) throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Not supported for SVG or text views");
+  }
+
+  @Override
+  public void setDirtyRegions(boolean dirtyRegions) throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Not supported for SVG or text views");
+  }
+
+  @Override
+  public void setTimeSorted(boolean timeSorted) throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Not supported for SVG, visual, or editor views");
+  }
+
+  @Override
+  public void follow(AnimationFollower follower) throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Not supported for SVG or text views");
+  }
+
+  @Override
+  public String getFrameStatistics() throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Not supported for SVG or text views");
+  }
+
   @Override
   public int getTempo() throws UnsupportedOperationException {
     throw new UnsupportedOperationException("Not supported for text or SVG views");
@@ -89,7 +131,7 @@ public class AbstractController implements IController {
 
   /**
    * A factory class for creating a controller using a provided model and view type. Can produce
-   * text, SVG, or visual controllers.
+   * text, SVG, visual, or PNG controllers.
    */
   public static class ControllerFactory {
 
@@ -99,7 +141,7 @@ public class AbstractController implements IController {
      *
      * @param model    the model to supply data for the produced controller.
      * @param viewType the type of view that this controller will send data to. Should be either
-     *                 text, svg, visual, or edit.
+     *                 text, svg, visual, edit, or png.
      * @return a new controller using the provided model, that is for sending data to the specified
      *         viewType.
      */
@@ -114,6 +156,8 @@ public class AbstractController implements IController {
           return new VisualController(new VisualView(), model);
         case "edit":
           return new VisualController(new EditorView(), model);
+        case "png":
+          return new PNGController(new PNGView(), model);
         default:
           return null;
       }
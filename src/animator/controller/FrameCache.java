@@ -0,0 +1,229 @@
+package cs3500.animator.controller;
+
+import cs3500.animator.view.IView;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Ellipse2D;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the frames drawn by a {@link VisualController}, so that looping playback and
+ * scrubbing can replay a tick without finding and interpolating its motions again. Frames are
+ * stored as primitive arrays of geometry and packed ARGB colors, and the least recently used frames
+ * are evicted once the estimated size of the cached frames goes over a memory budget.
+ *
+ * <p>The cache is only used from the event dispatch thread, where every frame is drawn and the
+ * animation is edited, so it is not synchronized. Clearing the cache after a frame began to be
+ * computed stops that frame from being cached.</p>
+ */
+final class FrameCache {
+
+  // estimated bytes used by a cached frame apart from its arrays: the frame, its map entry and key
+  private static final int FRAME_OVERHEAD = 128;
+
+  private final long budget;
+  private final LinkedHashMap<Integer, Frame> frames;
+  private long size;
+  private int generation;
+
+  /**
+   * Constructs an empty cache that holds at most about the given number of bytes of frames.
+   *
+   * @param budget the memory budget in bytes
+   * @throws IllegalArgumentException if the budget is not positive
+   */
+  FrameCache(long budget) {
+    if (budget < 1) {
+      throw new IllegalArgumentException("Frame cache budget must be positive");
+    }
+    this.budget = budget;
+    this.frames = new LinkedHashMap<>(16, 0.75f, true);
+    this.size = 0;
+    this.generation = 0;
+  }
+
+  /**
+   * Gets the cached frame for the given tick, marking it as the most recently used frame.
+   *
+   * @param tick the tick of the frame
+   * @return the cached frame, or null if it is not cached
+   */
+  Frame get(int tick) {
+    return this.frames.get(tick);
+  }
+
+  /**
+   * Gets the generation of this cache, which changes every time the cache is cleared. A frame
+   * computed from the model should be cached with the generation read before computing it.
+   *
+   * @return the current generation
+   */
+  int generation() {
+    return this.generation;
+  }
+
+  /**
+   * Caches the frame for the given tick, unless the cache was cleared after the given generation.
+   * Least recently used frames are evicted until the cache is within its budget again.
+   *
+   * @param tick       the tick of the frame
+   * @param frame      the frame to cache
+   * @param generation the generation of the cache when the frame began to be computed
+   */
+  void put(int tick, Frame frame, int generation) {
+    if (generation != this.generation || frame.bytes() > this.budget) {
+      return;
+    }
+    Frame old = this.frames.put(tick, frame);
+    if (old != null) {
+      this.size -= old.bytes();
+    }
+    this.size += frame.bytes();
+    Iterator<Map.Entry<Integer, Frame>> eldest = this.frames.entrySet().iterator();
+    while (this.size > this.budget) {
+      this.size -= eldest.next().getValue().bytes();
+      eldest.remove();
+    }
+  }
+
+  /**
+   * Removes every cached frame, for when the animation has changed.
+   */
+  void clear() {
+    this.frames.clear();
+    this.size = 0;
+    this.generation++;
+  }
+
+  /**
+   * Gets the estimated number of bytes used by the cached frames.
+   *
+   * @return the estimated size of the cache
+   */
+  long size() {
+    return this.size;
+  }
+
+  /**
+   * A single frame of an animation: the geometry, kind and color of every shape drawn at a tick,
+   * in the order they are drawn.
+   */
+  static final class Frame {
+
+    private int count;
+    // x, y, width and height of each shape
+    private int[] geometry;
+    private int[] argb;
+    private boolean[] ellipse;
+
+    /**
+     * Constructs an empty frame.
+     */
+    Frame() {
+      this(8);
+    }
+
+    /**
+     * Constructs an empty frame with room for the given number of shapes before it has to grow.
+     *
+     * @param capacity the number of shapes expected in the frame
+     */
+    Frame(int capacity) {
+      this.count = 0;
+      this.geometry = new int[4 * capacity];
+      this.argb = new int[capacity];
+      this.ellipse = new boolean[capacity];
+    }
+
+    /**
+     * Adds a shape to be drawn after every shape already in this frame.
+     *
+     * @param isEllipse whether the shape is an ellipse rather than a rectangle
+     * @param x         the x coordinate of the shape
+     * @param y         the y coordinate of the shape
+     * @param width     the width of the shape
+     * @param height    the height of the shape
+     * @param r         the red value of the shape's color
+     * @param g         the green value of the shape's color
+     * @param b         the blue value of the shape's color
+     */
+    void add(boolean isEllipse, int x, int y, int width, int height, int r, int g, int b) {
+      if (this.count == this.argb.length) {
+        this.resize(Math.max(8, 2 * this.count));
+      }
+      this.geometry[4 * this.count] = x;
+      this.geometry[4 * this.count + 1] = y;
+      this.geometry[4 * this.count + 2] = width;
+      this.geometry[4 * this.count + 3] = height;
+      // Fails the same way as new Color(r, g, b) would for values out of range
+      this.argb[this.count] = new Color(r, g, b).getRGB();
+      this.ellipse[this.count] = isEllipse;
+      this.count++;
+    }
+
+    /**
+     * Shrinks the arrays of this frame to fit its shapes, before it is cached.
+     *
+     * @return this frame
+     */
+    Frame trim() {
+      this.resize(this.count);
+      return this;
+    }
+
+    /**
+     * Sends this frame to a view to be drawn, as its arrays rather than as a shape and a color for
+     * each of its shapes. A frame is never changed once it has been sent, so the view can draw
+     * straight from its arrays.
+     *
+     * @param view the view to draw this frame
+     */
+    void addTo(IView view) {
+      view.addFrame(this.count, this.geometry, this.argb, this.ellipse);
+    }
+
+    /**
+     * Fills the shapes of this frame in order with the given graphics, reusing one rectangle and
+     * one ellipse instead of creating a shape for each of them. Shapes are filled the same way a
+     * view fills the shapes sent to it by {@link #addTo(IView)}.
+     *
+     * @param g the graphics to draw with
+     */
+    void paint(Graphics2D g) {
+      Rectangle rectangle = new Rectangle();
+      Ellipse2D.Double ellipse = new Ellipse2D.Double();
+      int[] geometry = this.geometry;
+      for (int i = 0; i < this.count; i++) {
+        // The alpha of a packed color is always 255, so the RGB value is enough
+        g.setColor(new Color(this.argb[i]));
+        if (this.ellipse[i]) {
+          ellipse.setFrame(geometry[4 * i], geometry[4 * i + 1], geometry[4 * i + 2],
+              geometry[4 * i + 3]);
+          g.fill(ellipse);
+        } else {
+          rectangle.setBounds(geometry[4 * i], geometry[4 * i + 1], geometry[4 * i + 2],
+              geometry[4 * i + 3]);
+          g.fill(rectangle);
+        }
+      }
+    }
+
+    /**
+     * Estimates the number of bytes this frame uses once cached.
+     */
+    private long bytes() {
+      return FRAME_OVERHEAD + 4L * this.geometry.length + 4L * this.argb.length
+          + this.ellipse.length;
+    }
+
+    private void resize(int capacity) {
+      this.geometry = Arrays.copyOf(this.geometry, 4 * capacity);
+      this.argb = Arrays.copyOf(this.argb, capacity);
+      this.ellipse = Arrays.copyOf(this.ellipse, capacity);
+    }
+  }
+}
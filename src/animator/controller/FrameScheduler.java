@@ -0,0 +1,195 @@
+package cs3500.animator.controller;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when the next frame of an animation is drawn, and keeps statistics about the frames
+ * drawn so far. Ticks advance at the animation's tempo, but frames are drawn no faster than a
+ * target frame rate: when ticks come faster than frames, the ticks in between are skipped rather
+ * than drawn. A frame that starts at least one frame period later than it was scheduled for
+ * counts as dropped frames, one for every frame period it was late by.
+ */
+public class FrameScheduler {
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final LongSupplier nanoTime;
+  private final double targetFps;
+  private final long framePeriod;
+
+  // when the current or last frame started, and when the next frame is due, or -1 if unknown
+  private long frameStart;
+  private long nextFrameDue;
+  private int lastTick;
+
+  private long framesRendered;
+  private long framesDropped;
+  private long ticksSkipped;
+  private long lastRenderNanos;
+  private long maxRenderNanos;
+  private long totalRenderNanos;
+
+  /**
+   * Constructs a scheduler with the given target frame rate, that reads the system time.
+   *
+   * @param targetFps the most frames to draw per second
+   * @throws IllegalArgumentException if the frame rate is not a positive finite number
+   */
+  public FrameScheduler(double targetFps) {
+    this(targetFps, System::nanoTime);
+  }
+
+  /**
+   * Constructs a scheduler with the given target frame rate, that reads time in nanoseconds from
+   * the given source.
+   *
+   * @param targetFps the most frames to draw per second
+   * @param nanoTime  the source of the current time in nanoseconds
+   * @throws IllegalArgumentException if the frame rate is not a positive finite number, or the
+   *                                  time source is null
+   */
+  public FrameScheduler(double targetFps, LongSupplier nanoTime) {
+    if (!(targetFps > 0) || Double.isInfinite(targetFps)) {
+      throw new IllegalArgumentException("Target frame rate must be positive.");
+    }
+    if (nanoTime == null) {
+      throw new IllegalArgumentException("Time source cannot be null");
+    }
+    this.nanoTime = nanoTime;
+    this.targetFps = targetFps;
+    this.framePeriod = Math.max(1, Math.round(NANOS_PER_SECOND / targetFps));
+    this.frameStart = -1;
+    this.nextFrameDue = -1;
+    this.lastTick = -1;
+  }
+
+  /**
+   * Gets the target frame rate of this scheduler.
+   *
+   * @return the most frames drawn per second
+   */
+  public double getTargetFps() {
+    return this.targetFps;
+  }
+
+  /**
+   * Schedules the next frame for when the next tick is reached, or for one frame period after the
+   * last frame started if that is later.
+   *
+   * @param nanosUntilNextTick the number of nanoseconds until the animation reaches its next tick
+   * @return the number of nanoseconds to wait before drawing the next frame
+   */
+  public long scheduleNextFrame(long nanosUntilNextTick) {
+    long now = this.nanoTime.getAsLong();
+    long delay = Math.max(0, nanosUntilNextTick);
+    if (this.frameStart >= 0) {
+      delay = Math.max(delay, this.frameStart + this.framePeriod - now);
+    }
+    this.nextFrameDue = now + delay;
+    return delay;
+  }
+
+  /**
+   * Records that a frame showing the given tick is starting to be drawn.
+   *
+   * @param tick the tick the frame shows
+   */
+  public void beginFrame(int tick) {
+    this.frameStart = this.nanoTime.getAsLong();
+    if (this.nextFrameDue >= 0 && this.frameStart > this.nextFrameDue) {
+      this.framesDropped += (this.frameStart - this.nextFrameDue) / this.framePeriod;
+    }
+    this.nextFrameDue = -1;
+    if (this.lastTick >= 0 && tick > this.lastTick + 1) {
+      this.ticksSkipped += tick - this.lastTick - 1;
+    }
+    this.lastTick = tick;
+  }
+
+  /**
+   * Records that the frame begun last has been handed to the view.
+   */
+  public void endFrame() {
+    this.lastRenderNanos = this.nanoTime.getAsLong() - this.frameStart;
+    this.maxRenderNanos = Math.max(this.maxRenderNanos, this.lastRenderNanos);
+    this.totalRenderNanos += this.lastRenderNanos;
+    this.framesRendered++;
+  }
+
+  /**
+   * Forgets the last tick drawn, so that jumping to another tick is not counted as skipping ticks.
+   * Also forgets when the next frame was due, for when playback is paused.
+   */
+  public void reset() {
+    this.lastTick = -1;
+    this.nextFrameDue = -1;
+  }
+
+  /**
+   * Gets the number of frames drawn.
+   *
+   * @return the number of frames drawn
+   */
+  public long getFramesRendered() {
+    return this.framesRendered;
+  }
+
+  /**
+   * Gets the number of frame periods that frames started late by.
+   *
+   * @return the number of dropped frames
+   */
+  public long getFramesDropped() {
+    return this.framesDropped;
+  }
+
+  /**
+   * Gets the number of ticks that playback passed without drawing.
+   *
+   * @return the number of skipped ticks
+   */
+  public long getTicksSkipped() {
+    return this.ticksSkipped;
+  }
+
+  /**
+   * Gets how long the last frame took to compute and hand to the view.
+   *
+   * @return the render time of the last frame in nanoseconds
+   */
+  public long getLastRenderNanos() {
+    return this.lastRenderNanos;
+  }
+
+  /**
+   * Gets the longest time a frame took to compute and hand to the view.
+   *
+   * @return the longest render time in nanoseconds
+   */
+  public long getMaxRenderNanos() {
+    return this.maxRenderNanos;
+  }
+
+  /**
+   * Gets the average time frames took to compute and hand to the view.
+   *
+   * @return the average render time in nanoseconds, or 0 if no frames were drawn
+   */
+  public long getAverageRenderNanos() {
+    return this.framesRendered == 0 ? 0 : this.totalRenderNanos / this.framesRendered;
+  }
+
+  /**
+   * Summarizes the statistics of the frames drawn so far.
+   *
+   * @return a line describing the frames drawn, dropped and skipped, and their render times
+   */
+  @Override
+  public String toString() {
+    return String.format("frames=%d dropped=%d skippedTicks=%d render avg=%.3fms max=%.3fms"
+            + " last=%.3fms (target %s fps)",
+        this.framesRendered, this.framesDropped, this.ticksSkipped,
+        this.getAverageRenderNanos() / 1e6, this.maxRenderNanos / 1e6,
+        this.lastRenderNanos / 1e6, this.targetFps);
+  }
+}
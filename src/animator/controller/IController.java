@@ -1,5 +1,6 @@
 package cs3500.animator.controller;
 
+import cs3500.animator.util.AnimationFollower;
 import java.io.IOException;
 
 /**
@@ -35,6 +36,18 @@ public interface IController {
    */
   void createTextView(Appendable a) throws IOException, UnsupportedOperationException;
 
+  /**
+   * Method to render every tick of an IModel Animation to an image, and send the images to the
+   * view to be written as numbered PNG files in the given directory.
+   *
+   * @param directory the directory to write the images to
+   * @throws IOException                   if the directory or an image can't be written for
+   *                                       whatever reason.
+   * @throws UnsupportedOperationException if called by a controller that does not support this
+   *                                       operation (text, SVG, visual)
+   */
+  void createPNGs(String directory) throws IOException, UnsupportedOperationException;
+
 
   /**
    * Method to start a visual or editor view of an IModel Animation. Sets the view to be visible,
@@ -59,6 +72,84 @@ public interface IController {
    */
   void setTempo(int t) throws IllegalArgumentException, UnsupportedOperationException;
 
+  /**
+   * Sets the tempo of this animation to the given value, which does not need to be a whole number
+   * of ticks per second.
+   *
+   * @param t the given tempo for this animation to be changed to (in ticks per second)
+   * @throws IllegalArgumentException      if the given tempo is not a positive finite number
+   * @throws UnsupportedOperationException if called by a controller that does not support this
+   *                                       operation (text, SVG)
+   */
+  void setTempo(double t) throws IllegalArgumentException, UnsupportedOperationException;
+
+  /**
+   * Sets how much memory can be used to cache the frames of this animation, so that looping
+   * playback and scrubbing can replay frames instead of computing them again. Any frames already
+   * cached are discarded.
+   *
+   * @param bytes the memory budget of the frame cache in bytes, or 0 to not cache frames
+   * @throws IllegalArgumentException      if the given budget is negative
+   * @throws UnsupportedOperationException if called by a controller that does not support this
+   *                                       operation (text, SVG)
+   */
+  void setFrameCacheSize(long bytes) throws IllegalArgumentException,
+      UnsupportedOperationException;
+
+  /**
+   * Sets the most frames per second drawn while the animation plays. Ticks still advance at the
+   * tempo, but when they come faster than the frame rate, the ticks between frames are skipped.
+   *
+   * @param fps the target frame rate in frames per second
+   * @throws IllegalArgumentException      if the given frame rate is not a positive finite number
+   * @throws UnsupportedOperationException if called by a controller that does not support this
+   *                                       operation (text, SVG)
+   */
+  void setTargetFrameRate(double fps) throws IllegalArgumentException,
+      UnsupportedOperationException;
+
+  /**
+   * Sets whether the view only repaints the parts of the animation covered by shapes that changed
+   * since the last frame, instead of repainting all of it every frame.
+   *
+   * @param dirtyRegions true to only repaint the parts of the animation that changed
+   * @throws UnsupportedOperationException if called by a controller that does not support this
+   *                                       operation (text, SVG)
+   */
+  void setDirtyRegions(boolean dirtyRegions) throws UnsupportedOperationException;
+
+  /**
+   * Sets whether the text description lists every shape first and then the motions of all shapes
+   * together in order of their starting ticks, instead of each shape followed by its own motions.
+   * A description in time order can be played from its start before all of it has been read.
+   *
+   * @param timeSorted true to write motions in order of their starting ticks
+   * @throws UnsupportedOperationException if called by a controller that does not support this
+   *                                       operation (SVG, visual)
+   */
+  void setTimeSorted(boolean timeSorted) throws UnsupportedOperationException;
+
+  /**
+   * Follows an animation file that is still being written, reading the lines appended to it every
+   * so often while the animation plays, and playing the motions they add up to their last tick.
+   * The follower's animation must be the model of this controller.
+   *
+   * @param follower the follower of the file of this controller's animation
+   * @throws UnsupportedOperationException if called by a controller that does not support this
+   *                                       operation (text, SVG)
+   */
+  void follow(AnimationFollower follower) throws UnsupportedOperationException;
+
+  /**
+   * Describes the frames drawn so far: how many were drawn and dropped, how many ticks were
+   * skipped, and how long frames took to compute and hand to the view.
+   *
+   * @return a one line summary of the frames drawn
+   * @throws UnsupportedOperationException if called by a controller that does not support this
+   *                                       operation (text, SVG)
+   */
+  String getFrameStatistics() throws UnsupportedOperationException;
+
   /**
    * Gets the tempo for the animation.
    *
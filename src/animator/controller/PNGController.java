@@ -0,0 +1,137 @@
+package cs3500.animator.controller;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.view.IView;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A controller that renders every tick of an animation to an image, for a view that writes the
+ * images as PNG files. Frames are interpolated the same way as in the {@link VisualController},
+ * and drawn onto a white canvas the size of the animation's canvas. No window is opened, so this
+ * controller works on machines without a display.
+ *
+ * <p>Ticks are rendered in parallel by a number of workers, each taking the next tick not yet
+ * taken. Every worker draws all of its frames into a single image of its own, which the view
+ * writes out before the worker draws its next frame.</p>
+ */
+public class PNGController extends AbstractController {
+
+  private final int workers;
+
+  /**
+   * Constructs a PNGController using the provided view and model, that renders with one worker
+   * per available processor.
+   *
+   * @param view  the view to write images with
+   * @param model the model to get data from
+   */
+  public PNGController(IView view, IModel model) {
+    this(view, model, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs a PNGController using the provided view and model, that renders with the given
+   * number of workers.
+   *
+   * @param view    the view to write images with
+   * @param model   the model to get data from
+   * @param workers the number of frames to render at the same time
+   * @throws IllegalArgumentException if the number of workers is not positive
+   */
+  public PNGController(IView view, IModel model, int workers) {
+    super(view, model);
+    if (workers < 1) {
+      throw new IllegalArgumentException("Number of workers must be positive");
+    }
+    this.workers = workers;
+  }
+
+  /**
+   * Renders every tick from 0 to the end of the last motion, and sends each image to the view to
+   * be written to the given directory. The directory is created if it does not exist.
+   *
+   * @param directory the directory to write the images to
+   * @throws IOException if the directory cannot be created or an image cannot be written
+   */
+  @Override
+  public void createPNGs(String directory) throws IOException {
+    if (directory == null) {
+      throw new IllegalArgumentException("Output directory cannot be null");
+    }
+    Files.createDirectories(Paths.get(directory));
+    int lastTick = this.model.getLastTick();
+    int width = Math.max(1, this.model.getCanvasWidth());
+    int height = Math.max(1, this.model.getCanvasHeight());
+
+    // Ask the model about every shape once before the workers start, so that the indexes of
+    // motions built on a shape's first query are built here rather than by several workers at
+    // once. Shapes whose motions are loaded from a file only when first needed are not loaded by
+    // this unless they move at tick 0; they load themselves safely when several workers reach them
+    VisualController.computeFrame(this.model, 0);
+
+    AtomicInteger nextTick = new AtomicInteger(0);
+    ExecutorService pool = Executors.newFixedThreadPool(this.workers);
+    try {
+      List<Future<Void>> results = new ArrayList<>();
+      for (int i = 0; i < this.workers; i++) {
+        results.add(pool.submit(() -> {
+          this.renderTicks(nextTick, lastTick, width, height, directory);
+          return null;
+        }));
+      }
+      for (Future<Void> result : results) {
+        try {
+          result.get();
+        } catch (ExecutionException e) {
+          // Stop the other workers after the frames they are rendering now
+          nextTick.set(lastTick + 1);
+          if (e.getCause() instanceof IOException) {
+            throw (IOException) e.getCause();
+          }
+          if (e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) e.getCause();
+          }
+          throw new IllegalStateException("Unable to render frames", e.getCause());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while rendering frames", e);
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Renders ticks until every tick up to the last one has been taken, reusing one image for every
+   * frame this worker renders.
+   */
+  private void renderTicks(AtomicInteger nextTick, int lastTick, int width, int height,
+      String directory) throws IOException {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    try {
+      for (int tick = nextTick.getAndIncrement(); tick <= lastTick;
+          tick = nextTick.getAndIncrement()) {
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        VisualController.computeFrame(this.model, tick).paint(g);
+        this.view.writePNG(image, directory, tick, lastTick);
+      }
+    } finally {
+      g.dispose();
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package cs3500.animator.controller;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A clock that tells which tick of an animation is being played. Rather than counting the ticks
+ * that have been drawn, the clock computes the tick from the time elapsed since playback started,
+ * read from {@link System#nanoTime()}. Late or missed frames therefore never make playback fall
+ * behind: the next frame simply shows the tick that is due, skipping the ones in between. Tempos
+ * can be fractional, and changing the tempo continues from the current position instead of
+ * starting over.
+ */
+public class PlaybackClock {
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final LongSupplier nanoTime;
+  private double tempo;
+  private boolean running;
+  // the position of the clock in ticks at the time given by originNanos
+  private double originTick;
+  private long originNanos;
+
+  /**
+   * Constructs a paused clock at tick 0 with the given tempo, that reads the system time.
+   *
+   * @param tempo the tempo of the clock in ticks per second
+   * @throws IllegalArgumentException if the tempo is not a positive finite number
+   */
+  public PlaybackClock(double tempo) {
+    this(tempo, System::nanoTime);
+  }
+
+  /**
+   * Constructs a paused clock at tick 0 with the given tempo, that reads time in nanoseconds from
+   * the given source.
+   *
+   * @param tempo    the tempo of the clock in ticks per second
+   * @param nanoTime the source of the current time in nanoseconds
+   * @throws IllegalArgumentException if the tempo is not a positive finite number, or the time
+   *                                  source is null
+   */
+  public PlaybackClock(double tempo, LongSupplier nanoTime) {
+    if (nanoTime == null) {
+      throw new IllegalArgumentException("Time source cannot be null");
+    }
+    checkTempo(tempo);
+    this.nanoTime = nanoTime;
+    this.tempo = tempo;
+    this.running = false;
+    this.originTick = 0;
+    this.originNanos = nanoTime.getAsLong();
+  }
+
+  /**
+   * Starts the clock from its current position. Does nothing if the clock is already running.
+   */
+  public void start() {
+    if (!this.running) {
+      this.originNanos = this.nanoTime.getAsLong();
+      this.running = true;
+    }
+  }
+
+  /**
+   * Stops the clock at its current position. Does nothing if the clock is already paused.
+   */
+  public void pause() {
+    if (this.running) {
+      this.originTick = this.position();
+      this.running = false;
+    }
+  }
+
+  /**
+   * Checks if the clock is running.
+   *
+   * @return true if the clock is running, false if it is paused
+   */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * Moves the clock to the given position, without starting or pausing it.
+   *
+   * @param position the new position of the clock in ticks
+   * @throws IllegalArgumentException if the position is negative or not finite
+   */
+  public void seek(double position) {
+    if (!(position >= 0) || Double.isInfinite(position)) {
+      throw new IllegalArgumentException("Position must be a non-negative number of ticks");
+    }
+    this.originTick = position;
+    this.originNanos = this.nanoTime.getAsLong();
+  }
+
+  /**
+   * Changes the tempo of the clock. A running clock continues from its current position at the
+   * new tempo.
+   *
+   * @param tempo the new tempo of the clock in ticks per second
+   * @throws IllegalArgumentException if the tempo is not a positive finite number
+   */
+  public void setTempo(double tempo) {
+    checkTempo(tempo);
+    this.seek(this.position());
+    this.tempo = tempo;
+  }
+
+  /**
+   * Gets the tempo of the clock.
+   *
+   * @return the tempo of the clock in ticks per second
+   */
+  public double getTempo() {
+    return this.tempo;
+  }
+
+  /**
+   * Gets the exact position of the clock, including how far it is through the current tick.
+   *
+   * @return the position of the clock in ticks
+   */
+  public double position() {
+    if (!this.running) {
+      return this.originTick;
+    }
+    return this.originTick
+        + (this.nanoTime.getAsLong() - this.originNanos) * this.tempo / NANOS_PER_SECOND;
+  }
+
+  /**
+   * Gets the tick that should be showing now.
+   *
+   * @return the current tick
+   */
+  public int tick() {
+    return (int) Math.floor(this.position());
+  }
+
+  /**
+   * Gets the time until the clock reaches the next tick, for scheduling the next frame.
+   *
+   * @return the number of nanoseconds until the next tick, or -1 if the clock is paused
+   */
+  public long nanosUntilNextTick() {
+    if (!this.running) {
+      return -1;
+    }
+    double position = this.position();
+    return (long) Math.ceil((Math.floor(position) + 1 - position) / this.tempo * NANOS_PER_SECOND);
+  }
+
+  /**
+   * Checks that a tempo is a positive finite number of ticks per second.
+   */
+  private static void checkTempo(double tempo) {
+    if (!(tempo > 0) || Double.isInfinite(tempo)) {
+      throw new IllegalArgumentException("Tempo must be positive.");
+    }
+  }
+}
@@ -3,28 +3,57 @@ package cs3500.animator.controller;
 import cs3500.animator.model.IModel;
 import cs3500.animator.view.IView;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * A controller that deals with sending data to an SVG view. Takes data from a model and converts it
- * to a formatted string representing an SVG animation to be sent to the SVG view.
+ * to a formatted string representing an SVG animation to be sent to the SVG view. The SVG of each
+ * shape does not depend on any other shape, so shapes are converted in parallel on a {@link
+ * ForkJoinPool} and written in their original order as they are converted.
  */
 public class SVGController extends AbstractController {
 
+  // how many groups of shapes to convert per thread of the pool, to even out uneven shapes
+  private static final int GROUPS_PER_THREAD = 4;
+  // the most shapes in a group, so that the SVG waiting to be written stays small
+  private static final int MAX_GROUP_SIZE = 64;
+
+  private final ForkJoinPool pool;
+
   /**
-   * Constructs an SVG controller using the provided model and view. Uses the {@link
-   * AbstractController} constructor.
+   * Constructs an SVG controller using the provided model and view, that converts shapes on the
+   * common {@link ForkJoinPool}. Uses the {@link AbstractController} constructor.
    *
    * @param view  the view to send data to
    * @param model the model to get data from
    */
   public SVGController(IView view, IModel model) {
+    this(view, model, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs an SVG controller using the provided model and view, that converts shapes on the
+   * given pool. Uses the {@link AbstractController} constructor.
+   *
+   * @param view  the view to send data to
+   * @param model the model to get data from
+   * @param pool  the pool to convert shapes on
+   */
+  public SVGController(IView view, IModel model, ForkJoinPool pool) {
     super(view, model);
+    this.pool = Objects.requireNonNull(pool, "Must provide a non-null ForkJoinPool");
   }
 
   /**
    * Gets the formatted SVG animation text for each shape in an animation as well as each shape's
-   * motions. Also defines the canvas size. Builds a string with this data which is sent to a SVG
-   * view to either output to System.out, or an SVG file.
+   * motions. Also defines the canvas size. The SVG is sent to a SVG view a group of shapes at a
+   * time, to either output to System.out, or an SVG file, so the whole document is never held in
+   * memory at once.
    *
    * @param a the appendable for the SVG description to be written to.
    * @throws IOException if unable to write to the appendable for whatever reason
@@ -38,17 +67,50 @@ public class SVGController extends AbstractController {
         .append("\" height=\"")
         .append(this.model.getCanvasHeight())
         .append("\" version=\"1.1\" xmlns=\"http://www.w3.org/2000/svg\">\n\n");
+    this.view.generateSVG(a, svg.toString());
 
-    // For each shape, create the shape to be animated, and then make the SVG code for each of its
-    // animations
-    for (cs3500.animator.model.Shape s : this.shapes) {
+    // Converts groups of consecutive shapes in parallel and writes them in order as they finish,
+    // with only a few groups per thread converted ahead of the group being written
+    int maxAhead = GROUPS_PER_THREAD * this.pool.getParallelism();
+    int groupSize = Math.max(1, Math.min(MAX_GROUP_SIZE, this.shapes.size() / maxAhead));
+    Deque<ForkJoinTask<StringBuilder>> groups = new ArrayDeque<>();
+    try {
+      for (int start = 0; start < this.shapes.size(); start += groupSize) {
+        List<cs3500.animator.model.Shape> group =
+            this.shapes.subList(start, Math.min(this.shapes.size(), start + groupSize));
+        groups.add(this.pool.submit(() -> this.makeSVGShapes(group)));
+        if (groups.size() > maxAhead) {
+          this.view.generateSVG(a, groups.remove().join().toString());
+        }
+      }
+      while (!groups.isEmpty()) {
+        this.view.generateSVG(a, groups.remove().join().toString());
+      }
+    } finally {
+      // Stops converting the groups that will not be written if writing failed
+      for (ForkJoinTask<StringBuilder> group : groups) {
+        group.cancel(false);
+      }
+    }
+
+    this.view.generateSVG(a, "</svg>");
+  }
+
+  /**
+   * For each of the given shapes, creates the shape to be animated, and then makes the SVG code
+   * for each of its animations.
+   *
+   * @param shapes the shapes to convert
+   * @return the SVG code of the shapes, in order
+   */
+  private StringBuilder makeSVGShapes(List<cs3500.animator.model.Shape> shapes) {
+    StringBuilder svg = new StringBuilder();
+    for (cs3500.animator.model.Shape s : shapes) {
       svg.append(s.makeSVGHeader(this.model.getCanvasX(), this.model.getCanvasY())).append("\n")
           .append(s.makeSVGMotions(this.tempo, this.model.getCanvasX(), this.model.getCanvasY()))
           .append("\n\n");
     }
-    svg.append("</svg>");
-
-    this.view.generateSVG(a, svg.toString());
+    return svg;
   }
 
   @Override
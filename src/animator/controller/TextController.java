@@ -4,7 +4,9 @@ import cs3500.animator.model.IModel;
 import cs3500.animator.model.IMotion;
 import cs3500.animator.view.IView;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * A controller that deals with sending data to a text view. Takes data from a model and converts it
@@ -12,6 +14,11 @@ import java.util.List;
  */
 public class TextController extends AbstractController {
 
+  // how many motion lines are sent to the view at once when motions are written in time order
+  private static final int LINES_PER_PIECE = 256;
+
+  private boolean timeSorted;
+
   /**
    * Constructs a TextController using the provided view and model. Uses the {@link
    * AbstractController} constructor.
@@ -21,12 +28,23 @@ public class TextController extends AbstractController {
    */
   public TextController(IView view, IModel model) {
     super(view, model);
+    this.timeSorted = false;
+  }
+
+  @Override
+  public void setTimeSorted(boolean timeSorted) {
+    this.timeSorted = timeSorted;
   }
 
   /**
    * Gets the text description for each shape in an animation as well as each shape's motions. Also
-   * gets data on the canvas size and offset. Builds a string with this data which is sent to the
-   * text view to output to either System.out or a text file.
+   * gets data on the canvas size and offset. The description is sent to the text view one shape at
+   * a time, to output to either System.out or a text file, so the whole description is never held
+   * in memory at once.
+   *
+   * <p>If this controller is set to be time sorted, every shape is described first, and then the
+   * motions of all shapes together in order of their starting ticks, so that the description can
+   * be played from its start while the rest of it is still being written.
    *
    * @param a the appendable for the text description to be written to.
    * @throws IOException if unable to write to the appendable for whatever reason.
@@ -39,29 +57,97 @@ public class TextController extends AbstractController {
         .append(this.model.getCanvasX()).append(" ")
         .append(this.model.getCanvasY()).append(" ")
         .append(this.model.getCanvasWidth()).append(" ")
-        .append(this.model.getCanvasHeight()).append("\n");
+        .append(this.model.getCanvasHeight());
+    this.view.printTextView(eventLog.toString(), a);
+    if (this.timeSorted) {
+      this.writeTimeSorted(eventLog, a);
+      return;
+    }
 
+    // Each line starts with the newline ending the line before it, so the description does not end
+    // with a newline, and shapes are separated by a blank line
+    String separator = "\n";
     for (cs3500.animator.model.Shape s : this.shapes) {
+      eventLog.setLength(0);
+
       // Adds the "header" text for each shape that has animations happening on it
-      eventLog.append("shape")
+      eventLog.append(separator)
+          .append("shape")
           .append(" ")
           .append(s.getName())
           .append(" ")
-          .append(s.getClass().getSimpleName())
-          .append("\n");
+          .append(s.getClass().getSimpleName());
 
       // gets a list of the motions for a shape
       List<IMotion> motionsForShape = s.getMotions();
 
       // Adds the description of each motion to the eventlog
       for (IMotion m : motionsForShape) {
-        eventLog.append("motion ").append(s.getName()).append(" ");
+        eventLog.append("\nmotion ").append(s.getName()).append(" ");
         eventLog.append(m.generateDescription());
-        eventLog.append("\n");
       }
-      eventLog.append("\n");
+      this.view.printTextView(eventLog.toString(), a);
+      separator = "\n\n";
+    }
+  }
+
+  /**
+   * Writes the line of every shape, then the lines of the motions of all shapes in order of their
+   * starting ticks, with motions starting at the same tick in the order of their shapes. Each
+   * shape's motions are already in order, so they are merged by keeping the shapes in a queue
+   * ordered by the starting tick of the next motion of each.
+   *
+   * @param eventLog the builder to build each piece of the description in
+   * @param a        the appendable for the text description to be written to
+   * @throws IOException if unable to write to the appendable for whatever reason.
+   */
+  private void writeTimeSorted(StringBuilder eventLog, Appendable a) throws IOException {
+    int shapeCount = this.shapes.size();
+    List<List<IMotion>> motions = new ArrayList<>(shapeCount);
+    int[] next = new int[shapeCount];
+
+    eventLog.setLength(0);
+    for (cs3500.animator.model.Shape s : this.shapes) {
+      eventLog.append("\nshape ").append(s.getName()).append(" ")
+          .append(s.getClass().getSimpleName());
+      motions.add(s.getMotions());
+    }
+    this.view.printTextView(eventLog.toString(), a);
+
+    PriorityQueue<Integer> queue = new PriorityQueue<>(Math.max(1, shapeCount), (i, j) -> {
+      int byTick = Integer.compare(startTick(motions.get(i).get(next[i])),
+          startTick(motions.get(j).get(next[j])));
+      return byTick != 0 ? byTick : Integer.compare(i, j);
+    });
+    for (int i = 0; i < shapeCount; i++) {
+      if (!motions.get(i).isEmpty()) {
+        queue.add(i);
+      }
     }
 
-    this.view.printTextView(eventLog.toString().replaceAll("\n$", ""), a);
+    eventLog.setLength(0);
+    int lines = 0;
+    while (!queue.isEmpty()) {
+      int i = queue.poll();
+      eventLog.append("\nmotion ").append(this.shapes.get(i).getName()).append(" ")
+          .append(motions.get(i).get(next[i]).generateDescription());
+      next[i]++;
+      if (next[i] < motions.get(i).size()) {
+        queue.add(i);
+      }
+      lines++;
+      if (lines == LINES_PER_PIECE) {
+        this.view.printTextView(eventLog.toString(), a);
+        eventLog.setLength(0);
+        lines = 0;
+      }
+    }
+    if (lines > 0) {
+      this.view.printTextView(eventLog.toString(), a);
+    }
+  }
+
+  private static int startTick(IMotion m) {
+    return m.getStartingKeyframe().getTick();
   }
 }
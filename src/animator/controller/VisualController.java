@@ -1,38 +1,52 @@
 package cs3500.animator.controller;
 
 import cs3500.animator.model.IModel;
-import cs3500.animator.model.IMotion;
 import cs3500.animator.model.Keyframe;
 import cs3500.animator.model.Oval;
+import cs3500.animator.model.Shape;
+import cs3500.animator.util.AnimationFollower;
 import cs3500.animator.view.IView;
-import java.awt.Color;
-import java.awt.Rectangle;
-import java.awt.Shape;
-import java.awt.geom.Ellipse2D;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.function.Function;
+import javax.swing.Timer;
 
 /**
  * A controller used to send data from the model to visual-based views. This includes {@link
  * cs3500.animator.view.VisualView} and {@link cs3500.animator.view.EditorView}. This controller
- * uses a timer to determine the rate at which it sends data to the view. Every tick, it finds out
- * what shapes have motions that are occurring, and creates a list of {@link Shape} objects and
- * Color objects which are send to the visual/editor view to display.
+ * uses a {@link PlaybackClock} to determine which tick to send to the view, and a Swing timer that
+ * wakes up on the event dispatch thread whenever the clock reaches a new tick, or when a {@link
+ * FrameScheduler} allows the next frame if ticks come faster than the target frame rate. Every
+ * frame, it finds out what shapes have motions that are occurring, and sends the visual/editor
+ * view a frame of the rectangles and ellipses they draw and their colors to display.
  */
 public class VisualController extends AbstractController implements IFeatures {
 
+  private static final double DEFAULT_FPS = 60;
+  // how often a followed animation file is checked for appended lines
+  private static final int FOLLOW_INTERVAL_MILLIS = 200;
+
   private int tick;
-  private Timer timer;
+  private final PlaybackClock clock;
+  // fires once on the event dispatch thread when the next frame is due
+  private final Timer timer;
+  private FrameScheduler scheduler;
   private int lastTick;
+  // the tick last drawn during playback, or -1 if playback has not drawn a frame yet
+  private int drawnTick;
 
   private boolean isLooping;
   private boolean isPlaying;
+  // whether playback is held after the last tick, with the clock paused and no frame scheduled
+  private boolean isHeld;
+
+  // frames already drawn, or null if frames are not cached
+  private FrameCache frameCache;
+
+  // polls a followed animation file, or null if no file is followed
+  private Timer followTimer;
+  // the last error from following the file, so the same error is not shown on every poll
+  private String followError;
 
   /**
    * Constructs a visual controller using the given view and model. Defaults to tempo being 1,
@@ -46,9 +60,17 @@ public class VisualController extends AbstractController implements IFeatures {
 
     this.tick = 0;
     this.tempo = 1;
-    this.lastTick = this.findLastTick();
+    this.clock = new PlaybackClock(this.tempo);
+    this.timer = new Timer(0, e -> this.nextFrame());
+    this.timer.setRepeats(false);
+    // The timer is restarted from its own action, which a coalescing timer could drop
+    this.timer.setCoalesce(false);
+    this.scheduler = new FrameScheduler(DEFAULT_FPS);
+    this.lastTick = this.model.getLastTick();
+    this.drawnTick = -1;
     this.isLooping = false;
     this.isPlaying = false;
+    this.isHeld = false;
   }
 
   /**
@@ -63,131 +85,218 @@ public class VisualController extends AbstractController implements IFeatures {
   }
 
   /**
-   * Starts the animation off with a new timer that sends shape and color data to the view at a
-   * particular tempo. The tick is incremented at the tempo rate, and the list of shapes for the
-   * controller is also updated each tick in case a new shape is added while the animation is
-   * running.
+   * Starts the animation off by starting the playback clock from the current tick, and draws the
+   * current tick right away. Later frames are drawn on the event dispatch thread whenever the
+   * clock reaches a new tick. The list of shapes for the controller is also updated each frame in
+   * case a new shape is added while the animation is running.
    */
   public void startAnimation() {
     this.isPlaying = true;
-    this.timer = new Timer();
-    this.timer.scheduleAtFixedRate(
-        new TimerTask() {
-          @Override
-          public void run() {
-            if (tick > lastTick) {
-              if (isLooping) {
-                tick = 0;
-              } else {
-                return;
-              }
-            }
-            shapes = model.getShapes();
-            findShapesToDraw();
-            view.updateScrubber(tick);
-            tick++;
-          }
-        },
-        0, (long) 1000.0 / this.tempo);
+    this.isHeld = false;
+    this.drawnTick = -1;
+    this.scheduler.reset();
+    this.clock.start();
+    this.scheduleNextFrame(0);
+  }
+
+  /**
+   * Draws the tick the playback clock is at, unless it was already drawn, and schedules the next
+   * frame for when the clock reaches the following tick, or later if the frame scheduler needs to
+   * keep to its frame rate. If the animation is looping, the clock
+   * wraps around to the start once it passes the last tick, keeping how far it was through its
+   * tick so that looping does not drift. Otherwise the last tick is drawn if playback skipped past
+   * it, and the clock is held just after the last tick with no frame scheduled, until playback is
+   * {@link #resumeHeldPlayback() resumed}.
+   */
+  private void nextFrame() {
+    if (!this.isPlaying) {
+      return;
+    }
+    double position = this.clock.position();
+    if (position >= this.lastTick + 1) {
+      if (this.isLooping) {
+        this.clock.seek(position % (this.lastTick + 1));
+        this.drawnTick = -1;
+        this.scheduler.reset();
+      } else {
+        // The frame scheduler or a high tempo may have skipped the last tick
+        if (this.drawnTick != this.lastTick) {
+          this.drawPlaybackFrame(this.lastTick);
+        }
+        this.clock.pause();
+        this.clock.seek(this.lastTick + 1);
+        this.scheduler.reset();
+        this.isHeld = true;
+        return;
+      }
+    }
+    int next = this.clock.tick();
+    if (next != this.drawnTick) {
+      this.drawPlaybackFrame(next);
+    }
+    this.scheduleNextFrame(this.scheduler.scheduleNextFrame(this.clock.nanosUntilNextTick()));
+  }
+
+  /**
+   * Draws the given tick during playback, and moves the scrubber to it.
+   *
+   * @param next the tick to draw
+   */
+  private void drawPlaybackFrame(int next) {
+    this.scheduler.beginFrame(next);
+    this.tick = next;
+    this.drawnTick = next;
+    this.shapes = this.model.getShapes();
+    findShapesToDraw();
+    this.view.updateScrubber(this.tick);
+    this.scheduler.endFrame();
+  }
+
+  /**
+   * Carries on playback that is held after the last tick, for when the position, tempo, looping
+   * or last tick of the animation changes. The next frame is checked right away, and playback is
+   * held again if there is still nothing after the last tick to play.
+   */
+  private void resumeHeldPlayback() {
+    if (this.isPlaying && this.isHeld) {
+      this.isHeld = false;
+      this.clock.start();
+      this.scheduleNextFrame(0);
+    }
+  }
+
+  /**
+   * Schedules the next frame to be drawn after the given delay, rounded up to the next
+   * millisecond.
+   *
+   * @param nanos the delay in nanoseconds
+   */
+  private void scheduleNextFrame(long nanos) {
+    this.timer.setInitialDelay((int) Math.min(Integer.MAX_VALUE, (nanos + 999_999) / 1_000_000));
+    this.timer.restart();
   }
 
 
   /**
    * Method to get the shapes from the model and determine which motions within the shapes are
    * occurring at the current tick and sends them along with their color to the view to be drawn.
+   * If the frame cache is enabled, a frame already computed for this tick is sent instead.
    */
   private void findShapesToDraw() {
-    List<Shape> currentShapes = new ArrayList<>();
-    List<Color> currentColors = new ArrayList<>();
-    List<Integer> interpolatedFields;
-    String shapeType;
-    Map<String, Function<List<Integer>, Shape>> shapeTypes = new HashMap<>();
-
-    // Creates a java.awt graphical shape based on what class we are looking at (Rectangle or Oval)
-    shapeTypes.put("Rectangle",
-        (mp) -> new Rectangle(mp.get(0), mp.get(1), mp.get(2), mp.get(3)));
-    shapeTypes.put("Oval",
-        (mp) -> new Ellipse2D.Double(mp.get(0), mp.get(1), mp.get(2), mp.get(3)) {
-        });
-    for (cs3500.animator.model.Shape s : this.model.getShapes()) {
-      shapeType = s.getClass().getSimpleName();
-      for (IMotion m : s
-          .getMotions()) {
-        if (this.tick >= m.getStartingKeyframe().getTick() && this.tick <= m.getEndingKeyframe()
-            .getTick()) {
-          interpolatedFields =
-              new ArrayList<>(Arrays.asList(
-                  this.interpolate(
-                      m.getStartingKeyframe().getTick(), m.getEndingKeyframe().getTick(),
-                      m.getStartingKeyframe().getX(), m.getEndingKeyframe().getX())
-                      - this.model.getCanvasX(),
-                  this.interpolate(
-                      m.getStartingKeyframe().getTick(), m.getEndingKeyframe().getTick(),
-                      m.getStartingKeyframe().getY(), m.getEndingKeyframe().getY())
-                      - this.model.getCanvasY(),
-                  this.interpolate(
-                      m.getStartingKeyframe().getTick(), m.getEndingKeyframe().getTick(),
-                      m.getStartingKeyframe().getWidth(), m.getEndingKeyframe().getWidth()),
-                  this.interpolate(
-                      m.getStartingKeyframe().getTick(), m.getEndingKeyframe().getTick(),
-                      m.getStartingKeyframe().getHeight(), m.getEndingKeyframe().getHeight()))
-              );
-
-          // adds the shapes to be drawn at the current tick to a list that is to be passed to the
-          // view.
-          currentShapes.add(shapeTypes.get(shapeType).apply(interpolatedFields));
-          currentColors.add(
-              new Color(
-                  this.interpolate(
-                      m.getStartingKeyframe().getTick(), m.getEndingKeyframe().getTick(),
-                      m.getStartingKeyframe().getR(), m.getEndingKeyframe().getR()),
-                  this.interpolate(
-                      m.getStartingKeyframe().getTick(), m.getEndingKeyframe().getTick(),
-                      m.getStartingKeyframe().getG(), m.getEndingKeyframe().getG()),
-                  this.interpolate(
-                      m.getStartingKeyframe().getTick(), m.getEndingKeyframe().getTick(),
-                      m.getStartingKeyframe().getB(), m.getEndingKeyframe().getB())));
-        }
+    FrameCache cache = this.frameCache;
+    FrameCache.Frame frame = cache == null ? null : cache.get(this.tick);
+    if (frame == null) {
+      int generation = cache == null ? 0 : cache.generation();
+      frame = computeFrame(this.model, this.tick);
+      if (cache != null) {
+        cache.put(this.tick, frame.trim(), generation);
       }
     }
-    this.view.addShapes(currentShapes, currentColors);
+    frame.addTo(this.view);
     this.view.refresh();
   }
 
   /**
-   * Interpolates the "between" values of a given field based on the current tick and the starting
-   * and ending ticks of the motion of a Shape.
+   * Finds the motions occurring at the given tick and interpolates the position, size and color
+   * of the shape each of them draws. Shapes that keep their keyframes in arrays are interpolated
+   * straight from the arrays. Only reads the model, so frames for different ticks can be computed
+   * at the same time once the model has answered a query for every shape.
    *
-   * @param startTick  the starting tick of the motion
-   * @param endTick    the ending tick of the motion
-   * @param startValue the starting value of the field in the motion
-   * @param endValue   the ending value of the field in the motion
-   * @return the interpolated value of the field in the motion.
+   * @param model the model to get the motions from
+   * @param tick  the tick to compute the frame for
+   * @return the frame to draw at the given tick
    */
-  private int interpolate(int startTick, int endTick, int startValue, int endValue) {
-    return (int) Math.round(startValue * ((double) (endTick - this.tick) / (endTick - startTick))
-        + endValue * ((double) (this.tick - startTick) / (endTick - startTick)));
+  static FrameCache.Frame computeFrame(IModel model, int tick) {
+    List<Shape> shapes = model.getShapes();
+    // Most shapes draw one state at a tick, so the frame rarely has to grow
+    FrameCache.Frame frame = new FrameCache.Frame(shapes.size());
+    int[] states = new int[4 * Shape.STATE_SIZE];
+    for (Shape s : shapes) {
+      // Draws a java.awt graphical shape based on what class we are looking at (Rectangle or Oval)
+      boolean isEllipse = s.getClass().getSimpleName().equals("Oval");
+      // Only look at the motions occurring at this tick, found through the shape's interval index
+      int count = model.getStatesAtTick(s, tick, states);
+      if (Shape.STATE_SIZE * count > states.length) {
+        states = new int[Shape.STATE_SIZE * count];
+        model.getStatesAtTick(s, tick, states);
+      }
+      for (int i = 0; i < Shape.STATE_SIZE * count; i += Shape.STATE_SIZE) {
+        frame.add(isEllipse, states[i] - model.getCanvasX(), states[i + 1] - model.getCanvasY(),
+            states[i + 2], states[i + 3], states[i + 4], states[i + 5], states[i + 6]);
+      }
+    }
+    return frame;
   }
 
+  @Override
+  public void setFrameCacheSize(long bytes) throws IllegalArgumentException {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Frame cache size cannot be negative.");
+    }
+    this.frameCache = bytes == 0 ? null : new FrameCache(bytes);
+  }
 
   /**
-   * Finds the ending tick of the last motion that occurs in this animation.
+   * Removes every cached frame, after the animation has been edited.
+   */
+  private void invalidateFrames() {
+    FrameCache cache = this.frameCache;
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Follows the file of this animation while it is being written. A Swing timer reads the lines
+   * appended to the file on the event dispatch thread, the same thread every frame is drawn on, so
+   * the model is never read while motions are being added to it. Once new motions are added, the
+   * cached frames are discarded and the last tick is moved to the end of the latest motion, so
+   * playback that was held at the old last tick carries on into the new motions.
    *
-   * @return the ending tick of the last motion that happens in this IModel Animation.
+   * @param follower the follower of the file of this controller's animation
    */
-  private int findLastTick() {
-    int endingTick;
-    int lastTick = 0;
-
-    for (cs3500.animator.model.Shape s : this.shapes) {
-      for (IMotion m : s.getMotions()) {
-        endingTick = m.getEndingKeyframe().getTick();
-        if (endingTick > lastTick) {
-          lastTick = endingTick;
-        }
+  @Override
+  public void follow(AnimationFollower follower) {
+    this.followTimer = new Timer(FOLLOW_INTERVAL_MILLIS, e -> this.readAppendedLines(follower));
+    this.followTimer.start();
+  }
+
+  /**
+   * Reads the lines appended to a followed animation file, and updates the frames and last tick of
+   * this animation if any were read. Lines that cannot be read or motions that are not valid are
+   * left out and shown as an error by the view, once until a later poll succeeds or fails
+   * differently, and the file is still followed. If the file itself can no longer be read, it
+   * stops being followed.
+   *
+   * @param follower the follower of the file of this controller's animation
+   */
+  private void readAppendedLines(AnimationFollower follower) {
+    long position = follower.getPosition();
+    String error = null;
+    try {
+      follower.poll();
+    } catch (IOException e) {
+      this.followTimer.stop();
+      error = "Stopped following the animation file: " + e.getMessage();
+    } catch (IllegalStateException | IllegalArgumentException e) {
+      error = "Error following the animation file: " + e.getMessage();
+    }
+    if (error != null && !error.equals(this.followError)) {
+      this.view.makePopupError(error);
+    }
+    this.followError = error;
+
+    if (follower.getPosition() != position) {
+      this.invalidateFrames();
+      this.lastTick = Math.max(this.lastTick, follower.getLastTick());
+      // Redraw the current tick, in case the new lines added to it
+      this.drawnTick = -1;
+      if (!this.isPlaying) {
+        this.shapes = this.model.getShapes();
+        findShapesToDraw();
       }
+      this.resumeHeldPlayback();
     }
-    return lastTick;
   }
 
   @Override
@@ -195,7 +304,61 @@ public class VisualController extends AbstractController implements IFeatures {
     if (t < 1) {
       throw new IllegalArgumentException("Tempo must be positive.");
     }
-    this.tempo = t;
+    this.changeTempo(t);
+  }
+
+  /**
+   * Sets the tempo of this animation to the given number of ticks per second, which does not need
+   * to be a whole number. {@link #getTempo()} then returns the tempo rounded to a whole number.
+   *
+   * @param t the given tempo for this animation to be changed to (in ticks per second)
+   * @throws IllegalArgumentException if the given tempo is not a positive finite number
+   */
+  @Override
+  public void setTempo(double t) throws IllegalArgumentException {
+    if (!(t > 0) || Double.isInfinite(t)) {
+      throw new IllegalArgumentException("Tempo must be positive.");
+    }
+    this.changeTempo(t);
+  }
+
+  /**
+   * Changes the tempo of the playback clock without stopping playback, and reschedules the next
+   * frame for the new tempo.
+   *
+   * @param t the new tempo in ticks per second
+   */
+  private void changeTempo(double t) {
+    this.tempo = (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round(t)));
+    this.clock.setTempo(t);
+    if (this.isHeld) {
+      this.resumeHeldPlayback();
+    } else if (this.isPlaying) {
+      this.scheduleNextFrame(this.scheduler.scheduleNextFrame(this.clock.nanosUntilNextTick()));
+    }
+  }
+
+  /**
+   * Sets the most frames drawn per second during playback. Ticks still advance at the tempo, but
+   * when they come faster than this rate, the ticks between frames are skipped. The frame
+   * statistics start over.
+   *
+   * @param fps the target frame rate in frames per second
+   * @throws IllegalArgumentException if the frame rate is not a positive finite number
+   */
+  @Override
+  public void setTargetFrameRate(double fps) throws IllegalArgumentException {
+    this.scheduler = new FrameScheduler(fps);
+  }
+
+  @Override
+  public void setDirtyRegions(boolean dirtyRegions) {
+    this.view.setDirtyRegions(dirtyRegions);
+  }
+
+  @Override
+  public String getFrameStatistics() {
+    return this.scheduler.toString();
   }
 
   @Override
@@ -213,23 +376,31 @@ public class VisualController extends AbstractController implements IFeatures {
   }
 
   /**
-   * Stops the animation by canceling the timer.
+   * Stops the animation by pausing the playback clock and canceling the next frame.
    */
   @Override
   public void pauseAnimation() {
     this.isPlaying = false;
-    this.timer.cancel();
+    this.isHeld = false;
+    this.clock.pause();
+    this.scheduler.reset();
+    this.timer.stop();
   }
 
   /**
-   * Restarts the animation by setting the tick back to 0, and canceling the timer.
+   * Restarts the animation by setting the tick back to 0, pausing the playback clock and canceling
+   * the next frame.
    */
   @Override
   public void restartAnimation() {
     this.tick = 0;
     this.view.updateScrubber(0);
     this.isPlaying = false;
-    this.timer.cancel();
+    this.isHeld = false;
+    this.clock.pause();
+    this.clock.seek(0);
+    this.scheduler.reset();
+    this.timer.stop();
   }
 
   /**
@@ -249,11 +420,12 @@ public class VisualController extends AbstractController implements IFeatures {
   @Override
   public void toggleLooping() {
     this.isLooping = !isLooping;
+    this.resumeHeldPlayback();
   }
 
   /**
-   * Sets the speed of the animation that is viewed in the editor view. Cancels the current timer to
-   * create a new one using the new speed.
+   * Sets the speed of the animation that is viewed in the editor view. Playback continues from the
+   * current position at the new speed.
    *
    * @param speed the new speed in ticks per second.
    * @throws IllegalArgumentException if the speed is less than 1.
@@ -263,11 +435,7 @@ public class VisualController extends AbstractController implements IFeatures {
     if (speed < 1) {
       throw new IllegalArgumentException("New speed must be greater than 0");
     }
-    this.tempo = speed;
-    if (isPlaying) {
-      this.timer.cancel();
-      startAnimation();
-    }
+    this.changeTempo(speed);
   }
 
   @Override
@@ -286,7 +454,7 @@ public class VisualController extends AbstractController implements IFeatures {
   public void addToShapeGUIList() {
     List<String> stringsToAdd = new ArrayList<>();
 
-    for (cs3500.animator.model.Shape s : this.model.getShapes()) {
+    for (Shape s : this.model.getShapes()) {
       stringsToAdd.add(s.getName());
     }
 
@@ -309,9 +477,10 @@ public class VisualController extends AbstractController implements IFeatures {
   @Override
   public void deleteKeyframe(int selectedKeyframeTick, String selectedShapeName) {
     this.model.getShapeWithName(selectedShapeName).deleteKeyframe(selectedKeyframeTick);
+    this.invalidateFrames();
     // Update the last tick in case we deleted the last keyframe
     if (selectedKeyframeTick == this.lastTick) {
-      this.lastTick = findLastTick();
+      this.lastTick = this.model.getLastTick();
     }
   }
 
@@ -326,10 +495,12 @@ public class VisualController extends AbstractController implements IFeatures {
     } catch (IllegalArgumentException e) {
       view.makePopupError("There is already a keyframe at this tick.");
     }
+    this.invalidateFrames();
     // Update the last tick to now be the new tick if it happens after the old last tick.
     if (this.lastTick < tickToAddAt) {
       this.lastTick = tickToAddAt;
     }
+    this.resumeHeldPlayback();
 
 
   }
@@ -340,6 +511,7 @@ public class VisualController extends AbstractController implements IFeatures {
 
     this.model.getShapeWithName(selectedShapeName)
         .editKeyframe(tick, new Keyframe(tick, x, y, r, g, b, height, width));
+    this.invalidateFrames();
 
   }
 
@@ -369,6 +541,7 @@ public class VisualController extends AbstractController implements IFeatures {
       default:
         this.view.makePopupError("Not a valid shape type");
     }
+    this.invalidateFrames();
   }
 
   @Override
@@ -377,6 +550,7 @@ public class VisualController extends AbstractController implements IFeatures {
       throw new IllegalArgumentException("Given shape name cannot be null");
     }
     this.model.removeShape(name);
+    this.invalidateFrames();
   }
 
   @Override
@@ -387,7 +561,11 @@ public class VisualController extends AbstractController implements IFeatures {
   @Override
   public void updateTick(int scrubberTick) {
     this.tick = scrubberTick;
+    this.clock.seek(Math.max(0, scrubberTick));
+    this.drawnTick = this.tick;
+    this.scheduler.reset();
     findShapesToDraw();
+    this.resumeHeldPlayback();
   }
 
 }
@@ -2,10 +2,8 @@ package cs3500.animator.model;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /**
  * Abstract class representing a shape that has a name and a list of motions that are applied to
@@ -13,9 +11,17 @@ import java.util.function.BiFunction;
  */
 public abstract class AbstractShape implements Shape {
 
+  // the fixed text of an SVG animation, around its start time, duration, attribute and values
+  private static final String SVG_ANIMATE_BEGIN = "<animate attributeType=\"xml\" begin=\"";
+  private static final String SVG_ANIMATE_DURATION = "ms\" dur=\"";
+  private static final String SVG_ANIMATE_ATTRIBUTE = "ms\" attributeName=\"";
+  private static final String SVG_ANIMATE_FROM = "\" from=\"";
+  private static final String SVG_ANIMATE_TO = "\" to=\"";
+  private static final String SVG_ANIMATE_END = "\" fill=\"freeze\" />\n";
+
   private final String name;
 
-  private final List<IMotion> motions;
+  private final MotionStore motions;
 
   /**
    * An abstract constructor for a shape that sets the shape's name and list of motions to whatever
@@ -26,6 +32,22 @@ public abstract class AbstractShape implements Shape {
    * @throws IllegalArgumentException if the given String name or list of motions is null.
    */
   public AbstractShape(String name, List<IMotion> motions) {
+    this(name, motions, false);
+  }
+
+  /**
+   * An abstract constructor for a shape that sets the shape's name and list of motions to whatever
+   * the provided name and list of motions are, optionally storing the motions compactly. A compact
+   * shape keeps its keyframes in arrays of ints instead of as objects, which takes several times
+   * less memory, but creates new motion objects whenever its motions are read. Motions of a
+   * compact shape are therefore compared by value rather than by identity.
+   *
+   * @param name    the name of the shape
+   * @param motions the list of motions for this shape
+   * @param compact whether to store the motions of this shape compactly
+   * @throws IllegalArgumentException if the given String name or list of motions is null.
+   */
+  public AbstractShape(String name, List<IMotion> motions, boolean compact) {
     if (name == null || motions == null) {
       throw new IllegalArgumentException("Arguments cannot be null");
     }
@@ -33,7 +55,33 @@ public abstract class AbstractShape implements Shape {
     motions.sort(
         Comparator.comparingInt(o -> o.getStartingKeyframe().getTick()));
     this.name = name;
-    this.motions = motions;
+    this.motions = compact ? new KeyframeArrayStore() : new SortedMotionStore();
+    for (IMotion m : motions) {
+      this.motions.add(m);
+    }
+  }
+
+  /**
+   * An abstract constructor for a shape whose motions are loaded from the given supplier the first
+   * time any of them is needed, such as a shape in a file too large to read all at once. Until then
+   * the shape only needs the range of ticks its motions cover, to find that no motion is occurring
+   * at a tick outside of it. The motions are stored compactly once loaded, as for a shape
+   * constructed to be compact.
+   *
+   * @param name      the name of the shape
+   * @param firstTick the starting tick of the first motion of this shape
+   * @param lastTick  the latest ending tick of the motions of this shape
+   * @param motions   the supplier of the motions of this shape, in any order
+   * @throws IllegalArgumentException if the given String name or supplier of motions is null. if
+   *                                  the motions loaded are not valid, when they are first needed
+   */
+  public AbstractShape(String name, int firstTick, int lastTick,
+      Supplier<List<IMotion>> motions) {
+    if (name == null || motions == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+    this.name = name;
+    this.motions = new LazyMotionStore(firstTick, lastTick, motions);
   }
 
   // Getter methods
@@ -45,7 +93,32 @@ public abstract class AbstractShape implements Shape {
 
   @Override
   public List<IMotion> getMotions() {
-    return new ArrayList<>(this.motions);
+    return this.motions.toList();
+  }
+
+  @Override
+  public List<IMotion> getMotionsAtTick(int tick) {
+    return this.motions.motionsAt(tick);
+  }
+
+  @Override
+  public int getStatesAtTick(int tick, int[] states) {
+    return this.motions.statesAt(tick, states);
+  }
+
+  @Override
+  public boolean hasMotion(IMotion m) {
+    return this.motions.contains(m);
+  }
+
+  @Override
+  public IMotion getMotionBefore(IMotion m) {
+    return this.motions.before(m);
+  }
+
+  @Override
+  public IMotion getMotionAfter(IMotion m) {
+    return this.motions.after(m);
   }
 
   @Override
@@ -57,9 +130,6 @@ public abstract class AbstractShape implements Shape {
       throw new IllegalArgumentException("This shape already contains Motion m.");
     }
     this.motions.add(m);
-    // sorts the list of motions by starting tick
-    motions.sort(
-        Comparator.comparingInt(o -> o.getStartingKeyframe().getTick()));
   }
 
   @Override
@@ -67,98 +137,91 @@ public abstract class AbstractShape implements Shape {
     if (m == null) {
       throw new IllegalArgumentException("motion cannot be null.");
     }
-    if (!this.motions.contains(m)) {
+    if (!this.motions.remove(m)) {
       throw new IllegalArgumentException("Shape must contain the motion.");
     }
-    this.motions.remove(m);
-    // sorts the list of motions by starting tick
-    motions.sort(
-        Comparator.comparingInt(o -> o.getStartingKeyframe().getTick()));
+  }
+
+  /**
+   * Method used in the creation of SVG files. Appends an SVG animation of one attribute of a shape
+   * over a motion, from the given value at the start of the motion to the given value at its end.
+   * The animation is written from fixed pieces of text around the values, rather than from a format
+   * string.
+   *
+   * @param svg       the SVG code to append the animation to
+   * @param msPerTick the number of milliseconds each tick of the animation lasts
+   * @param start     the keyframe the motion starts at
+   * @param end       the keyframe the motion ends at
+   * @param attName   the name of the animated attribute
+   * @param from      the value of the attribute at the start of the motion
+   * @param to        the value of the attribute at the end of the motion
+   */
+  protected static void appendAnimate(StringBuilder svg, int msPerTick, Keyframe start,
+      Keyframe end, String attName, int from, int to) {
+    appendAnimateStart(svg, start.getTick() * msPerTick,
+        (end.getTick() - start.getTick()) * msPerTick, attName);
+    svg.append(SVG_ANIMATE_FROM).append(from).append(SVG_ANIMATE_TO).append(to)
+        .append(SVG_ANIMATE_END);
+  }
 
+  /**
+   * Method used in the creation of SVG files. Appends an SVG animation of the color of a shape over
+   * a motion, from its color at the start of the motion to its color at the end.
+   *
+   * @param svg       the SVG code to append the animation to
+   * @param msPerTick the number of milliseconds each tick of the animation lasts
+   * @param start     the keyframe the motion starts at
+   * @param end       the keyframe the motion ends at
+   * @param attName   the name of the animated attribute
+   */
+  protected static void appendColorAnimate(StringBuilder svg, int msPerTick, Keyframe start,
+      Keyframe end, String attName) {
+    appendAnimateStart(svg, start.getTick() * msPerTick,
+        (end.getTick() - start.getTick()) * msPerTick, attName);
+    svg.append(SVG_ANIMATE_FROM).append("rgb(").append(start.getR()).append(',')
+        .append(start.getG()).append(',').append(start.getB()).append(')')
+        .append(SVG_ANIMATE_TO).append("rgb(").append(end.getR()).append(',')
+        .append(end.getG()).append(',').append(end.getB()).append(')')
+        .append(SVG_ANIMATE_END);
   }
 
   /**
-   * Method used in the creation of SVG files. Creates a map that links the name of a shape's
-   * attribute with a bifunction. This bifunction takes in the name of a shape attribute and a
-   * motion, which is uses to return a formatted string that is an SVG animation.
+   * Method used in the creation of SVG files. Appends an SVG animation that makes a shape visible
+   * when its first motion starts.
    *
-   * @param tempo the tempo of the animation, used to calculate the duration and start time of each
-   *              SVG motion
-   * @return a Map for creating animations within an SVG file.
+   * @param svg       the SVG code to append the animation to
+   * @param msPerTick the number of milliseconds each tick of the animation lasts
+   * @param start     the keyframe the first motion of the shape starts at
+   * @param attName   the name of the attribute that makes the shape visible
    */
-  protected Map<String, BiFunction<String, IMotion, String>> animateMap(int tempo,
-      int offsetX, int offsetY) {
-    Map<String, BiFunction<String, IMotion, String>> animateMap = new HashMap<>();
-    String toFormat = "<animate attributeType=\"xml\" begin=\"%sms\" dur=\"%sms\" "
-        + "attributeName=\"%s\" from=\"%s\" to=\"%s\" fill=\"freeze\" />\n";
-
-    animateMap.put("x", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo),
-        (m.getEndingKeyframe().getTick() - m.getStartingKeyframe().getTick()) * (1000 / tempo),
-        attName,
-        m.getStartingKeyframe().getX() - offsetX, m.getEndingKeyframe().getX() - offsetX));
-    animateMap.put("y", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo),
-        (m.getEndingKeyframe().getTick() - m.getStartingKeyframe().getTick()) * (1000 / tempo),
-        attName,
-        m.getStartingKeyframe().getY() - offsetY, m.getEndingKeyframe().getY() - offsetY));
-    animateMap.put("ellipseX", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo),
-        (m.getEndingKeyframe().getTick() - m.getStartingKeyframe().getTick()) * (1000 / tempo),
-        attName,
-        m.getStartingKeyframe().getX() - offsetX + m.getStartingKeyframe().getWidth() / 2,
-        m.getEndingKeyframe().getX() - offsetX + m.getEndingKeyframe().getWidth() / 2));
-    animateMap.put("ellipseY", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo),
-        (m.getEndingKeyframe().getTick() - m.getStartingKeyframe().getTick()) * (1000 / tempo),
-        attName,
-        m.getStartingKeyframe().getY() - offsetY + m.getStartingKeyframe().getHeight() / 2,
-        m.getEndingKeyframe().getY() - offsetY + m.getEndingKeyframe().getHeight() / 2));
-    animateMap.put("width", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo),
-        (m.getEndingKeyframe().getTick() - m.getStartingKeyframe().getTick()) * (1000 / tempo),
-        attName,
-        m.getStartingKeyframe().getWidth(), m.getEndingKeyframe().getWidth()));
-    animateMap.put("height", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo),
-        (m.getEndingKeyframe().getTick() - m.getStartingKeyframe().getTick()) * (1000 / tempo),
-        attName,
-        m.getStartingKeyframe().getHeight(), m.getEndingKeyframe().getHeight()));
-    animateMap.put("rWidth", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo),
-        (m.getEndingKeyframe().getTick() - m.getStartingKeyframe().getTick()) * (1000 / tempo),
-        attName,
-        m.getStartingKeyframe().getHeight() / 2, m.getEndingKeyframe().getHeight() / 2));
-    animateMap.put("rHeight", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo),
-        (m.getEndingKeyframe().getTick() - m.getStartingKeyframe().getTick()) * (1000 / tempo),
-        attName,
-        m.getStartingKeyframe().getHeight() / 2, m.getEndingKeyframe().getHeight() / 2));
-    animateMap.put("color", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo),
-        (m.getEndingKeyframe().getTick() - m.getStartingKeyframe().getTick()) * (1000 / tempo),
-        attName,
-        "rgb(" + m.getStartingKeyframe().getR() + "," + m.getStartingKeyframe().getG() + "," + m
-            .getStartingKeyframe().getB() + ")",
-        "rgb(" + m.getEndingKeyframe().getR() + "," + m.getEndingKeyframe().getG() + "," + m
-            .getEndingKeyframe().getB() + ")"));
-    animateMap.put("show", (attName, m) -> String.format(toFormat,
-        m.getStartingKeyframe().getTick() * (1000 / tempo), "1", attName,
-        "0", "1"));
-    return animateMap;
+  protected static void appendShowAnimate(StringBuilder svg, int msPerTick, Keyframe start,
+      String attName) {
+    appendAnimateStart(svg, start.getTick() * msPerTick, 1, attName);
+    svg.append(SVG_ANIMATE_FROM).append('0').append(SVG_ANIMATE_TO).append('1')
+        .append(SVG_ANIMATE_END);
+  }
+
+  /**
+   * Appends the start of an SVG animation, up to the value it animates from.
+   */
+  private static void appendAnimateStart(StringBuilder svg, int begin, int duration,
+      String attName) {
+    svg.append(SVG_ANIMATE_BEGIN).append(begin).append(SVG_ANIMATE_DURATION).append(duration)
+        .append(SVG_ANIMATE_ATTRIBUTE).append(attName);
   }
 
   @Override
   public List<Keyframe> getKeyframes() {
 
+    List<IMotion> motions = this.getMotions();
     List<Keyframe> result = new ArrayList<>();
-    for (int i = 0; i < this.motions.size(); i++) {
-      if (this.motions.get(i).getStartingKeyframe().getTick() != this.motions.get(i)
+    for (int i = 0; i < motions.size(); i++) {
+      if (motions.get(i).getStartingKeyframe().getTick() != motions.get(i)
           .getEndingKeyframe().getTick()) {
-        result.add(this.motions.get(i).getStartingKeyframe());
+        result.add(motions.get(i).getStartingKeyframe());
       }
       if (i == motions.size() - 1) {
-        result.add(this.motions.get(i).getEndingKeyframe());
+        result.add(motions.get(i).getEndingKeyframe());
       }
     }
     return result;
@@ -180,8 +243,8 @@ public abstract class AbstractShape implements Shape {
     // starting keyframe's start value.
     else if (this.motions.size() > 0 && tick >= 0) {
 
-      Keyframe firstKeyframe = motions.get(0).getStartingKeyframe();
-      Keyframe lastKeyframe = this.motions.get(this.motions.size() - 1).getEndingKeyframe();
+      Keyframe firstKeyframe = this.motions.first().getStartingKeyframe();
+      Keyframe lastKeyframe = this.motions.last().getEndingKeyframe();
 
       if (tick < firstKeyframe.getTick()) {
         addMotion(new Motion(new Keyframe(tick,
@@ -198,7 +261,7 @@ public abstract class AbstractShape implements Shape {
         return;
       }
 
-      for (IMotion m : this.motions) {
+      for (IMotion m : this.getMotions()) {
         if (tick == m.getStartingKeyframe().getTick() || tick == m.getEndingKeyframe().getTick()) {
           throw new IllegalArgumentException("There is already a keyframe at this tick");
         }
@@ -216,9 +279,9 @@ public abstract class AbstractShape implements Shape {
       for (IMotion m : toAdd) {
         addMotion(m);
       }
-      // Remove the old motion, which sorts the list of motions
+      // Remove the old motion
       if (toRemove != null) {
-        this.motions.remove(toRemove);
+        removeMotion(toRemove);
       }
     }
 
@@ -231,7 +294,7 @@ public abstract class AbstractShape implements Shape {
     List<IMotion> toAdd = new ArrayList<>();
 
     // If we find a motion that has this keyframe, create a new motion to replace it.
-    for (IMotion m : this.motions) {
+    for (IMotion m : this.getMotions()) {
       if (m.getStartingKeyframe().getTick() == tick) {
         toRemove.add(m);
         toAdd.add(new Motion(newKeyframe, m.getEndingKeyframe()));
@@ -240,13 +303,14 @@ public abstract class AbstractShape implements Shape {
         toAdd.add(new Motion(m.getStartingKeyframe(), newKeyframe));
       }
     }
-    // Once the for loop has completed, add and remove motions, then sort them.
-    for (IMotion m : toAdd) {
-      addMotion(m);
-    }
+    // Once the for loop has completed, remove and add motions. Removing first keeps a compact
+    // shape from seeing a replacement equal to the motion it replaces as a duplicate.
     for (IMotion m : toRemove) {
       removeMotion(m);
     }
+    for (IMotion m : toAdd) {
+      addMotion(m);
+    }
   }
 
   @Override
@@ -259,9 +323,10 @@ public abstract class AbstractShape implements Shape {
     IMotion motionBefore = null;
     IMotion motionAfter = null;
     List<IMotion> motionsToRemove = new ArrayList<>();
+    List<IMotion> motions = this.getMotions();
 
     // Find which motion of this shape ends on that tick
-    for (IMotion m : this.motions) {
+    for (IMotion m : motions) {
       if (m.getEndingKeyframe().getTick() == tick && m.getStartingKeyframe().getTick() != m
           .getEndingKeyframe().getTick()) {
         motionBefore = m;
@@ -273,7 +338,7 @@ public abstract class AbstractShape implements Shape {
         motionsToRemove.add(m);
       }
     }
-    for (IMotion m : this.motions) {
+    for (IMotion m : motions) {
       if (m.getStartingKeyframe().getTick() == tick && m.getStartingKeyframe().getTick() != m
           .getEndingKeyframe().getTick()) {
 
@@ -300,7 +365,8 @@ public abstract class AbstractShape implements Shape {
       addMotion(new SingleKeyframeMotion(motionAfter.getEndingKeyframe()));
     }
 
-    this.motions.sort(Comparator.comparingInt(o -> o.getEndingKeyframe().getTick()));
+    // Motions starting on the same tick are put in order of ending tick
+    this.motions.sortTiesByEndingTick();
   }
 
   /**
@@ -313,7 +379,7 @@ public abstract class AbstractShape implements Shape {
       throw new IllegalArgumentException("Provided list of motions must be non null");
     }
     for (IMotion m : motionsToRemove) {
-      if (this.motions.contains(m)) {
+      if (this.hasMotion(m)) {
         removeMotion(m);
       }
     }
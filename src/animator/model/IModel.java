@@ -32,7 +32,7 @@ public interface IModel {
    * @throws IllegalArgumentException if the given motion or shape is null or the shape does not
    *                                  exist in the animation.
    *                                  if the adding of a motion causes the animation to contain an
-   *                                  inconsistency.
+   *                                  inconsistency, in which case the motion is not added.
    */
   void addMotion(IMotion m, Shape s) throws IllegalArgumentException;
 
@@ -85,6 +85,13 @@ public interface IModel {
    */
   int getCanvasHeight();
 
+  /**
+   * Gets the ending tick of the last motion in this animation.
+   *
+   * @return the latest ending tick of any motion in this animation, or 0 if there are no motions
+   */
+  int getLastTick();
+
   /**
    * Gets the list of motions for a given shape in this animation.
    * @param s the given shape to get the motions for
@@ -94,6 +101,35 @@ public interface IModel {
    */
   List<IMotion> getMotionsForShape(Shape s) throws IllegalArgumentException;
 
+  /**
+   * Gets the motions of a given shape in this animation that are occurring at the given tick. Uses
+   * the shape's interval index, so the cost depends on how many motions are occurring rather than
+   * on the length of the shape's timeline.
+   *
+   * @param s    the given shape to get the motions for
+   * @param tick the tick to find motions for
+   * @return a List of the motions of the given shape occurring at the tick, ordered by starting
+   *         tick
+   * @throws IllegalArgumentException if the given shape is null or does not exist in this
+   *                                  animation
+   */
+  List<IMotion> getMotionsAtTick(Shape s, int tick) throws IllegalArgumentException;
+
+  /**
+   * Interpolates the state of a given shape in this animation at the given tick from each of its
+   * motions occurring at it, and writes the states into the given array, as {@link
+   * Shape#getStatesAtTick(int, int[])} does. Shapes that keep their keyframes in arrays are
+   * interpolated straight from the arrays, without creating a motion or keyframe.
+   *
+   * @param s      the given shape to get the states for
+   * @param tick   the tick to interpolate the states at
+   * @param states the array to write the states into, {@link Shape#STATE_SIZE} values a state
+   * @return the number of motions of the shape occurring at the tick
+   * @throws IllegalArgumentException if the given shape is null or does not exist in this
+   *                                  animation
+   */
+  int getStatesAtTick(Shape s, int tick, int[] states) throws IllegalArgumentException;
+
   /**
    * Get keyframes for the shape with the given name.
    *
@@ -3,17 +3,20 @@ package cs3500.animator.model;
 /**
  * A class representing a keyframe that stores values a particular point in time for a motion in an
  * animation. Keyframes keep track of position, size, and color at a certain tick.
+ *
+ * <p>Keyframes are immutable and compared by value, so a single instance can be shared by every
+ * motion and view that uses it.</p>
  */
-public class Keyframe {
+public final class Keyframe {
 
   private final int tick;
-  private int x;
-  private int y;
-  private int r;
-  private int g;
-  private int b;
-  private int height;
-  private int width;
+  private final int x;
+  private final int y;
+  private final int r;
+  private final int g;
+  private final int b;
+  private final int height;
+  private final int width;
 
 
   /**
@@ -111,6 +114,45 @@ public class Keyframe {
     return width;
   }
 
+  /**
+   * Checks if the given object is a keyframe with the same tick, position, size, and color as
+   * this keyframe.
+   *
+   * @param o the object to compare to
+   * @return true if the object is an equal keyframe, false otherwise
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Keyframe)) {
+      return false;
+    }
+    Keyframe other = (Keyframe) o;
+    return this.tick == other.tick
+        && this.x == other.x
+        && this.y == other.y
+        && this.r == other.r
+        && this.g == other.g
+        && this.b == other.b
+        && this.height == other.height
+        && this.width == other.width;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = this.tick;
+    result = 31 * result + this.x;
+    result = 31 * result + this.y;
+    result = 31 * result + this.r;
+    result = 31 * result + this.g;
+    result = 31 * result + this.b;
+    result = 31 * result + this.height;
+    result = 31 * result + this.width;
+    return result;
+  }
+
   /**
    * Returns a string representation of a keyframe containting all of its field data. Used for
    * displaying a list of keyframes in the GUI.
@@ -0,0 +1,346 @@
+package cs3500.animator.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A compact store of a shape's motions, kept as parallel arrays of primitive keyframe fields
+ * instead of as objects. The starting keyframe of the motion at index i is at index 2i of every
+ * array, and its ending keyframe is at index 2i + 1. Motions are sorted by starting tick, so
+ * lookups are binary searches over contiguous memory, and a store uses a fraction of the memory of
+ * the {@link Motion} and {@link Keyframe} objects it replaces.
+ *
+ * <p>Motions are created from the arrays whenever they are read, so a motion read from this store
+ * is a different object each time. Motions are therefore compared by value: a motion is in this
+ * store if a motion of the same kind with equal keyframes is. Playback does not read motions, but
+ * interpolates the states of the shape straight from the arrays through {@link #statesAt(int,
+ * int[])}, so drawing a frame creates no motion or keyframe.</p>
+ */
+final class KeyframeArrayStore implements MotionStore {
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private int size;
+  private int[] ticks;
+  private int[] xs;
+  private int[] ys;
+  private int[] widths;
+  private int[] heights;
+  private int[] reds;
+  private int[] greens;
+  private int[] blues;
+  // whether the motion at each index is a SingleKeyframeMotion
+  private boolean[] single;
+
+  // the largest ending tick of the motions up to each index, cleared whenever motions change
+  private int[] maxEndTicks;
+
+  /**
+   * Constructs an empty store.
+   */
+  KeyframeArrayStore() {
+    this.size = 0;
+    this.ticks = new int[2 * INITIAL_CAPACITY];
+    this.xs = new int[2 * INITIAL_CAPACITY];
+    this.ys = new int[2 * INITIAL_CAPACITY];
+    this.widths = new int[2 * INITIAL_CAPACITY];
+    this.heights = new int[2 * INITIAL_CAPACITY];
+    this.reds = new int[2 * INITIAL_CAPACITY];
+    this.greens = new int[2 * INITIAL_CAPACITY];
+    this.blues = new int[2 * INITIAL_CAPACITY];
+    this.single = new boolean[INITIAL_CAPACITY];
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public List<IMotion> toList() {
+    List<IMotion> result = new ArrayList<>(this.size);
+    for (int i = 0; i < this.size; i++) {
+      result.add(this.motion(i));
+    }
+    return result;
+  }
+
+  @Override
+  public List<IMotion> motionsAt(int tick) {
+    int[] maxEnds = this.maxEndTicks();
+    // Walk back from the last motion starting at or before the tick, until every motion left has
+    // ended before it
+    List<IMotion> result = new ArrayList<>();
+    for (int i = this.firstStartingAfter(tick) - 1; i >= 0 && maxEnds[i] >= tick; i--) {
+      if (this.ticks[2 * i + 1] >= tick) {
+        result.add(this.motion(i));
+      }
+    }
+    Collections.reverse(result);
+    return result;
+  }
+
+  @Override
+  public int statesAt(int tick, int[] states) {
+    int[] maxEnds = this.maxEndTicks();
+    int last = this.firstStartingAfter(tick) - 1;
+    // The same walk back as motionsAt, once to count the motions and once to write their states
+    // from the last one back, so the states are in the same order as the motions
+    int count = 0;
+    int first = last;
+    for (; first >= 0 && maxEnds[first] >= tick; first--) {
+      if (this.ticks[2 * first + 1] >= tick) {
+        count++;
+      }
+    }
+    if (Shape.STATE_SIZE * count > states.length) {
+      return count;
+    }
+    int slot = Shape.STATE_SIZE * count;
+    for (int i = last; i > first; i--) {
+      int end = 2 * i + 1;
+      if (this.ticks[end] < tick) {
+        continue;
+      }
+      int start = 2 * i;
+      int t1 = this.ticks[start];
+      int t2 = this.ticks[end];
+      slot -= Shape.STATE_SIZE;
+      states[slot] = Motion.interpolate(t1, t2, this.xs[start], this.xs[end], tick);
+      states[slot + 1] = Motion.interpolate(t1, t2, this.ys[start], this.ys[end], tick);
+      states[slot + 2] = Motion.interpolate(t1, t2, this.widths[start], this.widths[end], tick);
+      states[slot + 3] = Motion.interpolate(t1, t2, this.heights[start], this.heights[end], tick);
+      states[slot + 4] = Motion.interpolate(t1, t2, this.reds[start], this.reds[end], tick);
+      states[slot + 5] = Motion.interpolate(t1, t2, this.greens[start], this.greens[end], tick);
+      states[slot + 6] = Motion.interpolate(t1, t2, this.blues[start], this.blues[end], tick);
+    }
+    return count;
+  }
+
+  /**
+   * Gets the largest ending tick of the motions up to each index, building it if the motions have
+   * changed since it was last built.
+   */
+  private int[] maxEndTicks() {
+    int[] maxEnds = this.maxEndTicks;
+    if (maxEnds == null) {
+      // Filled before it is stored, so the index is never seen half built
+      maxEnds = new int[this.size];
+      int max = Integer.MIN_VALUE;
+      for (int i = 0; i < this.size; i++) {
+        max = Math.max(max, this.ticks[2 * i + 1]);
+        maxEnds[i] = max;
+      }
+      this.maxEndTicks = maxEnds;
+    }
+    return maxEnds;
+  }
+
+  @Override
+  public boolean contains(IMotion m) {
+    return this.indexOf(m) >= 0;
+  }
+
+  @Override
+  public IMotion before(IMotion m) {
+    int index = this.indexOf(m);
+    return index > 0 ? this.motion(index - 1) : null;
+  }
+
+  @Override
+  public IMotion after(IMotion m) {
+    int index = this.indexOf(m);
+    return index >= 0 && index + 1 < this.size ? this.motion(index + 1) : null;
+  }
+
+  @Override
+  public IMotion first() {
+    return this.size == 0 ? null : this.motion(0);
+  }
+
+  @Override
+  public IMotion last() {
+    return this.size == 0 ? null : this.motion(this.size - 1);
+  }
+
+  @Override
+  public void add(IMotion m) {
+    if (2 * this.size == this.ticks.length) {
+      this.grow();
+    }
+    int index = this.firstStartingAfter(m.getStartingKeyframe().getTick());
+    this.shift(index, index + 1, this.size - index);
+    this.set(2 * index, m.getStartingKeyframe());
+    this.set(2 * index + 1, m.getEndingKeyframe());
+    this.single[index] = m instanceof SingleKeyframeMotion;
+    this.size++;
+    this.maxEndTicks = null;
+  }
+
+  @Override
+  public boolean remove(IMotion m) {
+    int index = this.indexOf(m);
+    if (index < 0) {
+      return false;
+    }
+    this.shift(index + 1, index, this.size - index - 1);
+    this.size--;
+    this.maxEndTicks = null;
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    this.size = 0;
+    this.maxEndTicks = null;
+  }
+
+  @Override
+  public void sortTiesByEndingTick() {
+    // An insertion sort of each run of motions with the same starting tick, which is stable
+    for (int i = 1; i < this.size; i++) {
+      for (int j = i; j > 0 && this.ticks[2 * j] == this.ticks[2 * j - 2]
+          && this.ticks[2 * j + 1] < this.ticks[2 * j - 1]; j--) {
+        this.swap(j, j - 1);
+      }
+    }
+    this.maxEndTicks = null;
+  }
+
+  /**
+   * Creates the motion at the given index from the arrays.
+   */
+  private IMotion motion(int index) {
+    if (this.single[index]) {
+      return new SingleKeyframeMotion(this.keyframe(2 * index));
+    }
+    return new Motion(this.keyframe(2 * index), this.keyframe(2 * index + 1));
+  }
+
+  /**
+   * Creates the keyframe in the given slot of the arrays.
+   */
+  private Keyframe keyframe(int slot) {
+    return new Keyframe(this.ticks[slot], this.xs[slot], this.ys[slot], this.reds[slot],
+        this.greens[slot], this.blues[slot], this.heights[slot], this.widths[slot]);
+  }
+
+  /**
+   * Writes the fields of the given keyframe into the given slot of the arrays.
+   */
+  private void set(int slot, Keyframe k) {
+    this.ticks[slot] = k.getTick();
+    this.xs[slot] = k.getX();
+    this.ys[slot] = k.getY();
+    this.widths[slot] = k.getWidth();
+    this.heights[slot] = k.getHeight();
+    this.reds[slot] = k.getR();
+    this.greens[slot] = k.getG();
+    this.blues[slot] = k.getB();
+  }
+
+  /**
+   * Checks if the given slot of the arrays holds a keyframe equal to the given keyframe.
+   */
+  private boolean matches(int slot, Keyframe k) {
+    return this.ticks[slot] == k.getTick()
+        && this.xs[slot] == k.getX()
+        && this.ys[slot] == k.getY()
+        && this.widths[slot] == k.getWidth()
+        && this.heights[slot] == k.getHeight()
+        && this.reds[slot] == k.getR()
+        && this.greens[slot] == k.getG()
+        && this.blues[slot] == k.getB();
+  }
+
+  /**
+   * Finds the index of a motion of the same kind as the given motion with equal keyframes. Only
+   * the motions starting on the same tick are searched.
+   *
+   * @param m the motion to find
+   * @return the index of an equal motion, or -1 if there is none
+   */
+  private int indexOf(IMotion m) {
+    if (m == null) {
+      return -1;
+    }
+    Keyframe start = m.getStartingKeyframe();
+    Keyframe end = m.getEndingKeyframe();
+    boolean isSingle = m instanceof SingleKeyframeMotion;
+    for (int i = this.firstStartingAfter(start.getTick()) - 1;
+        i >= 0 && this.ticks[2 * i] == start.getTick(); i--) {
+      if (this.single[i] == isSingle && this.matches(2 * i, start)
+          && this.matches(2 * i + 1, end)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Binary searches for the first motion that starts after the given tick.
+   *
+   * @param tick the tick to search for
+   * @return the index of the first motion starting after the tick, or the number of motions if
+   *         there is none
+   */
+  private int firstStartingAfter(int tick) {
+    int low = 0;
+    int high = this.size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (this.ticks[2 * mid] <= tick) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Moves the given number of motions from one index to another in every array.
+   */
+  private void shift(int from, int to, int count) {
+    for (int[] field : new int[][]{this.ticks, this.xs, this.ys, this.widths, this.heights,
+        this.reds, this.greens, this.blues}) {
+      System.arraycopy(field, 2 * from, field, 2 * to, 2 * count);
+    }
+    System.arraycopy(this.single, from, this.single, to, count);
+  }
+
+  /**
+   * Swaps the motions at the two given indices in every array.
+   */
+  private void swap(int i, int j) {
+    for (int[] field : new int[][]{this.ticks, this.xs, this.ys, this.widths, this.heights,
+        this.reds, this.greens, this.blues}) {
+      for (int k = 0; k < 2; k++) {
+        int temp = field[2 * i + k];
+        field[2 * i + k] = field[2 * j + k];
+        field[2 * j + k] = temp;
+      }
+    }
+    boolean temp = this.single[i];
+    this.single[i] = this.single[j];
+    this.single[j] = temp;
+  }
+
+  /**
+   * Grows every array by half of its length.
+   */
+  private void grow() {
+    int capacity = this.single.length + (this.single.length >> 1) + 1;
+    this.ticks = Arrays.copyOf(this.ticks, 2 * capacity);
+    this.xs = Arrays.copyOf(this.xs, 2 * capacity);
+    this.ys = Arrays.copyOf(this.ys, 2 * capacity);
+    this.widths = Arrays.copyOf(this.widths, 2 * capacity);
+    this.heights = Arrays.copyOf(this.heights, 2 * capacity);
+    this.reds = Arrays.copyOf(this.reds, 2 * capacity);
+    this.greens = Arrays.copyOf(this.greens, 2 * capacity);
+    this.blues = Arrays.copyOf(this.blues, 2 * capacity);
+    this.single = Arrays.copyOf(this.single, capacity);
+  }
+}
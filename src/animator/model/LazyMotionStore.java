@@ -0,0 +1,138 @@
+package cs3500.animator.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A store of a shape's motions that are only loaded the first time they are needed, such as from a
+ * file holding many shapes of which only a few are looked at. Until then the store knows only the
+ * range of ticks its motions cover, which is enough to find that no motion is occurring at a tick
+ * outside of it. Once loaded, the motions are checked by the same rules as the motions of a shape
+ * in a {@link ShapeAnimation}, and kept in a {@link KeyframeArrayStore}.
+ */
+final class LazyMotionStore implements MotionStore {
+
+  private final int firstTick;
+  private final int lastTick;
+  private Supplier<List<IMotion>> loader;
+  // written once the motions are loaded, and read without locking after that
+  private volatile KeyframeArrayStore loaded;
+
+  /**
+   * Constructs a store whose motions are loaded from the given supplier when first needed.
+   *
+   * @param firstTick the starting tick of the first motion the supplier gives
+   * @param lastTick  the latest ending tick of the motions the supplier gives
+   * @param loader    the supplier of the motions, in any order
+   */
+  LazyMotionStore(int firstTick, int lastTick, Supplier<List<IMotion>> loader) {
+    this.firstTick = firstTick;
+    this.lastTick = lastTick;
+    this.loader = loader;
+    this.loaded = null;
+  }
+
+  /**
+   * Gets the store of the loaded motions, loading and checking them if they have not been yet.
+   * Threads reading the same shape at once, such as while frames are rendered in parallel, load
+   * the motions only once, and all see them fully loaded.
+   *
+   * @return the store of the motions
+   * @throws IllegalArgumentException if the motions loaded are not valid
+   */
+  private KeyframeArrayStore motions() {
+    KeyframeArrayStore store = this.loaded;
+    if (store == null) {
+      synchronized (this) {
+        store = this.loaded;
+        if (store == null) {
+          store = new KeyframeArrayStore();
+          for (IMotion m : this.loader.get()) {
+            store.add(m);
+          }
+          ShapeAnimation.checkMotions(store.toList());
+          // Build the index of the store's first query before other threads can see the store
+          store.motionsAt(this.firstTick);
+          this.loaded = store;
+          this.loader = null;
+        }
+      }
+    }
+    return store;
+  }
+
+  @Override
+  public int size() {
+    return this.motions().size();
+  }
+
+  @Override
+  public List<IMotion> toList() {
+    return this.motions().toList();
+  }
+
+  @Override
+  public List<IMotion> motionsAt(int tick) {
+    // No motion can be occurring outside the range of ticks, so there is nothing to load
+    if (this.loaded == null && (tick < this.firstTick || tick > this.lastTick)) {
+      return new ArrayList<>();
+    }
+    return this.motions().motionsAt(tick);
+  }
+
+  @Override
+  public int statesAt(int tick, int[] states) {
+    if (this.loaded == null && (tick < this.firstTick || tick > this.lastTick)) {
+      return 0;
+    }
+    return this.motions().statesAt(tick, states);
+  }
+
+  @Override
+  public boolean contains(IMotion m) {
+    return this.motions().contains(m);
+  }
+
+  @Override
+  public IMotion before(IMotion m) {
+    return this.motions().before(m);
+  }
+
+  @Override
+  public IMotion after(IMotion m) {
+    return this.motions().after(m);
+  }
+
+  @Override
+  public IMotion first() {
+    return this.motions().first();
+  }
+
+  @Override
+  public IMotion last() {
+    return this.motions().last();
+  }
+
+  @Override
+  public void add(IMotion m) {
+    this.motions().add(m);
+  }
+
+  @Override
+  public boolean remove(IMotion m) {
+    return this.motions().remove(m);
+  }
+
+  @Override
+  public synchronized void clear() {
+    // The motions being cleared never need to be loaded
+    this.loaded = new KeyframeArrayStore();
+    this.loader = null;
+  }
+
+  @Override
+  public void sortTiesByEndingTick() {
+    this.motions().sortTiesByEndingTick();
+  }
+}
@@ -147,14 +147,7 @@ public class Motion implements IMotion {
    */
   @Override
   public Keyframe getStartingKeyframe() {
-    return new Keyframe(this.startingKeyframe.getTick(),
-        this.startingKeyframe.getX(),
-        this.startingKeyframe.getY(),
-        this.startingKeyframe.getR(),
-        this.startingKeyframe.getG(),
-        this.startingKeyframe.getB(),
-        this.startingKeyframe.getHeight(),
-        this.startingKeyframe.getWidth());
+    return this.startingKeyframe;
   }
 
   /**
@@ -164,14 +157,7 @@ public class Motion implements IMotion {
    */
   @Override
   public Keyframe getEndingKeyframe() {
-    return new Keyframe(this.endingKeyframe.getTick(),
-        this.endingKeyframe.getX(),
-        this.endingKeyframe.getY(),
-        this.endingKeyframe.getR(),
-        this.endingKeyframe.getG(),
-        this.endingKeyframe.getB(),
-        this.endingKeyframe.getHeight(),
-        this.endingKeyframe.getWidth());
+    return this.endingKeyframe;
   }
 
 
@@ -228,7 +214,7 @@ public class Motion implements IMotion {
    * @param currentTick the tick we are on
    * @return the interpolated value of the field in the motion.
    */
-  private int interpolate(int startTick, int endTick, int startValue, int endValue,
+  static int interpolate(int startTick, int endTick, int startValue, int endValue,
       int currentTick) {
     return (int) Math.round(startValue * ((double) (endTick - currentTick) / (endTick - startTick))
         + endValue * ((double) (currentTick - startTick) / (endTick - startTick)));
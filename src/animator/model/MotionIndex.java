@@ -0,0 +1,106 @@
+package cs3500.animator.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A static interval index over the motions of a single shape, used for finding which motions are
+ * occurring at a given tick without scanning every motion of the shape. Motions are stored sorted
+ * by starting tick, and a segment tree holding the largest ending tick of every range of motions is
+ * used to skip over ranges that have all ended before the requested tick. A query therefore costs
+ * O(log n) plus the number of motions found.
+ *
+ * <p>The index is a snapshot, so it must be rebuilt whenever the motions of its shape change.</p>
+ */
+final class MotionIndex {
+
+  private final IMotion[] motions;
+  private final int[] startTicks;
+  private final int[] maxEndTicks;
+  private final int leafCount;
+
+  /**
+   * Builds an index over the given motions. Motions with the same starting tick keep the order
+   * they have in the given list.
+   *
+   * @param motions the motions of a shape to index
+   */
+  MotionIndex(List<IMotion> motions) {
+    this.motions = motions.toArray(new IMotion[0]);
+    Arrays.sort(this.motions, Comparator.comparingInt(m -> m.getStartingKeyframe().getTick()));
+
+    int leaves = 1;
+    while (leaves < this.motions.length) {
+      leaves *= 2;
+    }
+    this.leafCount = leaves;
+    this.startTicks = new int[this.motions.length];
+    this.maxEndTicks = new int[2 * leaves];
+    Arrays.fill(this.maxEndTicks, Integer.MIN_VALUE);
+
+    for (int i = 0; i < this.motions.length; i++) {
+      this.startTicks[i] = this.motions[i].getStartingKeyframe().getTick();
+      this.maxEndTicks[leaves + i] = this.motions[i].getEndingKeyframe().getTick();
+    }
+    for (int node = leaves - 1; node > 0; node--) {
+      this.maxEndTicks[node] = Math.max(this.maxEndTicks[2 * node],
+          this.maxEndTicks[2 * node + 1]);
+    }
+  }
+
+  /**
+   * Finds every motion that is occurring at the given tick, meaning its starting tick is at or
+   * before the tick and its ending tick is at or after it.
+   *
+   * @param tick the tick to find motions for
+   * @return the motions occurring at the given tick, ordered by starting tick
+   */
+  List<IMotion> motionsAt(int tick) {
+    List<IMotion> result = new ArrayList<>();
+    int last = lastStartingAtOrBefore(tick);
+    if (last >= 0) {
+      collect(1, 0, this.leafCount - 1, last, tick, result);
+    }
+    return result;
+  }
+
+  /**
+   * Binary searches the sorted starting ticks for the last motion that starts at or before the
+   * given tick.
+   *
+   * @param tick the tick to search for
+   * @return the position of that motion, or -1 if every motion starts after the tick
+   */
+  private int lastStartingAtOrBefore(int tick) {
+    int lo = 0;
+    int hi = this.startTicks.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (this.startTicks[mid] <= tick) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo - 1;
+  }
+
+  /**
+   * Walks the segment tree in order, adding the motions at positions up to {@code last} whose
+   * ending tick is at or after the given tick. Ranges that all end before the tick are skipped.
+   */
+  private void collect(int node, int lo, int hi, int last, int tick, List<IMotion> result) {
+    if (lo > last || this.maxEndTicks[node] < tick) {
+      return;
+    }
+    if (lo == hi) {
+      result.add(this.motions[lo]);
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    collect(2 * node, lo, mid, last, tick, result);
+    collect(2 * node + 1, mid + 1, hi, last, tick, result);
+  }
+}
@@ -0,0 +1,108 @@
+package cs3500.animator.model;
+
+import java.util.List;
+
+/**
+ * Interface for the ways an {@link AbstractShape} can store its motions. Motions are kept in order
+ * of starting tick, and a motion that starts on the same tick as others is kept after them.
+ */
+interface MotionStore {
+
+  /**
+   * Gets the number of motions in this store.
+   *
+   * @return the number of motions
+   */
+  int size();
+
+  /**
+   * Gets every motion in this store, in order.
+   *
+   * @return a new list of the motions
+   */
+  List<IMotion> toList();
+
+  /**
+   * Gets the motions that start at or before the given tick and end at or after it.
+   *
+   * @param tick the tick to find motions for
+   * @return the motions occurring at the given tick, in order
+   */
+  List<IMotion> motionsAt(int tick);
+
+  /**
+   * Interpolates the state of the shape at the given tick from each motion occurring at it, and
+   * writes the states into the given array, in the order {@link #motionsAt(int)} returns the
+   * motions. Each state takes {@link Shape#STATE_SIZE} values: x, y, width, height, red, green and
+   * blue. Nothing is written if the array is too short for every state.
+   *
+   * @param tick   the tick to interpolate the states at
+   * @param states the array to write the states into
+   * @return the number of motions occurring at the given tick
+   */
+  int statesAt(int tick, int[] states);
+
+  /**
+   * Checks if the given motion is in this store.
+   *
+   * @param m the motion to look for
+   * @return true if the store has the motion, false otherwise
+   */
+  boolean contains(IMotion m);
+
+  /**
+   * Gets the motion directly before the given motion.
+   *
+   * @param m a motion in this store
+   * @return the motion before it, or null if it is first or not in this store
+   */
+  IMotion before(IMotion m);
+
+  /**
+   * Gets the motion directly after the given motion.
+   *
+   * @param m a motion in this store
+   * @return the motion after it, or null if it is last or not in this store
+   */
+  IMotion after(IMotion m);
+
+  /**
+   * Gets the first motion in this store.
+   *
+   * @return the first motion, or null if there are none
+   */
+  IMotion first();
+
+  /**
+   * Gets the last motion in this store.
+   *
+   * @return the last motion, or null if there are none
+   */
+  IMotion last();
+
+  /**
+   * Adds a motion after every motion that starts at or before its starting tick.
+   *
+   * @param m the motion to add
+   */
+  void add(IMotion m);
+
+  /**
+   * Removes the given motion.
+   *
+   * @param m the motion to remove
+   * @return true if the motion was removed, false if it was not in this store
+   */
+  boolean remove(IMotion m);
+
+  /**
+   * Removes every motion.
+   */
+  void clear();
+
+  /**
+   * Puts the motions that start on the same tick in order of ending tick, keeping the order of
+   * motions that also end on the same tick.
+   */
+  void sortTiesByEndingTick();
+}
@@ -1,6 +1,7 @@
 package cs3500.animator.model;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Representing an oval with a name and a list of motions that occur on it.
@@ -19,6 +20,34 @@ public class Oval extends AbstractShape {
     super(name, motions);
   }
 
+  /**
+   * Constructs an Oval with the given name and list of motions, optionally storing its motions
+   * compactly. Uses the {@link AbstractShape} constructor.
+   *
+   * @param name    the name of the oval
+   * @param motions the list of motions for this shape
+   * @param compact whether to keep the keyframes of this shape in arrays of ints instead of as
+   *                objects
+   * @throws IllegalArgumentException if the given String name or list of motions is null.
+   */
+  public Oval(String name, List<IMotion> motions, boolean compact) {
+    super(name, motions, compact);
+  }
+
+  /**
+   * Constructs an Oval whose motions are loaded from the given supplier the first time any of
+   * them is needed. Uses the {@link AbstractShape} constructor.
+   *
+   * @param name      the name of the oval
+   * @param firstTick the starting tick of the first motion of this shape
+   * @param lastTick  the latest ending tick of the motions of this shape
+   * @param motions   the supplier of the motions of this shape, in any order
+   * @throws IllegalArgumentException if the given String name or supplier of motions is null.
+   */
+  public Oval(String name, int firstTick, int lastTick, Supplier<List<IMotion>> motions) {
+    super(name, firstTick, lastTick, motions);
+  }
+
 
   /**
    * Creates a line of SVG code to define an ellipse using this shape's first motion as a starting
@@ -30,69 +59,73 @@ public class Oval extends AbstractShape {
   @Override
   public String makeSVGHeader(int offsetX, int offsetY) {
     StringBuilder result = new StringBuilder();
-    if (this.getMotions().size() == 0) {
-      result.append(String.format(
-          "<ellipse id=\"%s\" cx=\"0\" cy=\"0\" rx=\"0\" ry=\"0\" "
-              + "fill=\"rgb(0,0,0)\" visibility=\"visible\" opacity=\"0\">",
-          this.getName()));
+    List<IMotion> motions = this.getMotions();
+    if (motions.size() == 0) {
+      result.append("<ellipse id=\"").append(this.getName())
+          .append("\" cx=\"0\" cy=\"0\" rx=\"0\" ry=\"0\" "
+              + "fill=\"rgb(0,0,0)\" visibility=\"visible\" opacity=\"0\">");
       return result.toString();
     }
-    IMotion firstMotion = this.getMotions().get(0);
+    Keyframe start = motions.get(0).getStartingKeyframe();
 
-    result.append(String.format(
-        "<ellipse id=\"%s\" cx=\"%s\" cy=\"%s\" rx=\"%s\" ry=\"%s\" "
-            + "fill=\"rgb(%s,%s,%s)\" visibility=\"visible\" opacity=\"0\">",
-        this.getName(), firstMotion.getStartingKeyframe().getX() - offsetX
-            + firstMotion.getStartingKeyframe().getWidth() / 2,
-        firstMotion.getStartingKeyframe().getY() - offsetY
-            + firstMotion.getStartingKeyframe().getHeight() / 2,
-        firstMotion.getStartingKeyframe().getWidth() / 2,
-        firstMotion.getStartingKeyframe().getHeight() / 2,
-        firstMotion.getStartingKeyframe().getR(), firstMotion.getStartingKeyframe().getG(),
-        firstMotion.getEndingKeyframe().getB()));
+    result.append("<ellipse id=\"").append(this.getName())
+        .append("\" cx=\"").append(start.getX() - offsetX + start.getWidth() / 2)
+        .append("\" cy=\"").append(start.getY() - offsetY + start.getHeight() / 2)
+        .append("\" rx=\"").append(start.getWidth() / 2)
+        .append("\" ry=\"").append(start.getHeight() / 2)
+        .append("\" fill=\"rgb(").append(start.getR()).append(',').append(start.getG())
+        .append(',').append(motions.get(0).getEndingKeyframe().getB())
+        .append(")\" visibility=\"visible\" opacity=\"0\">");
 
     return result.toString();
   }
 
   /**
    * Generates a string containing the SVG code that defines all of this shape's motions. Uses the
-   * map from animateMap to know which strings to append to the result. Uses fill, cx, cy, rx, and
-   * ry to animate the ellipse.
+   * SVG animation templates of {@link AbstractShape} to append each animation to the result. Uses
+   * fill, cx, cy, rx, and ry to animate the ellipse.
    *
    * @param tempo the tempo of the animation.
    * @return a string that has SVG code to create animations for all of this shape's motions.
    */
   @Override
   public String makeSVGMotions(int tempo, int offsetX, int offsetY) {
+    List<IMotion> motions = this.getMotions();
+    if (motions.isEmpty()) {
+      return "</ellipse>";
+    }
     StringBuilder result = new StringBuilder();
-    boolean visible = false;
-    for (IMotion m : this.getMotions()) {
-      if (!visible) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("show").apply("opacity", m));
-        visible = true;
+    int msPerTick = 1000 / tempo;
+    appendShowAnimate(result, msPerTick, motions.get(0).getStartingKeyframe(), "opacity");
+    for (IMotion m : motions) {
+      Keyframe start = m.getStartingKeyframe();
+      Keyframe end = m.getEndingKeyframe();
+      if (start.getX() != end.getX()) {
+        appendAnimate(result, msPerTick, start, end, "cx",
+            start.getX() - offsetX + start.getWidth() / 2,
+            end.getX() - offsetX + end.getWidth() / 2);
       }
-      if (m.getStartingKeyframe().getX() != m.getEndingKeyframe().getX()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("ellipseX").apply("cx", m));
+      if (start.getY() != end.getY()) {
+        appendAnimate(result, msPerTick, start, end, "cy",
+            start.getY() - offsetY + start.getHeight() / 2,
+            end.getY() - offsetY + end.getHeight() / 2);
       }
-      if (m.getStartingKeyframe().getY() != m.getEndingKeyframe().getY()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("ellipseY").apply("cy", m));
+      // rx has always been animated by the height rather than the width, and is kept that way
+      if (start.getWidth() != end.getWidth()) {
+        appendAnimate(result, msPerTick, start, end, "rx",
+            start.getHeight() / 2, end.getHeight() / 2);
       }
-      if (m.getStartingKeyframe().getWidth() != m.getEndingKeyframe().getWidth()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("rWidth").apply("rx", m));
+      if (start.getHeight() != end.getHeight()) {
+        appendAnimate(result, msPerTick, start, end, "ry",
+            start.getHeight() / 2, end.getHeight() / 2);
       }
-      if (m.getStartingKeyframe().getHeight() != m.getEndingKeyframe().getHeight()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("rHeight").apply("ry", m));
+      if (start.getR() != end.getR() || start.getG() != end.getG()
+          || start.getB() != end.getB()) {
+        appendColorAnimate(result, msPerTick, start, end, "fill");
       }
-      if (m.getStartingKeyframe().getR() != m.getEndingKeyframe().getR()
-          || m.getStartingKeyframe().getG() != m.getEndingKeyframe().getG()
-          || m.getStartingKeyframe().getB() != m
-          .getEndingKeyframe().getB()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("color").apply("fill", m));
-      }
-
-
     }
     result.append("</ellipse>");
     return result.toString();
   }
+
 }
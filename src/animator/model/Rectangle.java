@@ -1,6 +1,7 @@
 package cs3500.animator.model;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Representing a rectangle shape with a name and a list of motions that occur on it.
@@ -19,6 +20,34 @@ public class Rectangle extends AbstractShape {
     super(name, motions);
   }
 
+  /**
+   * Constructs a Rectangle with the given name and list of motions, optionally storing its motions
+   * compactly. Uses the {@link AbstractShape} constructor.
+   *
+   * @param name    the name of the rectangle
+   * @param motions the list of motions for this shape
+   * @param compact whether to keep the keyframes of this shape in arrays of ints instead of as
+   *                objects
+   * @throws IllegalArgumentException if the given String name or list of motions is null.
+   */
+  public Rectangle(String name, List<IMotion> motions, boolean compact) {
+    super(name, motions, compact);
+  }
+
+  /**
+   * Constructs a Rectangle whose motions are loaded from the given supplier the first time any of
+   * them is needed. Uses the {@link AbstractShape} constructor.
+   *
+   * @param name      the name of the rectangle
+   * @param firstTick the starting tick of the first motion of this shape
+   * @param lastTick  the latest ending tick of the motions of this shape
+   * @param motions   the supplier of the motions of this shape, in any order
+   * @throws IllegalArgumentException if the given String name or supplier of motions is null.
+   */
+  public Rectangle(String name, int firstTick, int lastTick, Supplier<List<IMotion>> motions) {
+    super(name, firstTick, lastTick, motions);
+  }
+
   /**
    * Creates a line of SVG code to define a rect using this shape's first motion as a starting
    * point. The rect begins as 100% opaque so that it is not visible until it has a motion occurring
@@ -29,61 +58,65 @@ public class Rectangle extends AbstractShape {
   @Override
   public String makeSVGHeader(int offsetX, int offsetY) {
     StringBuilder result = new StringBuilder();
-    if (this.getMotions().size() == 0) {
-      result.append(String.format(
-          "<rect id=\"%s\" x=\"0\" y=\"0\" width=\"0\" height=\"0\" "
-              + "fill=\"rgb(0,0,0)\" visibility=\"visible\" opacity=\"0\">",
-          this.getName()));
+    List<IMotion> motions = this.getMotions();
+    if (motions.size() == 0) {
+      result.append("<rect id=\"").append(this.getName())
+          .append("\" x=\"0\" y=\"0\" width=\"0\" height=\"0\" "
+              + "fill=\"rgb(0,0,0)\" visibility=\"visible\" opacity=\"0\">");
       return result.toString();
     }
-    IMotion firstMotion = this.getMotions().get(0);
+    Keyframe start = motions.get(0).getStartingKeyframe();
 
-    result.append(String.format(
-        "<rect id=\"%s\" x=\"%s\" y=\"%s\" width=\"%s\" height=\"%s\" "
-            + "fill=\"rgb(%s,%s,%s)\" visibility=\"visible\" opacity=\"0\" >",
-        this.getName(), firstMotion.getStartingKeyframe().getX() - offsetX,
-        firstMotion.getStartingKeyframe().getY() - offsetY,
-        firstMotion.getStartingKeyframe().getWidth(), firstMotion.getStartingKeyframe().getHeight(),
-        firstMotion.getStartingKeyframe().getR(), firstMotion.getStartingKeyframe().getG(),
-        firstMotion.getEndingKeyframe().getB()));
+    result.append("<rect id=\"").append(this.getName())
+        .append("\" x=\"").append(start.getX() - offsetX)
+        .append("\" y=\"").append(start.getY() - offsetY)
+        .append("\" width=\"").append(start.getWidth())
+        .append("\" height=\"").append(start.getHeight())
+        .append("\" fill=\"rgb(").append(start.getR()).append(',').append(start.getG())
+        .append(',').append(motions.get(0).getEndingKeyframe().getB())
+        .append(")\" visibility=\"visible\" opacity=\"0\" >");
 
     return result.toString();
   }
 
   /**
    * Generates a string containing the SVG code that defines all of this shape's motions. Uses the
-   * map from animateMap to know which strings to append to the result. Uses fill, x, y, width, and
-   * height to animate the rect.
+   * SVG animation templates of {@link AbstractShape} to append each animation to the result. Uses
+   * fill, x, y, width, and height to animate the rect.
    *
    * @param tempo the tempo of the animation.
    * @return a string that has SVG code to create animations for all of this shape's motions.
    */
   @Override
   public String makeSVGMotions(int tempo, int offsetX, int offsetY) {
+    List<IMotion> motions = this.getMotions();
+    if (motions.isEmpty()) {
+      return "</rect>";
+    }
     StringBuilder result = new StringBuilder();
-    boolean visible = false;
-    for (IMotion m : this.getMotions()) {
-      if (!visible) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("show").apply("opacity", m));
-        visible = true;
-      }
-      if (m.getStartingKeyframe().getX() != m.getEndingKeyframe().getX()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("x").apply("x", m));
+    int msPerTick = 1000 / tempo;
+    appendShowAnimate(result, msPerTick, motions.get(0).getStartingKeyframe(), "opacity");
+    for (IMotion m : motions) {
+      Keyframe start = m.getStartingKeyframe();
+      Keyframe end = m.getEndingKeyframe();
+      if (start.getX() != end.getX()) {
+        appendAnimate(result, msPerTick, start, end, "x",
+            start.getX() - offsetX, end.getX() - offsetX);
       }
-      if (m.getStartingKeyframe().getY() != m.getEndingKeyframe().getY()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("y").apply("y", m));
+      if (start.getY() != end.getY()) {
+        appendAnimate(result, msPerTick, start, end, "y",
+            start.getY() - offsetY, end.getY() - offsetY);
       }
-      if (m.getStartingKeyframe().getWidth() != m.getEndingKeyframe().getWidth()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("width").apply("width", m));
+      if (start.getWidth() != end.getWidth()) {
+        appendAnimate(result, msPerTick, start, end, "width", start.getWidth(), end.getWidth());
       }
-      if (m.getStartingKeyframe().getHeight() != m.getEndingKeyframe().getHeight()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("height").apply("height", m));
+      if (start.getHeight() != end.getHeight()) {
+        appendAnimate(result, msPerTick, start, end, "height",
+            start.getHeight(), end.getHeight());
       }
-      if (m.getStartingKeyframe().getR() != m.getEndingKeyframe().getR()
-          || m.getStartingKeyframe().getG() != m.getEndingKeyframe().getG()
-          || m.getStartingKeyframe().getB() != m
-          .getEndingKeyframe().getB()) {
-        result.append(animateMap(tempo, offsetX, offsetY).get("color").apply("fill", m));
+      if (start.getR() != end.getR() || start.getG() != end.getG()
+          || start.getB() != end.getB()) {
+        appendColorAnimate(result, msPerTick, start, end, "fill");
       }
     }
     result.append("</rect>");
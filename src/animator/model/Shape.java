@@ -7,6 +7,11 @@ import java.util.List;
  */
 public interface Shape {
 
+  /**
+   * The number of values in the state of a shape written by {@link #getStatesAtTick(int, int[])}.
+   */
+  int STATE_SIZE = 7;
+
   /**
    * Gets the name of a shape.
    *
@@ -21,6 +26,55 @@ public interface Shape {
    */
   List<IMotion> getMotions();
 
+  /**
+   * Gets the motions of this shape that are occurring at the given tick, meaning the motion starts
+   * at or before the tick and ends at or after it.
+   *
+   * @param tick the tick to find motions for
+   * @return the motions occurring at the given tick, ordered by starting tick
+   */
+  List<IMotion> getMotionsAtTick(int tick);
+
+  /**
+   * Interpolates the state of this shape at the given tick from each of its motions occurring at
+   * it, and writes the states into the given array, without creating a motion or keyframe for any
+   * of them. The states are in the order {@link #getMotionsAtTick(int)} returns the motions, and
+   * each state takes {@link #STATE_SIZE} values: x, y, width, height, red, green and blue. Nothing
+   * is written if the array is too short for every state, so a caller can grow the array to fit
+   * the count returned and ask again.
+   *
+   * @param tick   the tick to interpolate the states at
+   * @param states the array to write the states into
+   * @return the number of motions occurring at the given tick
+   */
+  int getStatesAtTick(int tick, int[] states);
+
+  /**
+   * Checks if the given motion is in this shape's list of motions.
+   *
+   * @param m the motion to look for
+   * @return true if this shape has the given motion, false otherwise
+   */
+  boolean hasMotion(IMotion m);
+
+  /**
+   * Gets the motion that comes directly before the given motion in this shape's list of motions.
+   *
+   * @param m a motion of this shape
+   * @return the motion before the given one, or null if it is the first motion or is not a motion
+   *         of this shape
+   */
+  IMotion getMotionBefore(IMotion m);
+
+  /**
+   * Gets the motion that comes directly after the given motion in this shape's list of motions.
+   *
+   * @param m a motion of this shape
+   * @return the motion after the given one, or null if it is the last motion or is not a motion of
+   *         this shape
+   */
+  IMotion getMotionAfter(IMotion m);
+
   /**
    * Adds a motion to a shape's list of motions.
    *
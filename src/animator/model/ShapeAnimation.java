@@ -25,6 +25,9 @@ import java.util.function.Function;
 public class ShapeAnimation implements IModel {
 
   private final List<Shape> shapes;
+  // the first shape in the list with each name, for looking up shapes by name in constant time
+  private final Map<String, Shape> shapesByName;
+  private boolean hasDuplicateNames;
   private final int canvasX;
   private final int canvasY;
   private final int canvasWidth;
@@ -66,6 +69,11 @@ public class ShapeAnimation implements IModel {
     this.canvasHeight = canvasHeight;
 
     this.shapes = shapes;
+    this.shapesByName = new HashMap<>();
+    this.hasDuplicateNames = false;
+    for (Shape s : shapes) {
+      this.indexShape(s);
+    }
     checkConstraints();
   }
 
@@ -80,6 +88,7 @@ public class ShapeAnimation implements IModel {
       throw new IllegalArgumentException("Shape must not be null");
     }
     this.shapes.add(s);
+    this.indexShape(s);
   }
 
   @Override
@@ -87,13 +96,21 @@ public class ShapeAnimation implements IModel {
     if (name == null) {
       throw new IllegalArgumentException("Shape must not be null");
     }
-    for (Shape s : this.shapes) {
-      if (s.getName().equals(name)) {
-        this.shapes.remove(s);
-        break;
+    Shape s = this.shapesByName.remove(name);
+    if (s == null) {
+      return;
+    }
+    this.shapes.remove(s);
+
+    // Another shape with the same name is now the first one with that name
+    if (this.hasDuplicateNames) {
+      for (Shape other : this.shapes) {
+        if (other.getName().equals(name)) {
+          this.shapesByName.put(name, other);
+          break;
+        }
       }
     }
-
   }
 
   @Override
@@ -116,23 +133,80 @@ public class ShapeAnimation implements IModel {
     return this.canvasHeight;
   }
 
+  @Override
+  public int getLastTick() {
+    int lastTick = 0;
+    for (Shape s : this.shapes) {
+      for (IMotion m : s.getMotions()) {
+        lastTick = Math.max(lastTick, m.getEndingKeyframe().getTick());
+      }
+    }
+    return lastTick;
+  }
+
   @Override
   public List<IMotion> getMotionsForShape(Shape s) throws IllegalArgumentException {
-    if (!this.shapes.contains(s) || s == null) {
+    if (s == null || !this.containsShape(s)) {
       throw new IllegalArgumentException("Given shape must exist in this animation.");
     }
     return s.getMotions();
   }
 
+  @Override
+  public List<IMotion> getMotionsAtTick(Shape s, int tick) throws IllegalArgumentException {
+    if (s == null || !this.containsShape(s)) {
+      throw new IllegalArgumentException("Given shape must exist in this animation.");
+    }
+    return s.getMotionsAtTick(tick);
+  }
+
+  @Override
+  public int getStatesAtTick(Shape s, int tick, int[] states) throws IllegalArgumentException {
+    if (s == null || !this.containsShape(s)) {
+      throw new IllegalArgumentException("Given shape must exist in this animation.");
+    }
+    return s.getStatesAtTick(tick, states);
+  }
+
+  /**
+   * Interpolates the state of a shape at the given tick from each of the given motions, and writes
+   * the states into the given array, {@link Shape#STATE_SIZE} values a state, for shapes whose
+   * motions are already objects. Nothing is written if the array is too short for every state.
+   *
+   * @param motions the motions occurring at the tick, in order
+   * @param tick    the tick to interpolate the states at
+   * @param states  the array to write the states into
+   * @return the number of motions
+   */
+  protected static int statesOf(List<IMotion> motions, int tick, int[] states) {
+    if (Shape.STATE_SIZE * motions.size() > states.length) {
+      return motions.size();
+    }
+    int slot = 0;
+    for (IMotion m : motions) {
+      Keyframe start = m.getStartingKeyframe();
+      Keyframe end = m.getEndingKeyframe();
+      int t1 = start.getTick();
+      int t2 = end.getTick();
+      states[slot++] = Motion.interpolate(t1, t2, start.getX(), end.getX(), tick);
+      states[slot++] = Motion.interpolate(t1, t2, start.getY(), end.getY(), tick);
+      states[slot++] = Motion.interpolate(t1, t2, start.getWidth(), end.getWidth(), tick);
+      states[slot++] = Motion.interpolate(t1, t2, start.getHeight(), end.getHeight(), tick);
+      states[slot++] = Motion.interpolate(t1, t2, start.getR(), end.getR(), tick);
+      states[slot++] = Motion.interpolate(t1, t2, start.getG(), end.getG(), tick);
+      states[slot++] = Motion.interpolate(t1, t2, start.getB(), end.getB(), tick);
+    }
+    return motions.size();
+  }
+
   @Override
   public List<Keyframe> getKeyframesForShape(String shapeName) throws IllegalArgumentException {
     if (shapeName == null) {
       throw new IllegalArgumentException("Shape name cannot be null");
     }
-    for (Shape s : this.shapes) {
-      if (s.getName().equals(shapeName)) {
-        return s.getKeyframes();
-      }
+    Shape s = this.shapesByName.get(shapeName);
+    if (s != null) {
+      return s.getKeyframes();
     }
     return new ArrayList<Keyframe>();
   }
@@ -142,10 +216,9 @@ public class ShapeAnimation implements IModel {
     if (shapeName == null) {
       throw new IllegalArgumentException("Shape name cannot be null");
     }
-    for (Shape s : this.shapes) {
-      if (s.getName().equals(shapeName)) {
-        return s;
-      }
+    Shape s = this.shapesByName.get(shapeName);
+    if (s != null) {
+      return s;
     }
     throw new IllegalArgumentException("There is no shape with the given name in this animation");
   }
@@ -156,12 +229,26 @@ public class ShapeAnimation implements IModel {
       throw new IllegalArgumentException("Motion and shape must not be null");
     }
 
-    if (!this.shapes.contains(s)) {
+    if (!this.containsShape(s)) {
       throw new IllegalArgumentException("The provided shape does not exist in this animation");
     }
 
     s.addMotion(m);
-    this.checkConstraints();
+    // Only the pairs of motions the new motion is part of can have become invalid
+    IMotion before = s.getMotionBefore(m);
+    IMotion after = s.getMotionAfter(m);
+    try {
+      if (before != null) {
+        checkForBadOverlaps(before, m);
+      }
+      if (after != null) {
+        checkForBadOverlaps(m, after);
+      }
+    } catch (IllegalArgumentException e) {
+      // Leave the shape as valid as it was before the motion was added
+      s.removeMotion(m);
+      throw e;
+    }
   }
 
   @Override
@@ -169,9 +256,20 @@ public class ShapeAnimation implements IModel {
     if (m == null || s == null) {
       throw new IllegalArgumentException("Motion and shape must not be null");
     }
-    if (this.shapes.contains(s) && s.getMotions().contains(m)) {
+    if (this.containsShape(s) && s.hasMotion(m)) {
+      // Only the motions on either side of the removed motion become a new pair of motions
+      IMotion before = s.getMotionBefore(m);
+      IMotion after = s.getMotionAfter(m);
       s.removeMotion(m);
-      this.checkConstraints();
+      if (before != null && after != null) {
+        try {
+          checkForBadOverlaps(before, after);
+        } catch (IllegalArgumentException e) {
+          // Leave the shape as valid as it was before the motion was removed
+          s.addMotion(m);
+          throw e;
+        }
+      }
     } else {
       throw new IllegalArgumentException("The given shape does not exist, or does not have the"
           + " given motion in its list of motions");
@@ -179,6 +277,33 @@ public class ShapeAnimation implements IModel {
   }
 
 
+  /**
+   * Adds a shape to the index of shapes by name, unless a shape with its name is already in this
+   * animation.
+   *
+   * @param s the shape to index
+   */
+  private void indexShape(Shape s) {
+    if (this.shapesByName.putIfAbsent(s.getName(), s) != null) {
+      this.hasDuplicateNames = true;
+    }
+  }
+
+  /**
+   * Checks if the given shape is in this animation, using the index of shapes by name.
+   *
+   * @param s the shape to look for
+   * @return true if the given shape is in this animation, false otherwise
+   */
+  private boolean containsShape(Shape s) {
+    Shape found = this.shapesByName.get(s.getName());
+    if (found == s) {
+      return true;
+    }
+    // Only a shape sharing its name with an earlier shape can be missing from the index
+    return found != null && this.hasDuplicateNames && this.shapes.contains(s);
+  }
+
   /**
    * Makes sure that the list of motions for a particular shape are valid. - Motions in an animation
    * can not overlap or conflict with each other. This means that there cannot be two motions
@@ -196,30 +321,28 @@ public class ShapeAnimation implements IModel {
    *                                  same shape.
    */
   private void checkConstraints() {
-    List<IMotion> motionsForShape;
-    IMotion m;
-    IMotion next;
-
     // Look at every shape
     for (Shape s : this.shapes) {
       // Retrieve a chronologically sorted list of motions for this shape
-      motionsForShape = s.getMotions();
-
-      // Make sure there is at least one motion for this shape
-      if (motionsForShape.size() > 0) {
-
-        // Go through the list of motions for this shape
-        for (int i = 0; i < motionsForShape.size(); i++) {
-          m = motionsForShape.get(i);
-          // To see if we are at the last shape
-          if (i + 1 < motionsForShape.size()) {
-            next = motionsForShape.get(i + 1);
+      checkMotions(s.getMotions());
+    }
+  }
 
-            // Make sure any overlapping motions are valid
-            checkForBadOverlaps(m, next);
-          }
-        }
-      }
+  /**
+   * Makes sure that a chronologically sorted list of the motions of one shape is valid, by the same
+   * rules as the motions of every shape in an animation.
+   *
+   * @param motionsForShape the motions of a shape, sorted by starting tick
+   * @throws IllegalArgumentException if a motion does not start in the state that the motion that
+   *                                  began before it left off. if a motion overlaps timewise with
+   *                                  another motion and attempts to modify the same fields of the
+   *                                  same shape.
+   */
+  static void checkMotions(List<IMotion> motionsForShape) {
+    // Go through the list of motions for this shape, up to the last one
+    for (int i = 0; i + 1 < motionsForShape.size(); i++) {
+      // Make sure any overlapping motions are valid
+      checkForBadOverlaps(motionsForShape.get(i), motionsForShape.get(i + 1));
     }
   }
 
@@ -235,7 +358,7 @@ public class ShapeAnimation implements IModel {
    *                                  another motion and attempts to modify the same field of the
    *                                  same shape
    */
-  private void checkForBadOverlaps(IMotion m, IMotion next) {
+  private static void checkForBadOverlaps(IMotion m, IMotion next) {
     // Making sure that the motion that the next motion starts where this one left off
     if (m.getStartingKeyframe().getTick() <= next.getEndingKeyframe().getTick() && !(m
         .isConsistent(next))) {
@@ -253,9 +376,10 @@ public class ShapeAnimation implements IModel {
    * An implementation of the {@link AnimationBuilder} interface, used for creating animations from
    * files.
    */
-  public static class AnimationBuilderImpl implements AnimationBuilder {
+  public static class AnimationBuilderImpl implements AnimationBuilder<ShapeAnimation> {
 
     private List<Shape> shapes;
+    private Map<String, Shape> shapesByName;
     private int canvasX;
     private int canvasY;
     private int canvasWidth;
@@ -267,24 +391,37 @@ public class ShapeAnimation implements IModel {
      * new shapes. X and Y default to 0, width and height defaults to 1.
      */
     public AnimationBuilderImpl() {
+      this(false);
+    }
+
+    /**
+     * Create an animation builder with an empty list of shapes, optionally creating shapes that
+     * store their motions compactly. Compact shapes take several times less memory, which matters
+     * for very large animation files, but compare motions by value. X and Y default to 0, width
+     * and height defaults to 1.
+     *
+     * @param compact whether the shapes created should store their keyframes in arrays of ints
+     */
+    public AnimationBuilderImpl(boolean compact) {
       this.shapeMap = new HashMap<>();
       this.shapes = new ArrayList<>();
+      this.shapesByName = new HashMap<>();
       this.canvasX = 0;
       this.canvasY = 0;
       this.canvasWidth = 1;
       this.canvasHeight = 1;
 
-      this.shapeMap.put("rectangle", (name) -> new Rectangle(name, new ArrayList<>()));
-      this.shapeMap.put("ellipse", (name) -> new Oval(name, new ArrayList<>()));
+      this.shapeMap.put("rectangle", (name) -> new Rectangle(name, new ArrayList<>(), compact));
+      this.shapeMap.put("ellipse", (name) -> new Oval(name, new ArrayList<>(), compact));
     }
 
     @Override
-    public Object build() {
+    public ShapeAnimation build() {
       return new ShapeAnimation(shapes, canvasX, canvasY, canvasWidth, canvasHeight);
     }
 
     @Override
-    public AnimationBuilder setBounds(int x, int y, int width, int height) {
+    public AnimationBuilder<ShapeAnimation> setBounds(int x, int y, int width, int height) {
       this.canvasX = x;
       this.canvasY = y;
       this.canvasWidth = width;
@@ -295,31 +432,32 @@ public class ShapeAnimation implements IModel {
 
 
     @Override
-    public AnimationBuilder declareShape(String name, String type) {
+    public AnimationBuilder<ShapeAnimation> declareShape(String name, String type) {
       Shape s = this.shapeMap.get(type).apply(name);
       this.shapes.add(s);
+      this.shapesByName.putIfAbsent(name, s);
 
       return this;
     }
 
     @Override
-    public AnimationBuilder addMotion(String name, int t1, int x1, int y1, int w1, int h1, int r1,
-        int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2) {
-      for (Shape s : this.shapes) {
-        if (s.getName().equals(name)) {
-          if (t1 == t2 &&
-              x1 == x2 &&
-              y1 == y2 &&
-              w1 == w2 &&
-              h1 == h2 &&
-              r1 == r2 &&
-              g1 == g2 &&
-              b1 == b2) {
-            s.addMotion(new SingleKeyframeMotion(new Keyframe(t1, x1, y1, r1, g1, b1, h1, w1)));
-          } else {
-            s.addMotion(new Motion(new Keyframe(t1, x1, y1, r1, g1, b1, h1, w1),
-                new Keyframe(t2, x2, y2, r2, g2, b2, h2, w2)));
-          }
+    public AnimationBuilder<ShapeAnimation> addMotion(String name, int t1, int x1, int y1, int w1,
+        int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2,
+        int b2) {
+      Shape s = this.shapesByName.get(name);
+      if (s != null) {
+        if (t1 == t2 &&
+            x1 == x2 &&
+            y1 == y2 &&
+            w1 == w2 &&
+            h1 == h2 &&
+            r1 == r2 &&
+            g1 == g2 &&
+            b1 == b2) {
+          s.addMotion(new SingleKeyframeMotion(new Keyframe(t1, x1, y1, r1, g1, b1, h1, w1)));
+        } else {
+          s.addMotion(new Motion(new Keyframe(t1, x1, y1, r1, g1, b1, h1, w1),
+              new Keyframe(t2, x2, y2, r2, g2, b2, h2, w2)));
         }
       }
 
@@ -327,13 +465,12 @@ public class ShapeAnimation implements IModel {
     }
 
     @Override
-    public AnimationBuilder addKeyframe(String name, int t, int x, int y, int w, int h, int r,
-        int g, int b) {
-      for (Shape s : this.shapes) {
-        if (s.getName().equals(name)) {
-          s.addKeyframe(t);
-          s.editKeyframe(t, new Keyframe(t, x, y, r, g, b, h, w));
-        }
+    public AnimationBuilder<ShapeAnimation> addKeyframe(String name, int t, int x, int y, int w,
+        int h, int r, int g, int b) {
+      Shape s = this.shapesByName.get(name);
+      if (s != null) {
+        s.addKeyframe(t);
+        s.editKeyframe(t, new Keyframe(t, x, y, r, g, b, h, w));
       }
 
       return this;
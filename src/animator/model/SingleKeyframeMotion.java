@@ -7,7 +7,7 @@ package cs3500.animator.model;
 public class SingleKeyframeMotion implements IMotion {
 
 
-  private Keyframe singleKeyframe;
+  private final Keyframe singleKeyframe;
 
   /**
    * Constructs a SingleKeyframeMotion with the given keyframe.
@@ -58,21 +58,21 @@ public class SingleKeyframeMotion implements IMotion {
 
 
   /**
-   * Gets a copy of the single keyframe.
-   * @return a copy of the single keyframe field
+   * Gets the single keyframe, which is both the start and the end of this motion.
+   * @return the single keyframe field
    */
   @Override
   public Keyframe getStartingKeyframe() {
-    return copySingleKeyframe();
+    return this.singleKeyframe;
   }
 
   /**
-   * Gets a copy of the single keyframe.
-   * @return a copy of the single keyframe field
+   * Gets the single keyframe, which is both the start and the end of this motion.
+   * @return the single keyframe field
    */
   @Override
   public Keyframe getEndingKeyframe() {
-    return copySingleKeyframe();
+    return this.singleKeyframe;
   }
 
   @Override
@@ -91,7 +91,7 @@ public class SingleKeyframeMotion implements IMotion {
 
   @Override
   public Keyframe interpolateKeyframe(int tick) {
-    return copySingleKeyframe();
+    return this.singleKeyframe;
   }
 
 
@@ -107,19 +107,4 @@ public class SingleKeyframeMotion implements IMotion {
     }
     return false;
   }
-
-  /**
-   * Creates a copy of the single keyframe used to make this class compatible with IMotion methods.
-   * @return a copy of the single keyframe for this motion.
-   */
-  private Keyframe copySingleKeyframe() {
-    return new Keyframe(this.singleKeyframe.getTick(),
-        this.singleKeyframe.getX(),
-        this.singleKeyframe.getY(),
-        this.singleKeyframe.getR(),
-        this.singleKeyframe.getG(),
-        this.singleKeyframe.getB(),
-        this.singleKeyframe.getHeight(),
-        this.singleKeyframe.getWidth());
-  }
 }
@@ -0,0 +1,179 @@
+package cs3500.animator.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The default store of a shape's motions. Motions are kept in a {@link TreeMap} from starting tick
+ * to the motions starting on that tick, so that inserting, removing and finding the neighbours of
+ * a motion are a tree lookup plus a scan of the few motions sharing its starting tick. Motions are
+ * compared by identity.
+ */
+final class SortedMotionStore implements MotionStore {
+
+  // the motions grouped by starting tick, each group in the order it was added
+  private final TreeMap<Integer, List<IMotion>> motionsByStart;
+  private int size;
+
+  // lazily built lookup of the motions occurring at a tick, cleared whenever motions change
+  private MotionIndex motionIndex;
+
+  /**
+   * Constructs an empty store.
+   */
+  SortedMotionStore() {
+    this.motionsByStart = new TreeMap<>();
+    this.size = 0;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public List<IMotion> toList() {
+    List<IMotion> result = new ArrayList<>(this.size);
+    for (List<IMotion> group : this.motionsByStart.values()) {
+      result.addAll(group);
+    }
+    return result;
+  }
+
+  @Override
+  public List<IMotion> motionsAt(int tick) {
+    if (this.motionIndex == null) {
+      this.motionIndex = new MotionIndex(this.toList());
+    }
+    return this.motionIndex.motionsAt(tick);
+  }
+
+  @Override
+  public int statesAt(int tick, int[] states) {
+    return ShapeAnimation.statesOf(this.motionsAt(tick), tick, states);
+  }
+
+  @Override
+  public boolean contains(IMotion m) {
+    return this.indexInGroup(m) >= 0;
+  }
+
+  @Override
+  public IMotion before(IMotion m) {
+    int index = this.indexInGroup(m);
+    if (index > 0) {
+      return this.groupOf(m).get(index - 1);
+    }
+    if (index == 0) {
+      Map.Entry<Integer, List<IMotion>> before =
+          this.motionsByStart.lowerEntry(m.getStartingKeyframe().getTick());
+      if (before != null) {
+        return before.getValue().get(before.getValue().size() - 1);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public IMotion after(IMotion m) {
+    int index = this.indexInGroup(m);
+    if (index < 0) {
+      return null;
+    }
+    List<IMotion> group = this.groupOf(m);
+    if (index + 1 < group.size()) {
+      return group.get(index + 1);
+    }
+    Map.Entry<Integer, List<IMotion>> after =
+        this.motionsByStart.higherEntry(m.getStartingKeyframe().getTick());
+    return after == null ? null : after.getValue().get(0);
+  }
+
+  @Override
+  public IMotion first() {
+    return this.size == 0 ? null : this.motionsByStart.firstEntry().getValue().get(0);
+  }
+
+  @Override
+  public IMotion last() {
+    if (this.size == 0) {
+      return null;
+    }
+    List<IMotion> group = this.motionsByStart.lastEntry().getValue();
+    return group.get(group.size() - 1);
+  }
+
+  @Override
+  public void add(IMotion m) {
+    this.motionsByStart.computeIfAbsent(m.getStartingKeyframe().getTick(),
+        tick -> new ArrayList<>(1)).add(m);
+    this.size++;
+    this.motionIndex = null;
+  }
+
+  @Override
+  public boolean remove(IMotion m) {
+    int index = this.indexInGroup(m);
+    if (index < 0) {
+      return false;
+    }
+    List<IMotion> group = this.groupOf(m);
+    group.remove(index);
+    if (group.isEmpty()) {
+      this.motionsByStart.remove(m.getStartingKeyframe().getTick());
+    }
+    this.size--;
+    this.motionIndex = null;
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    this.motionsByStart.clear();
+    this.size = 0;
+    this.motionIndex = null;
+  }
+
+  @Override
+  public void sortTiesByEndingTick() {
+    for (List<IMotion> group : this.motionsByStart.values()) {
+      group.sort(Comparator.comparingInt(o -> o.getEndingKeyframe().getTick()));
+    }
+    this.motionIndex = null;
+  }
+
+  /**
+   * Gets the motions that start on the same tick as the given motion.
+   *
+   * @param m the motion whose starting tick to look up
+   * @return the motions starting on that tick, or null if there are none
+   */
+  private List<IMotion> groupOf(IMotion m) {
+    return this.motionsByStart.get(m.getStartingKeyframe().getTick());
+  }
+
+  /**
+   * Finds the position of the given motion among the motions starting on the same tick.
+   *
+   * @param m the motion to find
+   * @return the index of the motion in its group, or -1 if it is not in this store
+   */
+  private int indexInGroup(IMotion m) {
+    if (m == null) {
+      return -1;
+    }
+    List<IMotion> group = this.groupOf(m);
+    if (group == null) {
+      return -1;
+    }
+    for (int i = 0; i < group.size(); i++) {
+      if (group.get(i) == m) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
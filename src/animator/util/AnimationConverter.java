@@ -0,0 +1,148 @@
+package cs3500.animator.util;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Converts animation files between the text format read by {@link AnimationReader} and the binary
+ * format read by {@link BinaryAnimationReader}. Text files are loaded into a model, which checks
+ * that they are valid, before being saved as binary. Binary files are written out as text line by
+ * line as they are read: every shape first, then the motions of each shape in turn.
+ */
+public class AnimationConverter {
+
+  /**
+   * Converts an animation text file into a binary animation file.
+   *
+   * @param text   the path of the text file to read
+   * @param binary the path of the binary file to write
+   * @throws IOException              if either file cannot be read or written
+   * @throws IllegalStateException    if the text file is malformed
+   * @throws IllegalArgumentException if the animation in the text file is not valid
+   */
+  public static void textToBinary(Path text, Path binary) throws IOException {
+    IModel model;
+    try (Reader reader = Files.newBufferedReader(text, StandardCharsets.UTF_8)) {
+      // Compact shapes take the least memory while the whole animation is loaded
+      model = AnimationReader.parseFile(reader, new AnimationBuilderImpl(true));
+    }
+    BinaryAnimationWriter.writeFile(model, binary);
+  }
+
+  /**
+   * Converts a binary animation file into an animation text file.
+   *
+   * @param binary the path of the binary file to read
+   * @param text   the path of the text file to write
+   * @throws IOException           if either file cannot be read or written
+   * @throws IllegalStateException if the binary file is not a binary animation of a supported
+   *                               version, or is cut short
+   */
+  public static void binaryToText(Path binary, Path text) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(text, StandardCharsets.UTF_8)) {
+      BinaryAnimationReader.parseFile(binary, new TextWriter(writer));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Converts the animation file given first into the file given second, from text to binary if the
+   * first file is text, or from binary to text if it is binary.
+   *
+   * @param args the file to convert and the file to write
+   * @throws IOException              if either file cannot be read or written
+   * @throws IllegalArgumentException if not given exactly two files
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      throw new IllegalArgumentException("Usage: AnimationConverter <input file> <output file>");
+    }
+    Path in = Paths.get(args[0]);
+    Path out = Paths.get(args[1]);
+    if (BinaryAnimationReader.isBinaryFile(in)) {
+      binaryToText(in, out);
+    } else {
+      textToBinary(in, out);
+    }
+  }
+
+  /**
+   * A builder that writes every line it is given to a writer in the text format, instead of
+   * building an animation.
+   */
+  private static class TextWriter implements AnimationBuilder<Void> {
+
+    private final Writer writer;
+    private final StringBuilder line;
+
+    private TextWriter(Writer writer) {
+      this.writer = writer;
+      this.line = new StringBuilder();
+    }
+
+    @Override
+    public Void build() {
+      return null;
+    }
+
+    @Override
+    public AnimationBuilder<Void> setBounds(int x, int y, int width, int height) {
+      this.line.setLength(0);
+      this.line.append("canvas ").append(x).append(' ').append(y).append(' ').append(width)
+          .append(' ').append(height).append('\n');
+      this.writeLine();
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Void> declareShape(String name, String type) {
+      this.line.setLength(0);
+      this.line.append("shape ").append(name).append(' ').append(type).append('\n');
+      this.writeLine();
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Void> addMotion(String name,
+        int t1, int x1, int y1, int w1, int h1, int r1, int g1, int b1,
+        int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2) {
+      this.line.setLength(0);
+      this.line.append("motion ").append(name);
+      for (int value : new int[]{t1, x1, y1, w1, h1, r1, g1, b1,
+          t2, x2, y2, w2, h2, r2, g2, b2}) {
+        this.line.append(' ').append(value);
+      }
+      this.line.append('\n');
+      this.writeLine();
+      return this;
+    }
+
+    /**
+     * Animation files have no keyframe lines, so keyframes cannot be written.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public AnimationBuilder<Void> addKeyframe(String name,
+        int t, int x, int y, int w, int h, int r, int g, int b) {
+      throw new UnsupportedOperationException("Animation files have no keyframe lines");
+    }
+
+    private void writeLine() {
+      try {
+        this.writer.append(this.line);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package cs3500.animator.util;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Motion;
+import cs3500.animator.model.Oval;
+import cs3500.animator.model.Rectangle;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.model.SingleKeyframeMotion;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * Follows an animation text file that is still being written, such as by a simulation that appends
+ * lines to it while it runs. The lines already in the file are loaded into an animation when the
+ * follower is created, and every poll reads only the bytes appended since the last one, adding the
+ * shapes and motions they declare to that same animation. A line is only read once the newline
+ * ending it has been written, so a line that is still being written is left for a later poll.
+ *
+ * <p>Appended motions are checked against the motions next to them as they are added, so an
+ * invalid motion is left out without the rest of the animation being checked again. Canvas lines
+ * after the first poll are ignored, as the canvas of an animation cannot change once it is
+ * shown.</p>
+ */
+public final class AnimationFollower {
+
+  private static final long WINDOW_SIZE = 1L << 30;
+  private static final int SCAN_SIZE = 8192;
+
+  private final Path path;
+  private final boolean compact;
+  private final ShapeAnimation model;
+  // the position in the file after the last line read
+  private long position;
+  // the latest ending tick of any motion read
+  private int lastTick;
+
+  /**
+   * Constructs a follower of the animation file at the given path, and loads every complete line
+   * already in it.
+   *
+   * @param path    the path of the animation text file
+   * @param compact true if shapes should keep their keyframes in arrays of ints
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalStateException    if the lines already in the file are malformed
+   * @throws IllegalArgumentException if the animation already in the file is not valid
+   */
+  public AnimationFollower(Path path, boolean compact) throws IOException {
+    this.path = Objects.requireNonNull(path, "Must have non-null file path");
+    this.compact = compact;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long end = lastLineEnd(channel, 0, channel.size());
+      this.model = AnimationReader.parse(new MappedFileTokenizer(channel, 0, end, WINDOW_SIZE),
+          new AnimationBuilderImpl(compact));
+      this.position = end;
+    }
+    this.lastTick = this.model.getLastTick();
+  }
+
+  /**
+   * Gets the animation the lines of the file are added to.
+   *
+   * @return the animation being followed
+   */
+  public ShapeAnimation getModel() {
+    return this.model;
+  }
+
+  /**
+   * Gets the position in the file after the last line read, which only moves forward as polls
+   * read more of the file.
+   *
+   * @return the number of bytes of the file read so far
+   */
+  public long getPosition() {
+    return this.position;
+  }
+
+  /**
+   * Gets the latest tick at which a motion read so far ends.
+   *
+   * @return the last tick of the animation read so far
+   */
+  public int getLastTick() {
+    return this.lastTick;
+  }
+
+  /**
+   * Reads the complete lines appended to the file since it was last read, and adds the shapes and
+   * motions they declare to the animation. Each line is read on its own, so a malformed line or an
+   * invalid motion is left out without stopping the lines after it from being added, and lines
+   * read are never read again.
+   *
+   * @return the number of motions added to the animation
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalStateException    if the file became shorter than what was already read, or
+   *                                  appended lines are malformed, in which case they are left out,
+   *                                  after every other appended line has been added
+   * @throws IllegalArgumentException if appended motions are not valid, in which case they are left
+   *                                  out, after every other appended line has been added
+   */
+  public int poll() throws IOException {
+    LiveBuilder builder = new LiveBuilder();
+    int malformed = 0;
+    IllegalStateException firstMalformed = null;
+    try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < this.position) {
+        throw new IllegalStateException("Animation file became shorter while being followed");
+      }
+      long end = lastLineEnd(channel, this.position, size);
+      if (end == this.position) {
+        return 0;
+      }
+      MappedFileTokenizer tokens = new MappedFileTokenizer(channel, this.position, end,
+          WINDOW_SIZE);
+      this.position = end;
+      while (tokens.hasNext()) {
+        long lineStart = tokens.position();
+        try {
+          AnimationReader.parseLine(tokens, builder);
+        } catch (IllegalStateException e) {
+          // Only the malformed line is left out, and reading carries on from the line after it
+          if (malformed == 0) {
+            firstMalformed = e;
+          }
+          malformed++;
+          tokens.skipLine(lineStart);
+        }
+      }
+    }
+    if (malformed > 0) {
+      throw new IllegalStateException(malformed + " appended lines could not be read: "
+          + firstMalformed.getMessage() + (builder.rejected > 0
+          ? " (and " + builder.rejected + " appended motions were left out)" : ""));
+    }
+    if (builder.rejected > 0) {
+      throw new IllegalArgumentException(builder.rejected + " appended motions were left out: "
+          + builder.firstRejection.getMessage());
+    }
+    return builder.added;
+  }
+
+  /**
+   * Finds the end of the last complete line in the given range of a file, by scanning backwards
+   * from its end for a newline.
+   *
+   * @param channel an open channel to the file
+   * @param start   the position in the file of the first byte of the range
+   * @param end     the position in the file after the last byte of the range
+   * @return the position after the last newline in the range, or the start of the range if there
+   *         is none
+   * @throws IOException if the file cannot be read
+   */
+  private static long lastLineEnd(FileChannel channel, long start, long end) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+    long blockEnd = end;
+    while (blockEnd > start) {
+      long blockStart = Math.max(start, blockEnd - SCAN_SIZE);
+      buffer.clear();
+      buffer.limit((int) (blockEnd - blockStart));
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, blockStart + buffer.position()) < 0) {
+          throw new IllegalStateException("Animation file became shorter while being followed");
+        }
+      }
+      for (int i = buffer.limit() - 1; i >= 0; i--) {
+        if (buffer.get(i) == '\n') {
+          return blockStart + i + 1;
+        }
+      }
+      blockEnd = blockStart;
+    }
+    return start;
+  }
+
+  /**
+   * A builder that adds every shape and motion it is given to the animation being followed,
+   * instead of building a new animation.
+   */
+  private class LiveBuilder implements AnimationBuilder<Void> {
+
+    private int added;
+    private int rejected;
+    private IllegalArgumentException firstRejection;
+
+    @Override
+    public Void build() {
+      return null;
+    }
+
+    @Override
+    public AnimationBuilder<Void> setBounds(int x, int y, int width, int height) {
+      // The canvas of the animation being followed stays as it was first read
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Void> declareShape(String name, String type) {
+      IModel model = AnimationFollower.this.model;
+      boolean compact = AnimationFollower.this.compact;
+      switch (type) {
+        case "rectangle":
+          model.addShape(new Rectangle(name, new ArrayList<>(), compact));
+          break;
+        case "ellipse":
+          model.addShape(new Oval(name, new ArrayList<>(), compact));
+          break;
+        default:
+          throw new IllegalStateException("Unknown shape type: " + type);
+      }
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Void> addMotion(String name,
+        int t1, int x1, int y1, int w1, int h1, int r1, int g1, int b1,
+        int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2) {
+      Shape s;
+      try {
+        s = AnimationFollower.this.model.getShapeWithName(name);
+      } catch (IllegalArgumentException e) {
+        // Motions of shapes that were never declared are ignored, as when loading a whole file
+        return this;
+      }
+      IMotion m;
+      if (t1 == t2 && x1 == x2 && y1 == y2 && w1 == w2 && h1 == h2
+          && r1 == r2 && g1 == g2 && b1 == b2) {
+        m = new SingleKeyframeMotion(new Keyframe(t1, x1, y1, r1, g1, b1, h1, w1));
+      } else {
+        m = new Motion(new Keyframe(t1, x1, y1, r1, g1, b1, h1, w1),
+            new Keyframe(t2, x2, y2, r2, g2, b2, h2, w2));
+      }
+      try {
+        AnimationFollower.this.model.addMotion(m, s);
+      } catch (IllegalArgumentException e) {
+        if (this.rejected == 0) {
+          this.firstRejection = e;
+        }
+        this.rejected++;
+        return this;
+      }
+      this.added++;
+      AnimationFollower.this.lastTick = Math.max(AnimationFollower.this.lastTick, t2);
+      return this;
+    }
+
+    /**
+     * Animation files have no keyframe lines, so keyframes are never given.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public AnimationBuilder<Void> addKeyframe(String name,
+        int t, int x, int y, int w, int h, int r, int g, int b) {
+      throw new UnsupportedOperationException("Animation files have no keyframe lines");
+    }
+  }
+}
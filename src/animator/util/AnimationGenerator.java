@@ -0,0 +1,348 @@
+package cs3500.animator.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Generates animation files of any size in the format read by {@link AnimationReader}, for testing
+ * how the animator copes with large animations. Every shape gets the same number of motions of the
+ * same length, with random positions, sizes and colors drawn from a seed, so the same settings
+ * always generate the same file. Lines are written as they are generated, so files far larger than
+ * memory can be generated.
+ *
+ * <p>The motions of a shape always start in the state the motion before them ended in, and motions
+ * that happen at the same time never change the same field, so every generated animation is
+ * accepted by {@link cs3500.animator.model.ShapeAnimation}. How the motions of a shape follow each
+ * other is chosen with an {@link Overlap}, and the shapes can start one after another instead of
+ * all at once.</p>
+ */
+public class AnimationGenerator {
+
+  /**
+   * How the motions of a shape follow each other in time.
+   */
+  public enum Overlap {
+    /**
+     * Each motion starts on the tick the one before it ends.
+     */
+    SEQUENTIAL,
+    /**
+     * Each motion starts as many ticks after the one before it ends as a motion lasts, so the
+     * shape is not drawn in between.
+     */
+    GAPS,
+    /**
+     * Each motion starts halfway through the one before it, rounded up. Motions alternately move
+     * and resize the shape and change its color, so motions at the same tick change different
+     * fields.
+     */
+    OVERLAPPING
+  }
+
+  private static final int MAX_SIZE = 100;
+
+  private final int shapeCount;
+  private final int motionsPerShape;
+  private int ticksPerMotion;
+  private Overlap overlap;
+  private int shapeStagger;
+  private long seed;
+  private int canvasWidth;
+  private int canvasHeight;
+
+  /**
+   * Constructs a generator of animations with the given number of shapes, each with the given
+   * number of motions. Motions last 10 ticks and follow each other sequentially, every shape starts
+   * at tick 0, and the canvas is 800 by 600.
+   *
+   * @param shapeCount      the number of shapes to generate
+   * @param motionsPerShape the number of motions to generate for each shape
+   * @throws IllegalArgumentException if either number is negative
+   */
+  public AnimationGenerator(int shapeCount, int motionsPerShape) {
+    if (shapeCount < 0 || motionsPerShape < 0) {
+      throw new IllegalArgumentException("Shape and motion counts cannot be negative");
+    }
+    this.shapeCount = shapeCount;
+    this.motionsPerShape = motionsPerShape;
+    this.ticksPerMotion = 10;
+    this.overlap = Overlap.SEQUENTIAL;
+    this.shapeStagger = 0;
+    this.seed = 0;
+    this.canvasWidth = 800;
+    this.canvasHeight = 600;
+  }
+
+  /**
+   * Sets how many ticks each motion lasts, which sets how densely keyframes are spaced.
+   *
+   * @param ticksPerMotion the number of ticks each motion lasts
+   * @return this generator
+   * @throws IllegalArgumentException if the number of ticks is not positive
+   */
+  public AnimationGenerator setTicksPerMotion(int ticksPerMotion) {
+    if (ticksPerMotion < 1) {
+      throw new IllegalArgumentException("Motions must last at least one tick");
+    }
+    this.ticksPerMotion = ticksPerMotion;
+    return this;
+  }
+
+  /**
+   * Sets how the motions of a shape follow each other in time.
+   *
+   * @param overlap how motions follow each other
+   * @return this generator
+   * @throws IllegalArgumentException if the overlap is null
+   */
+  public AnimationGenerator setOverlap(Overlap overlap) {
+    if (overlap == null) {
+      throw new IllegalArgumentException("Overlap cannot be null");
+    }
+    this.overlap = overlap;
+    return this;
+  }
+
+  /**
+   * Sets how many ticks after the shape before it each shape starts moving. With 0 every shape
+   * starts at tick 0, and all of them are on screen at once.
+   *
+   * @param shapeStagger the number of ticks between the starts of consecutive shapes
+   * @return this generator
+   * @throws IllegalArgumentException if the number of ticks is negative
+   */
+  public AnimationGenerator setShapeStagger(int shapeStagger) {
+    if (shapeStagger < 0) {
+      throw new IllegalArgumentException("Shape stagger cannot be negative");
+    }
+    this.shapeStagger = shapeStagger;
+    return this;
+  }
+
+  /**
+   * Sets the seed of the random positions, sizes and colors of shapes.
+   *
+   * @param seed the seed to generate from
+   * @return this generator
+   */
+  public AnimationGenerator setSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  /**
+   * Sets the size of the canvas, which shapes are placed within.
+   *
+   * @param width  the width of the canvas
+   * @param height the height of the canvas
+   * @return this generator
+   * @throws IllegalArgumentException if the width or height is not positive
+   */
+  public AnimationGenerator setCanvasSize(int width, int height) {
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("Canvas width and height must be positive");
+    }
+    this.canvasWidth = width;
+    this.canvasHeight = height;
+    return this;
+  }
+
+  /**
+   * Writes the animation to the file at the given path, replacing the file if it exists.
+   *
+   * @param path the path of the file to write
+   * @throws IOException              if the file cannot be written
+   * @throws IllegalArgumentException if the animation would last more ticks than fit in an int, or
+   *                                  overlapping motions last less than two ticks
+   */
+  public void generate(Path path) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      this.generate(writer);
+    }
+  }
+
+  /**
+   * Writes the animation to the given appendable, one line at a time: the canvas, then each shape
+   * followed by its motions.
+   *
+   * @param a the appendable to write to
+   * @throws IOException              if the appendable cannot be written to
+   * @throws IllegalArgumentException if the animation would last more ticks than fit in an int, or
+   *                                  overlapping motions last less than two ticks
+   */
+  public void generate(Appendable a) throws IOException {
+    // Overlapping motions start halfway through the one before them, on a different tick
+    if (this.overlap == Overlap.OVERLAPPING && this.motionsPerShape > 1
+        && this.ticksPerMotion < 2) {
+      throw new IllegalArgumentException("Overlapping motions must last at least two ticks");
+    }
+    long lastTick = (long) this.shapeStagger * Math.max(0, this.shapeCount - 1)
+        + (long) this.motionStep() * Math.max(0, this.motionsPerShape - 1) + this.ticksPerMotion;
+    if (lastTick > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Animation would last too many ticks");
+    }
+
+    StringBuilder line = new StringBuilder();
+    line.append("canvas 0 0 ").append(this.canvasWidth).append(' ').append(this.canvasHeight)
+        .append('\n');
+    a.append(line);
+
+    SplittableRandom random = new SplittableRandom(this.seed);
+    // x, y, width, height, red, green and blue of the shape at the end of its last motion
+    int[] state = new int[7];
+    int[] next = new int[7];
+    for (int shape = 0; shape < this.shapeCount; shape++) {
+      String name = "s" + shape;
+      line.setLength(0);
+      line.append("shape ").append(name).append(shape % 2 == 0 ? " rectangle" : " ellipse")
+          .append('\n');
+      a.append(line);
+
+      this.randomizePosition(random, state);
+      this.randomizeColor(random, state);
+      int start = shape * this.shapeStagger;
+      for (int motion = 0; motion < this.motionsPerShape; motion++) {
+        System.arraycopy(state, 0, next, 0, state.length);
+        if (this.overlap != Overlap.OVERLAPPING || motion % 2 == 0) {
+          this.randomizePosition(random, next);
+        }
+        if (this.overlap != Overlap.OVERLAPPING || motion % 2 == 1) {
+          this.randomizeColor(random, next);
+        }
+        line.setLength(0);
+        line.append("motion ").append(name);
+        appendKeyframe(line, start, state);
+        appendKeyframe(line, start + this.ticksPerMotion, next);
+        line.append('\n');
+        a.append(line);
+
+        int[] swap = state;
+        state = next;
+        next = swap;
+        start += this.motionStep();
+      }
+    }
+  }
+
+  /**
+   * Gets the number of ticks between the starts of consecutive motions of a shape.
+   */
+  private int motionStep() {
+    switch (this.overlap) {
+      case GAPS:
+        return 2 * this.ticksPerMotion;
+      case OVERLAPPING:
+        // Rounded up, so a motion never overlaps the one two after it, which changes its fields
+        return (this.ticksPerMotion + 1) / 2;
+      default:
+        return this.ticksPerMotion;
+    }
+  }
+
+  /**
+   * Moves and resizes a shape to a random place on the canvas.
+   */
+  private void randomizePosition(SplittableRandom random, int[] state) {
+    state[0] = random.nextInt(this.canvasWidth);
+    state[1] = random.nextInt(this.canvasHeight);
+    state[2] = 1 + random.nextInt(MAX_SIZE);
+    state[3] = 1 + random.nextInt(MAX_SIZE);
+  }
+
+  /**
+   * Gives a shape a random color.
+   */
+  private void randomizeColor(SplittableRandom random, int[] state) {
+    state[4] = random.nextInt(256);
+    state[5] = random.nextInt(256);
+    state[6] = random.nextInt(256);
+  }
+
+  /**
+   * Appends a tick and the state of a shape at it, in the order of a line of an animation file.
+   */
+  private static void appendKeyframe(StringBuilder line, int tick, int[] state) {
+    line.append(' ').append(tick);
+    for (int value : state) {
+      line.append(' ').append(value);
+    }
+  }
+
+  /**
+   * Generates an animation file from the command line. Takes the options "-out" followed by the
+   * file to write, which is required, "-shapes" and "-motions" followed by the number of shapes and
+   * of motions per shape, "-ticks" followed by the number of ticks each motion lasts, "-overlap"
+   * followed by "sequential", "gaps" or "overlapping", "-stagger" followed by the number of ticks
+   * between the starts of consecutive shapes, "-seed" followed by the random seed, and "-canvas"
+   * followed by the width and height of the canvas.
+   *
+   * @param args the command line options
+   * @throws IOException              if the file cannot be written
+   * @throws IllegalArgumentException if an option is missing its value or is not recognized, or
+   *                                  no output file is given
+   */
+  public static void main(String[] args) throws IOException {
+    String out = null;
+    int shapes = 1000;
+    int motions = 100;
+    int ticks = 10;
+    Overlap overlap = Overlap.SEQUENTIAL;
+    int stagger = 0;
+    long seed = 0;
+    int width = 800;
+    int height = 600;
+    int i = 0;
+    while (i < args.length) {
+      String option = args[i];
+      if (i + 1 >= args.length) {
+        throw new IllegalArgumentException("Missing value for " + option);
+      }
+      switch (option) {
+        case "-out":
+          out = args[i + 1];
+          break;
+        case "-shapes":
+          shapes = Integer.parseInt(args[i + 1]);
+          break;
+        case "-motions":
+          motions = Integer.parseInt(args[i + 1]);
+          break;
+        case "-ticks":
+          ticks = Integer.parseInt(args[i + 1]);
+          break;
+        case "-overlap":
+          overlap = Overlap.valueOf(args[i + 1].toUpperCase());
+          break;
+        case "-stagger":
+          stagger = Integer.parseInt(args[i + 1]);
+          break;
+        case "-seed":
+          seed = Long.parseLong(args[i + 1]);
+          break;
+        case "-canvas":
+          if (i + 2 >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+          }
+          width = Integer.parseInt(args[i + 1]);
+          height = Integer.parseInt(args[i + 2]);
+          i++;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option " + option);
+      }
+      i = i + 2;
+    }
+    if (out == null) {
+      throw new IllegalArgumentException("An output file is required");
+    }
+
+    new AnimationGenerator(shapes, motions).setTicksPerMotion(ticks).setOverlap(overlap)
+        .setShapeStagger(stagger).setSeed(seed).setCanvasSize(width, height)
+        .generate(Paths.get(out));
+  }
+}
@@ -1,14 +1,28 @@
 package cs3500.animator.util;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
-import java.util.Scanner;
-import java.util.regex.Pattern;
 
 /**
  * A helper to read animation data and construct an animation from it.
  */
 public class AnimationReader {
 
+  private static final String[] CANVAS_FIELDS = {"left", "top", "width", "height"};
+  private static final String[] MOTION_FIELDS = {
+      "initial time",
+      "initial x-coordinate", "initial y-coordinate",
+      "initial width", "initial height",
+      "initial red value", "initial green value", "initial blue value",
+      "final time",
+      "final x-coordinate", "final y-coordinate",
+      "final width", "final height",
+      "final red value", "final green value", "final blue value",
+  };
+
   /**
    * A factory for producing new animations, given a source of shapes and a builder for constructing
    * animations.
@@ -36,38 +50,79 @@ public class AnimationReader {
   public static <Doc> Doc parseFile(Readable readable, AnimationBuilder<Doc> builder) {
     Objects.requireNonNull(readable, "Must have non-null readable source");
     Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
-    Scanner s = new Scanner(readable);
-    // Split at whitespace, and ignore # comment lines
-    s.useDelimiter(Pattern.compile("(\\p{Space}+|#.*)+"));
+    return parse(new ReadableTokenizer(readable), builder);
+  }
+
+  /**
+   * Produces a new animation from the file at the given path by memory-mapping it, instead of
+   * reading it through a {@link Readable}. The file is scanned as ASCII text in the same format
+   * read by {@link #parseFile}, and no copies of the file's contents are kept on the heap while
+   * loading, which keeps startup fast and peak memory low for very large animation files.
+   *
+   * @param path    the path of the animation file
+   * @param builder a builder for helping to construct a new animation
+   * @param <Doc>   the main model interface type describing animations
+   * @return the animation constructed by the builder
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public static <Doc> Doc parseMappedFile(Path path, AnimationBuilder<Doc> builder)
+      throws IOException {
+    Objects.requireNonNull(path, "Must have non-null file path");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return parse(new MappedFileTokenizer(channel), builder);
+    }
+  }
+
+  /**
+   * Reads every line of an animation from the given tokens, passing each one to the builder.
+   *
+   * @param s       the tokens of the animation
+   * @param builder a builder for helping to construct a new animation
+   * @param <Doc>   the main model interface type describing animations
+   * @return the animation constructed by the builder
+   */
+  static <Doc> Doc parse(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     while (s.hasNext()) {
-      String word = s.next();
-      switch (word) {
-        case "canvas":
-          readCanvas(s, builder);
-          break;
-        case "shape":
-          readShape(s, builder);
-          break;
-        case "motion":
-          readMotion(s, builder);
-          break;
-        default:
-          throw new IllegalStateException("Unexpected keyword: " + word + s.nextLine());
-      }
+      parseLine(s, builder);
     }
     return builder.build();
   }
 
-  private static <Doc> void readCanvas(Scanner s, AnimationBuilder<Doc> builder) {
+  /**
+   * Reads the next line of an animation from the given tokens, passing it to the builder.
+   *
+   * @param s       the tokens of the animation, with at least one token left
+   * @param builder a builder for helping to construct a new animation
+   * @param <Doc>   the main model interface type describing animations
+   * @throws IllegalStateException if the line is malformed
+   */
+  static <Doc> void parseLine(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
+    String word = s.next();
+    switch (word) {
+      case "canvas":
+        readCanvas(s, builder);
+        break;
+      case "shape":
+        readShape(s, builder);
+        break;
+      case "motion":
+        readMotion(s, builder);
+        break;
+      default:
+        throw new IllegalStateException("Unexpected keyword: " + word + s.restOfLine());
+    }
+  }
+
+  private static <Doc> void readCanvas(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     int[] vals = new int[4];
-    String[] fieldNames = {"left", "top", "width", "height"};
     for (int i = 0; i < 4; i++) {
-      vals[i] = getInt(s, "Canvas", fieldNames[i]);
+      vals[i] = getInt(s, "Canvas", CANVAS_FIELDS[i]);
     }
     builder.setBounds(vals[0], vals[1], vals[2], vals[3]);
   }
 
-  private static <Doc> void readShape(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readShape(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     String name;
     String type;
     if (s.hasNext()) {
@@ -85,17 +140,7 @@ public class AnimationReader {
     builder.declareShape(name, type);
   }
 
-  private static <Doc> void readMotion(Scanner s, AnimationBuilder<Doc> builder) {
-    String[] fieldNames = new String[]{
-        "initial time",
-        "initial x-coordinate", "initial y-coordinate",
-        "initial width", "initial height",
-        "initial red value", "initial green value", "initial blue value",
-        "final time",
-        "final x-coordinate", "final y-coordinate",
-        "final width", "final height",
-        "final red value", "final green value", "final blue value",
-    };
+  private static <Doc> void readMotion(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     int[] vals = new int[16];
     String name;
     if (s.hasNext()) {
@@ -105,24 +150,15 @@ public class AnimationReader {
           "cs3500.animator.model.Motion: Expected a shape name, but no more input available");
     }
     for (int i = 0; i < 16; i++) {
-      vals[i] = getInt(s, "cs3500.animator.model.Motion", fieldNames[i]);
+      vals[i] = getInt(s, "cs3500.animator.model.Motion", MOTION_FIELDS[i]);
     }
     builder.addMotion(name,
         vals[0], vals[1], vals[2], vals[3], vals[4], vals[5], vals[6], vals[7],
         vals[8], vals[9], vals[10], vals[11], vals[12], vals[13], vals[14], vals[15]);
   }
 
-  private static int getInt(Scanner s, String label, String fieldName) {
-    if (s.hasNextInt()) {
-      return s.nextInt();
-    } else if (s.hasNext()) {
-      throw new IllegalStateException(
-          String.format("%s: expected integer for %s, got: %s", label, fieldName, s.next()));
-    } else {
-      throw new IllegalStateException(
-          String.format("%s: expected integer for %s, but no more input available",
-              label, fieldName));
-    }
+  private static int getInt(AnimationTokenizer s, String label, String fieldName) {
+    return s.nextInt(label, fieldName);
   }
 
 }
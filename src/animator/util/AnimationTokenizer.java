@@ -0,0 +1,42 @@
+package cs3500.animator.util;
+
+/**
+ * Interface for the sources of tokens that {@link AnimationReader} reads animations from. Tokens
+ * are separated by whitespace, and a {@code #} starts a comment that runs to the end of its line.
+ */
+interface AnimationTokenizer {
+
+  /**
+   * Checks if there is another token left in the input.
+   *
+   * @return true if there is another token, false if the input is exhausted
+   */
+  boolean hasNext();
+
+  /**
+   * Reads the next token as a String.
+   *
+   * @return the next token
+   * @throws IllegalStateException if there is no token left in the input
+   */
+  String next();
+
+  /**
+   * Reads the next token as an integer.
+   *
+   * @param label     the label of the line being read, used in error messages
+   * @param fieldName the name of the field being read, used in error messages
+   * @return the integer value of the next token
+   * @throws IllegalStateException if the next token is not an integer, or there is no token left
+   *                               in the input
+   */
+  int nextInt(String label, String fieldName);
+
+  /**
+   * Reads the rest of the current line, not including the line separator. Used for reporting
+   * unexpected input.
+   *
+   * @return the rest of the current line
+   */
+  String restOfLine();
+}
@@ -0,0 +1,85 @@
+package cs3500.animator.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The constants of the binary animation format, read by {@link BinaryAnimationReader} and written
+ * by {@link BinaryAnimationWriter}. A binary animation holds the same lines as an animation text
+ * file, but grouped by shape and stored as numbers rather than text, so it loads without any
+ * tokenizing or parsing of numbers.
+ *
+ * <p>Numbers are stored as varints: seven bits at a time, least significant first, with the top
+ * bit of each byte set when more bytes follow. Signed numbers are zigzag encoded first, so that
+ * numbers close to zero take few bytes whether they are positive or negative. Strings are stored
+ * as their length in bytes followed by their UTF-8 bytes. A file consists of:</p>
+ * <ul>
+ * <li>a header: the bytes of {@link #MAGIC}, the version of the format, and the left, top, width
+ * and height of the canvas</li>
+ * <li>a shape directory: the number of shapes, followed by an entry for each shape in the order
+ * they are declared, holding its name and type, its number of motions, the starting tick of its
+ * first motion and the latest ending tick of its motions, and the number of bytes its motions
+ * take</li>
+ * <li>the motions of each shape in the order of the directory, each stored as the keyframes it
+ * starts and ends at</li>
+ * </ul>
+ * <p>Since the directory gives the size of the motions of every shape, the motions of any shape
+ * can be found without reading those of the shapes before it, and the directory alone tells which
+ * shapes can be moving at a tick. A shape with no motions has a starting tick of 0 and an ending
+ * tick of -1.</p>
+ *
+ * <p>Keyframes are stored as the differences of their eight fields (time, x, y, width, height, red,
+ * green and blue) from the keyframe before them: the keyframe a motion starts at from the keyframe
+ * the motion before it ended at, and the keyframe a motion ends at from the keyframe it started
+ * at. The first motion of a shape starts from a keyframe of all zeros. The differences are
+ * preceded by a byte with a bit set for each field that differs, and only the differences that
+ * are not zero are stored. The motions of a shape usually start where the motion before them
+ * ended, and change few fields, so most motions take only a few bytes.</p>
+ *
+ * <p>Version 1 of the format has a shape table of only the name and type of each shape, and
+ * stores the number of motions of each shape before its motions instead.</p>
+ */
+final class BinaryAnimationFormat {
+
+  /**
+   * The bytes every binary animation starts with.
+   */
+  static final byte[] MAGIC = "ANIMBIN".getBytes(StandardCharsets.US_ASCII);
+
+  /**
+   * The version of the format written, which has a shape directory.
+   */
+  static final int VERSION = 2;
+
+  /**
+   * The first version of the format, which has no shape directory and can still be read.
+   */
+  static final int VERSION_WITHOUT_DIRECTORY = 1;
+
+  /**
+   * The number of fields of a keyframe.
+   */
+  static final int FIELDS = 8;
+
+  private BinaryAnimationFormat() {
+  }
+
+  /**
+   * Zigzag encodes a number, so that numbers close to zero have few significant bits.
+   *
+   * @param value the number to encode
+   * @return the encoded number
+   */
+  static int zigzag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  /**
+   * Decodes a zigzag encoded number.
+   *
+   * @param value the encoded number
+   * @return the number that was encoded
+   */
+  static int unzigzag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
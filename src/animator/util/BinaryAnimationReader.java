@@ -0,0 +1,392 @@
+package cs3500.animator.util;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Motion;
+import cs3500.animator.model.ShapeAnimation;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.model.SingleKeyframeMotion;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A helper to read animations saved in the binary format written by {@link BinaryAnimationWriter}.
+ * See {@link BinaryAnimationFormat} for the layout of the format. The builder is given the canvas,
+ * then every shape in the order they were declared, then the motions of each shape in turn, with
+ * the same values as the lines of the animation file the binary animation was saved from.
+ *
+ * <p>A binary animation file can also be opened without reading any motions, using the shape
+ * directory to find the motions of each shape in the file when they are first needed. This makes
+ * opening even a very large file quick, and only the shapes that are looked at take memory.</p>
+ */
+public class BinaryAnimationReader {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  // null when reading only the bytes already in the buffer
+  private final InputStream in;
+  private final byte[] buffer;
+  private int position;
+  private int limit;
+  // the number of bytes read from the stream before those in the buffer
+  private long bufferStart;
+
+  BinaryAnimationReader(InputStream in) {
+    this.in = in;
+    this.buffer = new byte[BUFFER_SIZE];
+    this.position = 0;
+    this.limit = 0;
+    this.bufferStart = 0;
+  }
+
+  /**
+   * Constructs a reader of only the given bytes.
+   */
+  BinaryAnimationReader(byte[] bytes) {
+    this.in = null;
+    this.buffer = bytes;
+    this.position = 0;
+    this.limit = bytes.length;
+    this.bufferStart = 0;
+  }
+
+  /**
+   * Checks if the file at the given path is a binary animation, by reading the first bytes of it.
+   *
+   * @param path the path of the file to check
+   * @return true if the file starts like a binary animation, false otherwise
+   * @throws IOException if the file cannot be read
+   */
+  public static boolean isBinaryFile(Path path) throws IOException {
+    Objects.requireNonNull(path, "Must have non-null file path");
+    try (InputStream in = Files.newInputStream(path)) {
+      byte[] magic = BinaryAnimationFormat.MAGIC;
+      for (byte b : magic) {
+        if (in.read() != (b & 0xFF)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Produces a new animation from the binary animation file at the given path.
+   *
+   * @param path    the path of the binary animation file
+   * @param builder a builder for helping to construct a new animation
+   * @param <Doc>   the main model interface type describing animations
+   * @return the animation constructed by the builder
+   * @throws IOException           if the file cannot be read
+   * @throws IllegalStateException if the file is not a binary animation of a supported version, or
+   *                               is cut short
+   */
+  public static <Doc> Doc parseFile(Path path, AnimationBuilder<Doc> builder) throws IOException {
+    Objects.requireNonNull(path, "Must have non-null file path");
+    try (InputStream in = Files.newInputStream(path)) {
+      return parseStream(in, builder);
+    }
+  }
+
+  /**
+   * Produces a new animation from a binary animation read from the given stream, without closing
+   * the stream. The stream must end where the animation ends.
+   *
+   * @param in      the stream to read the binary animation from
+   * @param builder a builder for helping to construct a new animation
+   * @param <Doc>   the main model interface type describing animations
+   * @return the animation constructed by the builder
+   * @throws IOException           if the stream cannot be read
+   * @throws IllegalStateException if the stream does not hold a binary animation of a supported
+   *                               version, or is cut short
+   */
+  public static <Doc> Doc parseStream(InputStream in, AnimationBuilder<Doc> builder)
+      throws IOException {
+    Objects.requireNonNull(in, "Must have non-null input stream");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    return new BinaryAnimationReader(in).read(builder);
+  }
+
+  /**
+   * Opens the binary animation file at the given path as an animation whose motions are only read
+   * when they are first needed. Only the header and the shape directory are read here, and the rest
+   * of the file is memory-mapped. The motions of a shape are read from the mapping and checked the
+   * first time any of them is needed, and are then kept compactly, as in a shape created by {@link
+   * AnimationBuilderImpl#AnimationBuilderImpl(boolean)}. Finding the motions occurring at a tick
+   * outside the range of ticks of a shape does not read its motions. Files of the first version of
+   * the format have no shape directory, so they are read whole.
+   *
+   * @param path the path of the binary animation file
+   * @return the animation in the file
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalStateException    if the file is not a binary animation of a supported version,
+   *                                  or is cut short, or a shape in it has an unknown type
+   * @throws IllegalArgumentException if the canvas is not valid. if the motions of a shape are not
+   *                                  valid, when they are first needed
+   */
+  public static IModel openFile(Path path) throws IOException {
+    Objects.requireNonNull(path, "Must have non-null file path");
+    MappedAnimationFile file = MappedAnimationFile.map(path);
+    if (file == null) {
+      return parseFile(path, new AnimationBuilderImpl(true));
+    }
+    IModel model = new ShapeAnimation(new ArrayList<>(), file.getCanvasX(), file.getCanvasY(),
+        file.getCanvasWidth(), file.getCanvasHeight());
+    for (int i = 0; i < file.getShapeCount(); i++) {
+      int shape = i;
+      model.addShape(file.createShape(shape, () -> file.readMotions(shape)));
+    }
+    return model;
+  }
+
+  /**
+   * Opens the binary animation file at the given path as an animation that only keeps the motions
+   * near the tick being played in memory, loading {@link WindowedAnimation#DEFAULT_WINDOW_TICKS}
+   * ticks ahead.
+   *
+   * @param path the path of the binary animation file
+   * @return the animation in the file
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalStateException    if the file is not a binary animation with a shape directory,
+   *                                  or is cut short, or a shape in it has an unknown type
+   * @throws IllegalArgumentException if the canvas is not valid
+   */
+  public static WindowedAnimation openWindowed(Path path) throws IOException {
+    return openWindowed(path, WindowedAnimation.DEFAULT_WINDOW_TICKS);
+  }
+
+  /**
+   * Opens the binary animation file at the given path as an animation that only keeps the motions
+   * near the tick being played in memory. Every motion is read once to index them by tick, but
+   * only the index is kept. See {@link WindowedAnimation} for how motions are loaded.
+   *
+   * @param path        the path of the binary animation file
+   * @param windowTicks the number of ticks ahead of the tick being played to load
+   * @return the animation in the file
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalStateException    if the file is not a binary animation with a shape directory,
+   *                                  or is cut short, or a shape in it has an unknown type
+   * @throws IllegalArgumentException if the canvas is not valid, or the window is not positive
+   */
+  public static WindowedAnimation openWindowed(Path path, int windowTicks) throws IOException {
+    Objects.requireNonNull(path, "Must have non-null file path");
+    MappedAnimationFile file = MappedAnimationFile.map(path);
+    if (file == null) {
+      throw new IllegalStateException("Binary animation version "
+          + BinaryAnimationFormat.VERSION_WITHOUT_DIRECTORY + " has no shape directory");
+    }
+    return new WindowedAnimation(file, windowTicks);
+  }
+
+  /**
+   * Reads the header, the shape directory and the motions of every shape, passing each to the
+   * builder.
+   */
+  private <Doc> Doc read(AnimationBuilder<Doc> builder) throws IOException {
+    int version = this.readVersion();
+    builder.setBounds(this.readSigned(), this.readSigned(), this.readSigned(), this.readSigned());
+
+    int shapeCount = this.readCount();
+    String[] names = new String[shapeCount];
+    int[] motionCounts = new int[shapeCount];
+    for (int i = 0; i < shapeCount; i++) {
+      names[i] = this.readString();
+      builder.declareShape(names[i], this.readString());
+      if (version != BinaryAnimationFormat.VERSION_WITHOUT_DIRECTORY) {
+        motionCounts[i] = this.readCount();
+        // The range of ticks and the size of the motions are only needed to read shapes lazily
+        this.readSigned();
+        this.readSigned();
+        this.readCount();
+      }
+    }
+
+    int[] start = new int[BinaryAnimationFormat.FIELDS];
+    int[] end = new int[BinaryAnimationFormat.FIELDS];
+    for (int i = 0; i < shapeCount; i++) {
+      int motionCount = version == BinaryAnimationFormat.VERSION_WITHOUT_DIRECTORY
+          ? this.readCount() : motionCounts[i];
+      // The first motion of a shape is stored as differences from all zeros, and every other
+      // motion starts from the keyframe the motion before it ended at
+      Arrays.fill(end, 0);
+      for (int j = 0; j < motionCount; j++) {
+        this.readKeyframe(end, start);
+        this.readKeyframe(start, end);
+        builder.addMotion(names[i],
+            start[0], start[1], start[2], start[3], start[4], start[5], start[6], start[7],
+            end[0], end[1], end[2], end[3], end[4], end[5], end[6], end[7]);
+      }
+    }
+
+    if (this.fill()) {
+      throw new IllegalStateException("Unexpected data after the end of the animation");
+    }
+    return builder.build();
+  }
+
+  /**
+   * Reads the magic bytes and the version of the format.
+   *
+   * @return the version of the format
+   * @throws IllegalStateException if the magic bytes are wrong or the version is not supported
+   */
+  int readVersion() throws IOException {
+    for (byte b : BinaryAnimationFormat.MAGIC) {
+      if (this.readByte() != (b & 0xFF)) {
+        throw new IllegalStateException("Not a binary animation");
+      }
+    }
+    int version = this.readVarint();
+    if (version != BinaryAnimationFormat.VERSION
+        && version != BinaryAnimationFormat.VERSION_WITHOUT_DIRECTORY) {
+      throw new IllegalStateException("Unsupported binary animation version: " + version);
+    }
+    return version;
+  }
+
+  /**
+   * Reads the given number of motions of a shape from a reader of only the bytes already given to
+   * it, adding each to the given list.
+   *
+   * @param motionCount the number of motions to read
+   * @param previous    the keyframe the motion before the first one read ended at, which is
+   *                    updated to the keyframe the last one read ends at
+   * @param motions     the list to add the motions to
+   * @throws IllegalStateException if the bytes end before the motions do
+   */
+  void readMotions(int motionCount, int[] previous, List<IMotion> motions) {
+    int[] start = new int[BinaryAnimationFormat.FIELDS];
+    try {
+      for (int i = 0; i < motionCount; i++) {
+        this.readKeyframe(previous, start);
+        this.readKeyframe(start, previous);
+        // Motions with the same keyframe at each end are built like the builder of the model does
+        motions.add(Arrays.equals(start, previous)
+            ? new SingleKeyframeMotion(keyframe(start))
+            : new Motion(keyframe(start), keyframe(previous)));
+      }
+    } catch (IOException e) {
+      // Only bytes already read are read from, so no stream can fail
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Creates a keyframe from its fields, in the order they are stored.
+   */
+  private static Keyframe keyframe(int[] fields) {
+    return new Keyframe(fields[0], fields[1], fields[2], fields[5], fields[6], fields[7],
+        fields[4], fields[3]);
+  }
+
+  /**
+   * Gets the number of bytes read so far.
+   *
+   * @return the position of the next byte to read
+   */
+  long position() {
+    return this.bufferStart + this.position;
+  }
+
+  /**
+   * Checks if a reader of only the bytes already given to it has any left to read.
+   *
+   * @return true if there are bytes left to read, false otherwise
+   */
+  boolean hasMore() {
+    return this.position < this.limit;
+  }
+
+  /**
+   * Reads a keyframe stored as differences from the keyframe before it.
+   *
+   * @param before   the keyframe before it
+   * @param keyframe the array to read the keyframe into
+   */
+  private void readKeyframe(int[] before, int[] keyframe) throws IOException {
+    int mask = this.readByte();
+    for (int i = 0; i < BinaryAnimationFormat.FIELDS; i++) {
+      keyframe[i] = (mask & (1 << i)) == 0
+          ? before[i] : before[i] + BinaryAnimationFormat.unzigzag(this.readVarint());
+    }
+  }
+
+  String readString() throws IOException {
+    byte[] bytes = new byte[this.readCount()];
+    int read = 0;
+    while (read < bytes.length) {
+      if (!this.fill()) {
+        throw new IllegalStateException("Binary animation ends in the middle of a name");
+      }
+      int count = Math.min(bytes.length - read, this.limit - this.position);
+      System.arraycopy(this.buffer, this.position, bytes, read, count);
+      this.position += count;
+      read += count;
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads a varint that counts something, which cannot be negative.
+   */
+  int readCount() throws IOException {
+    int count = this.readVarint();
+    if (count < 0) {
+      throw new IllegalStateException("Invalid count in binary animation: " + count);
+    }
+    return count;
+  }
+
+  int readSigned() throws IOException {
+    return BinaryAnimationFormat.unzigzag(this.readVarint());
+  }
+
+  private int readVarint() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = this.readByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Invalid number in binary animation");
+  }
+
+  private int readByte() throws IOException {
+    if (!this.fill()) {
+      throw new IllegalStateException("Binary animation ends unexpectedly");
+    }
+    return this.buffer[this.position++] & 0xFF;
+  }
+
+  /**
+   * Reads more of the stream into the buffer if every byte in it has been read.
+   *
+   * @return true if there are bytes left to read, false if the stream has ended
+   */
+  private boolean fill() throws IOException {
+    while (this.position == this.limit) {
+      if (this.in == null) {
+        return false;
+      }
+      int read = this.in.read(this.buffer, 0, this.buffer.length);
+      if (read < 0) {
+        return false;
+      }
+      this.bufferStart += this.limit;
+      this.position = 0;
+      this.limit = read;
+    }
+    return true;
+  }
+}
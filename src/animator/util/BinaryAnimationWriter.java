@@ -0,0 +1,253 @@
+package cs3500.animator.util;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Shape;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A helper to save an animation in the binary format read by {@link BinaryAnimationReader}. See
+ * {@link BinaryAnimationFormat} for the layout of the format.
+ */
+public class BinaryAnimationWriter {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  // the most bytes a varint of an int takes
+  private static final int MAX_VARINT_SIZE = 5;
+
+  private final OutputStream out;
+  private final byte[] buffer;
+  private int position;
+
+  private BinaryAnimationWriter(OutputStream out) {
+    this.out = out;
+    this.buffer = new byte[BUFFER_SIZE];
+    this.position = 0;
+  }
+
+  /**
+   * Saves the given animation to the file at the given path, replacing the file if it exists.
+   *
+   * @param model the animation to save
+   * @param path  the path of the file to write
+   * @throws IOException              if the file cannot be written
+   * @throws IllegalArgumentException if the animation has a kind of shape that cannot be saved, or
+   *                                  a shape with too many motions to save
+   */
+  public static void writeFile(IModel model, Path path) throws IOException {
+    Objects.requireNonNull(path, "Must have non-null file path");
+    try (OutputStream out = Files.newOutputStream(path)) {
+      write(model, out);
+    }
+  }
+
+  /**
+   * Writes the given animation to the given stream, without closing the stream.
+   *
+   * @param model the animation to write
+   * @param out   the stream to write to
+   * @throws IOException              if the stream cannot be written to
+   * @throws IllegalArgumentException if the animation has a kind of shape that cannot be saved, or
+   *                                  a shape with too many motions to save
+   */
+  public static void write(IModel model, OutputStream out) throws IOException {
+    Objects.requireNonNull(model, "Must provide a non-null model");
+    Objects.requireNonNull(out, "Must have non-null output stream");
+    new BinaryAnimationWriter(out).writeModel(model);
+  }
+
+  /**
+   * Writes the header, the shape directory and the motions of every shape, then flushes the
+   * buffer. The motions of each shape are read twice, once to size them for the directory and once
+   * to write them, so that no more than the motions of one shape are held at a time.
+   */
+  private void writeModel(IModel model) throws IOException {
+    List<Shape> shapes = model.getShapes();
+
+    this.ensureSpace(BinaryAnimationFormat.MAGIC.length);
+    System.arraycopy(BinaryAnimationFormat.MAGIC, 0, this.buffer, this.position,
+        BinaryAnimationFormat.MAGIC.length);
+    this.position += BinaryAnimationFormat.MAGIC.length;
+    this.writeVarint(BinaryAnimationFormat.VERSION);
+    this.writeSigned(model.getCanvasX());
+    this.writeSigned(model.getCanvasY());
+    this.writeSigned(model.getCanvasWidth());
+    this.writeSigned(model.getCanvasHeight());
+
+    int[] previous = new int[BinaryAnimationFormat.FIELDS];
+    int[] start = new int[BinaryAnimationFormat.FIELDS];
+    int[] end = new int[BinaryAnimationFormat.FIELDS];
+    this.writeVarint(shapes.size());
+    for (Shape s : shapes) {
+      List<IMotion> motions = s.getMotions();
+      this.writeString(s.getName());
+      this.writeString(typeOf(s));
+      this.writeVarint(motions.size());
+
+      // An empty range of ticks for a shape with no motions
+      int firstTick = 0;
+      int lastTick = -1;
+      if (!motions.isEmpty()) {
+        firstTick = motions.get(0).getStartingKeyframe().getTick();
+        lastTick = Integer.MIN_VALUE;
+      }
+      long length = 0;
+      Arrays.fill(previous, 0);
+      for (IMotion m : motions) {
+        fields(m.getStartingKeyframe(), start);
+        fields(m.getEndingKeyframe(), end);
+        lastTick = Math.max(lastTick, end[0]);
+        length += keyframeLength(previous, start) + keyframeLength(start, end);
+        System.arraycopy(end, 0, previous, 0, end.length);
+      }
+      if (length > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException(
+            "Shape " + s.getName() + " has too many motions to save");
+      }
+      this.writeSigned(firstTick);
+      this.writeSigned(lastTick);
+      this.writeVarint((int) length);
+    }
+
+    for (Shape s : shapes) {
+      // The first motion of a shape is stored as differences from all zeros
+      Arrays.fill(previous, 0);
+      for (IMotion m : s.getMotions()) {
+        fields(m.getStartingKeyframe(), start);
+        fields(m.getEndingKeyframe(), end);
+        this.writeKeyframe(previous, start);
+        this.writeKeyframe(start, end);
+        System.arraycopy(end, 0, previous, 0, end.length);
+      }
+    }
+
+    this.out.write(this.buffer, 0, this.position);
+    this.position = 0;
+    this.out.flush();
+  }
+
+  /**
+   * Gets the type a shape is declared with in an animation file.
+   */
+  private static String typeOf(Shape s) {
+    switch (s.getClass().getSimpleName()) {
+      case "Rectangle":
+        return "rectangle";
+      case "Oval":
+        return "ellipse";
+      default:
+        throw new IllegalArgumentException(
+            "Cannot save shapes of type " + s.getClass().getSimpleName());
+    }
+  }
+
+  /**
+   * Copies the fields of a keyframe into an array, in the order they are written.
+   */
+  private static void fields(Keyframe k, int[] fields) {
+    fields[0] = k.getTick();
+    fields[1] = k.getX();
+    fields[2] = k.getY();
+    fields[3] = k.getWidth();
+    fields[4] = k.getHeight();
+    fields[5] = k.getR();
+    fields[6] = k.getG();
+    fields[7] = k.getB();
+  }
+
+  /**
+   * Writes a keyframe as a byte marking the fields that differ from the keyframe before it,
+   * followed by the differences of those fields.
+   */
+  private void writeKeyframe(int[] before, int[] keyframe) throws IOException {
+    this.ensureSpace(1 + BinaryAnimationFormat.FIELDS * MAX_VARINT_SIZE);
+    int maskPosition = this.position++;
+    int mask = 0;
+    for (int i = 0; i < BinaryAnimationFormat.FIELDS; i++) {
+      // Differences wrap around like the ints they are added back to, so every int can be stored
+      int difference = keyframe[i] - before[i];
+      if (difference != 0) {
+        mask |= 1 << i;
+        this.putVarint(BinaryAnimationFormat.zigzag(difference));
+      }
+    }
+    this.buffer[maskPosition] = (byte) mask;
+  }
+
+  /**
+   * Gets the number of bytes {@link #writeKeyframe} writes for a keyframe.
+   */
+  private static int keyframeLength(int[] before, int[] keyframe) {
+    int length = 1;
+    for (int i = 0; i < BinaryAnimationFormat.FIELDS; i++) {
+      int difference = keyframe[i] - before[i];
+      if (difference != 0) {
+        length += varintLength(BinaryAnimationFormat.zigzag(difference));
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Gets the number of bytes {@link #putVarint} puts for a value.
+   */
+  private static int varintLength(int value) {
+    int length = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      length++;
+    }
+    return length;
+  }
+
+  private void writeString(String s) throws IOException {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    this.writeVarint(bytes.length);
+    int written = 0;
+    while (written < bytes.length) {
+      this.ensureSpace(1);
+      int count = Math.min(bytes.length - written, this.buffer.length - this.position);
+      System.arraycopy(bytes, written, this.buffer, this.position, count);
+      this.position += count;
+      written += count;
+    }
+  }
+
+  private void writeSigned(int value) throws IOException {
+    this.writeVarint(BinaryAnimationFormat.zigzag(value));
+  }
+
+  private void writeVarint(int value) throws IOException {
+    this.ensureSpace(MAX_VARINT_SIZE);
+    this.putVarint(value);
+  }
+
+  /**
+   * Puts a varint into the buffer, which must have room for it.
+   */
+  private void putVarint(int value) {
+    while ((value & ~0x7F) != 0) {
+      this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    this.buffer[this.position++] = (byte) value;
+  }
+
+  /**
+   * Writes out the buffer if it has less than the given number of bytes of room left.
+   */
+  private void ensureSpace(int bytes) throws IOException {
+    if (this.buffer.length - this.position < bytes) {
+      this.out.write(this.buffer, 0, this.position);
+      this.position = 0;
+    }
+  }
+}
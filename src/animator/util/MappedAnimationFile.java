@@ -0,0 +1,212 @@
+package cs3500.animator.util;
+
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Oval;
+import cs3500.animator.model.Rectangle;
+import cs3500.animator.model.Shape;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A binary animation file whose header and shape directory have been read, and whose motions are
+ * memory-mapped so that the motions of any shape can be read on their own. See {@link
+ * BinaryAnimationFormat} for the layout of the file.
+ */
+final class MappedAnimationFile {
+
+  private final int canvasX;
+  private final int canvasY;
+  private final int canvasWidth;
+  private final int canvasHeight;
+
+  private final String[] names;
+  private final String[] types;
+  private final int[] motionCounts;
+  private final int[] firstTicks;
+  private final int[] lastTicks;
+  private final int[] lengths;
+  // the mapping holding the motions of each shape, and where in it they start
+  private final ByteBuffer[] windows;
+  private final int[] offsets;
+
+  private MappedAnimationFile(int canvasX, int canvasY, int canvasWidth, int canvasHeight,
+      int shapeCount) {
+    this.canvasX = canvasX;
+    this.canvasY = canvasY;
+    this.canvasWidth = canvasWidth;
+    this.canvasHeight = canvasHeight;
+    this.names = new String[shapeCount];
+    this.types = new String[shapeCount];
+    this.motionCounts = new int[shapeCount];
+    this.firstTicks = new int[shapeCount];
+    this.lastTicks = new int[shapeCount];
+    this.lengths = new int[shapeCount];
+    this.windows = new ByteBuffer[shapeCount];
+    this.offsets = new int[shapeCount];
+  }
+
+  /**
+   * Reads the header and shape directory of the binary animation file at the given path, and maps
+   * the rest of the file.
+   *
+   * @param path the path of the binary animation file
+   * @return the mapped file, or null if the file is of the first version of the format, which has
+   *         no shape directory
+   * @throws IOException           if the file cannot be read
+   * @throws IllegalStateException if the file is not a binary animation of a supported version,
+   *                               or is cut short
+   */
+  static MappedAnimationFile map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      BinaryAnimationReader reader = new BinaryAnimationReader(Channels.newInputStream(channel));
+      if (reader.readVersion() == BinaryAnimationFormat.VERSION_WITHOUT_DIRECTORY) {
+        return null;
+      }
+      int canvasX = reader.readSigned();
+      int canvasY = reader.readSigned();
+      int canvasWidth = reader.readSigned();
+      int canvasHeight = reader.readSigned();
+      int shapeCount = reader.readCount();
+      MappedAnimationFile file = new MappedAnimationFile(canvasX, canvasY, canvasWidth,
+          canvasHeight, shapeCount);
+      for (int i = 0; i < shapeCount; i++) {
+        file.names[i] = reader.readString();
+        file.types[i] = reader.readString();
+        file.motionCounts[i] = reader.readCount();
+        file.firstTicks[i] = reader.readSigned();
+        file.lastTicks[i] = reader.readSigned();
+        file.lengths[i] = reader.readCount();
+      }
+
+      long offset = reader.position();
+      long end = offset;
+      for (int length : file.lengths) {
+        end += length;
+      }
+      if (end > channel.size()) {
+        throw new IllegalStateException("Binary animation ends unexpectedly");
+      } else if (end < channel.size()) {
+        throw new IllegalStateException("Unexpected data after the end of the animation");
+      }
+
+      // Map as many shapes at once as fit in a mapping, which stays valid once the file is closed
+      MappedByteBuffer window = null;
+      long windowStart = 0;
+      long windowEnd = 0;
+      for (int i = 0; i < shapeCount; i++) {
+        if (window == null || offset + file.lengths[i] > windowEnd) {
+          windowStart = offset;
+          windowEnd = Math.min(end, offset + Integer.MAX_VALUE);
+          window = channel.map(MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+        }
+        file.windows[i] = window;
+        file.offsets[i] = (int) (offset - windowStart);
+        offset += file.lengths[i];
+      }
+      return file;
+    }
+  }
+
+  int getCanvasX() {
+    return this.canvasX;
+  }
+
+  int getCanvasY() {
+    return this.canvasY;
+  }
+
+  int getCanvasWidth() {
+    return this.canvasWidth;
+  }
+
+  int getCanvasHeight() {
+    return this.canvasHeight;
+  }
+
+  int getShapeCount() {
+    return this.names.length;
+  }
+
+  int getMotionCount(int shape) {
+    return this.motionCounts[shape];
+  }
+
+  int getFirstTick(int shape) {
+    return this.firstTicks[shape];
+  }
+
+  int getLastTick(int shape) {
+    return this.lastTicks[shape];
+  }
+
+  int getLength(int shape) {
+    return this.lengths[shape];
+  }
+
+  /**
+   * Creates the shape at the given index of the directory, whose motions are taken from the given
+   * supplier when they are first needed.
+   *
+   * @param shape   the index of the shape in the directory
+   * @param motions the supplier of the motions of the shape
+   * @return the shape
+   * @throws IllegalStateException if the shape has an unknown type
+   */
+  Shape createShape(int shape, Supplier<List<IMotion>> motions) {
+    switch (this.types[shape]) {
+      case "rectangle":
+        return new Rectangle(this.names[shape], this.firstTicks[shape], this.lastTicks[shape],
+            motions);
+      case "ellipse":
+        return new Oval(this.names[shape], this.firstTicks[shape], this.lastTicks[shape], motions);
+      default:
+        throw new IllegalStateException(
+            "Unknown shape type in binary animation: " + this.types[shape]);
+    }
+  }
+
+  /**
+   * Creates a reader of a range of the bytes of the motions of a shape. The bytes are copied out of
+   * the mapping, through a view of their own so that shapes can be read by several threads at
+   * once.
+   *
+   * @param shape the index of the shape in the directory
+   * @param from  the position in the motions of the shape of the first byte to read
+   * @param to    the position in the motions of the shape after the last byte to read
+   * @return a reader of only those bytes
+   */
+  BinaryAnimationReader reader(int shape, int from, int to) {
+    byte[] bytes = new byte[to - from];
+    ByteBuffer view = this.windows[shape].duplicate();
+    view.position(this.offsets[shape] + from);
+    view.get(bytes);
+    return new BinaryAnimationReader(bytes);
+  }
+
+  /**
+   * Reads every motion of a shape.
+   *
+   * @param shape the index of the shape in the directory
+   * @return the motions of the shape, in the order they are stored
+   * @throws IllegalStateException if the motions of the shape are cut short or followed by more
+   *                               bytes than the directory says
+   */
+  List<IMotion> readMotions(int shape) {
+    BinaryAnimationReader reader = this.reader(shape, 0, this.lengths[shape]);
+    List<IMotion> motions = new ArrayList<>(this.motionCounts[shape]);
+    reader.readMotions(this.motionCounts[shape], new int[BinaryAnimationFormat.FIELDS], motions);
+    if (reader.hasMore()) {
+      throw new IllegalStateException("Unexpected data after the motions of a shape");
+    }
+    return motions;
+  }
+}
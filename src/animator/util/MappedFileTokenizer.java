@@ -0,0 +1,316 @@
+package cs3500.animator.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A tokenizer that reads an animation by memory-mapping its file and scanning the bytes as ASCII.
+ * Nothing is copied onto the heap except the names of shapes, which are only decoded the first
+ * time they are seen and reused after that. Integers are parsed directly from the mapped bytes.
+ *
+ * <p>The file is mapped one window at a time, so files larger than a single mapping can hold are
+ * supported. When a token runs past the end of a window, the next window is mapped starting at
+ * that token. Only ASCII whitespace is treated as a delimiter, and comments end at {@code \n} or
+ * {@code \r}.</p>
+ */
+class MappedFileTokenizer implements AnimationTokenizer {
+
+  private static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+  private static final int CACHE_SIZE = 64;
+
+  private final FileChannel channel;
+  private final long end;
+  private final long windowSize;
+
+  private MappedByteBuffer window;
+  private long windowStart;
+  private int pos;
+  private int limit;
+
+  // a small direct-mapped cache of recently read identifiers, indexed by their hash code
+  private final String[] recent;
+  private byte[] scratch;
+
+  // bounds of the token found by the last call to findToken
+  private int tokenStart;
+  private int tokenEnd;
+
+  /**
+   * Constructs a tokenizer that maps the file of the given channel.
+   *
+   * @param channel an open channel to the animation file
+   * @throws IOException if the file cannot be mapped
+   */
+  MappedFileTokenizer(FileChannel channel) throws IOException {
+    this(channel, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Constructs a tokenizer that maps the file of the given channel in windows of the given size.
+   *
+   * @param channel    an open channel to the animation file
+   * @param windowSize the largest number of bytes to map at once
+   * @throws IOException if the file cannot be mapped
+   */
+  MappedFileTokenizer(FileChannel channel, long windowSize) throws IOException {
+    this(channel, 0, channel.size(), windowSize);
+  }
+
+  /**
+   * Constructs a tokenizer that only reads the bytes of the given range of the file, mapping them
+   * in windows of the given size. The range should begin and end on line boundaries.
+   *
+   * @param channel    an open channel to the animation file
+   * @param start      the position in the file of the first byte to read
+   * @param end        the position in the file after the last byte to read
+   * @param windowSize the largest number of bytes to map at once
+   */
+  MappedFileTokenizer(FileChannel channel, long start, long end, long windowSize) {
+    this.channel = channel;
+    this.end = end;
+    this.windowSize = Math.min(windowSize, Integer.MAX_VALUE);
+    this.recent = new String[CACHE_SIZE];
+    this.scratch = new byte[64];
+    for (String keyword : new String[]{"canvas", "shape", "motion"}) {
+      this.recent[keyword.hashCode() & (CACHE_SIZE - 1)] = keyword;
+    }
+    map(start);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return skipDelimiters();
+  }
+
+  @Override
+  public String next() {
+    if (!findToken()) {
+      throw new IllegalStateException("Expected a token, but no more input available");
+    }
+    return tokenString();
+  }
+
+  @Override
+  public int nextInt(String label, String fieldName) {
+    if (!findToken()) {
+      throw new IllegalStateException(
+          String.format("%s: expected integer for %s, but no more input available",
+              label, fieldName));
+    }
+    long value = parseInt();
+    if (value == Long.MIN_VALUE) {
+      throw new IllegalStateException(
+          String.format("%s: expected integer for %s, got: %s", label, fieldName, decodeToken()));
+    }
+    return (int) value;
+  }
+
+  @Override
+  public String restOfLine() {
+    int start = this.pos;
+    while (true) {
+      if (this.pos == this.limit) {
+        if (!remap(start)) {
+          break;
+        }
+        start = 0;
+      }
+      byte c = this.window.get(this.pos);
+      if (c == '\n' || c == '\r') {
+        break;
+      }
+      this.pos++;
+    }
+    this.tokenStart = start;
+    this.tokenEnd = this.pos;
+    return decodeToken();
+  }
+
+  /**
+   * Gets the position in the file of the next byte to read, which after {@link #hasNext} is the
+   * first byte of the next token.
+   *
+   * @return the position in the file of the next byte to read
+   */
+  long position() {
+    return this.windowStart + this.pos;
+  }
+
+  /**
+   * Moves to the end of the line holding the given position, so that reading carries on from the
+   * line after it, however far past that line the last token read was.
+   *
+   * @param lineStart a position in the file no later than the next byte to read
+   */
+  void skipLine(long lineStart) {
+    if (lineStart >= this.windowStart) {
+      this.pos = (int) (lineStart - this.windowStart);
+    } else {
+      map(lineStart);
+    }
+    this.restOfLine();
+  }
+
+  /**
+   * Parses the bytes of the last token found as a decimal integer with an optional sign.
+   *
+   * @return the parsed value, or {@link Long#MIN_VALUE} if the bytes are not an int
+   */
+  private long parseInt() {
+    int i = this.tokenStart;
+    int end = this.tokenEnd;
+    boolean negative = false;
+    byte first = this.window.get(i);
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+      i++;
+    }
+    if (i == end) {
+      return Long.MIN_VALUE;
+    }
+    long value = 0;
+    for (; i < end; i++) {
+      byte c = this.window.get(i);
+      if (c < '0' || c > '9') {
+        return Long.MIN_VALUE;
+      }
+      value = value * 10 + (c - '0');
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        return Long.MIN_VALUE;
+      }
+    }
+    value = negative ? -value : value;
+    return value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+  }
+
+  /**
+   * Skips whitespace and comments up to the start of the next token.
+   *
+   * @return true if a token follows, false if the file is exhausted
+   */
+  private boolean skipDelimiters() {
+    boolean inComment = false;
+    while (this.pos < this.limit || remap(this.pos)) {
+      byte c = this.window.get(this.pos);
+      if (inComment) {
+        if (c == '\n' || c == '\r') {
+          inComment = false;
+          continue;
+        }
+      } else if (c == '#') {
+        inComment = true;
+      } else if (!ReadableTokenizer.isSpace(c)) {
+        return true;
+      }
+      this.pos++;
+    }
+    return false;
+  }
+
+  /**
+   * Finds the bounds of the next token and moves past it.
+   *
+   * @return true if a token was found, false if the file is exhausted
+   */
+  private boolean findToken() {
+    if (!skipDelimiters()) {
+      return false;
+    }
+    int length = 0;
+    while (this.pos + length < this.limit || remap(this.pos)) {
+      byte c = this.window.get(this.pos + length);
+      if (ReadableTokenizer.isSpace(c) || c == '#') {
+        break;
+      }
+      length++;
+    }
+    this.tokenStart = this.pos;
+    this.tokenEnd = this.pos + length;
+    this.pos = this.tokenEnd;
+    return true;
+  }
+
+  /**
+   * Gets the last token found as a String, reusing a cached String if it was seen recently.
+   */
+  private String tokenString() {
+    int hash = 0;
+    boolean ascii = true;
+    for (int i = this.tokenStart; i < this.tokenEnd; i++) {
+      byte c = this.window.get(i);
+      hash = 31 * hash + c;
+      ascii &= c >= 0;
+    }
+    int slot = hash & (CACHE_SIZE - 1);
+    String cached = this.recent[slot];
+    if (ascii && cached != null && matches(cached)) {
+      return cached;
+    }
+    String token = decodeToken();
+    this.recent[slot] = token;
+    return token;
+  }
+
+  /**
+   * Checks if the bytes of the last token found are the ASCII characters of the given String.
+   */
+  private boolean matches(String s) {
+    if (s.length() != this.tokenEnd - this.tokenStart) {
+      return false;
+    }
+    for (int i = 0; i < s.length(); i++) {
+      if (s.charAt(i) != this.window.get(this.tokenStart + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Decodes the bytes of the last token found into a new String.
+   */
+  private String decodeToken() {
+    int length = this.tokenEnd - this.tokenStart;
+    if (this.scratch.length < length) {
+      this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+    }
+    for (int i = 0; i < length; i++) {
+      this.scratch[i] = this.window.get(this.tokenStart + i);
+    }
+    return new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Maps the next window of the file, starting at the byte at {@code keepFrom} in the current
+   * window, so that {@code pos} becomes {@code pos - keepFrom}.
+   *
+   * @param keepFrom the index in the current window of the first byte that must stay mapped
+   * @return true if more bytes were mapped, false if the end of the file has been reached
+   */
+  private boolean remap(int keepFrom) {
+    if (this.windowStart + this.limit >= this.end) {
+      return false;
+    }
+    int offset = this.pos - keepFrom;
+    map(this.windowStart + keepFrom);
+    this.pos = offset;
+    return this.limit > offset;
+  }
+
+  /**
+   * Maps the window of the file that begins at the given position.
+   */
+  private void map(long start) {
+    try {
+      this.windowStart = start;
+      this.limit = (int) Math.min(this.windowSize, this.end - start);
+      this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start, this.limit);
+      this.pos = 0;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
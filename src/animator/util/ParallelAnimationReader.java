@@ -0,0 +1,295 @@
+package cs3500.animator.util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A helper to read large animation files in parallel. The file is memory-mapped and split into
+ * chunks on line boundaries, and each chunk is tokenized and parsed on a {@link ForkJoinPool}.
+ * Parsing a chunk only records the lines it found, and the recorded lines of every chunk are then
+ * given to the builder in file order. The builder therefore receives exactly the same calls, in
+ * the same order, as it would from {@link AnimationReader#parseFile}, and the first malformed line
+ * in the file is the one reported.
+ *
+ * <p>Chunks only begin at a line that starts with the keyword of a new line of the animation
+ * ("canvas", "shape" or "motion"), so that a line split across several lines of text is never cut
+ * in two. This assumes that no shape is named after one of those keywords.</p>
+ */
+public class ParallelAnimationReader {
+
+  private static final long MIN_CHUNK_SIZE = 1L << 20;
+  private static final long WINDOW_SIZE = 1L << 30;
+  private static final byte[][] KEYWORDS = {
+      "canvas".getBytes(StandardCharsets.US_ASCII),
+      "shape".getBytes(StandardCharsets.US_ASCII),
+      "motion".getBytes(StandardCharsets.US_ASCII)};
+
+  /**
+   * Produces a new animation from the file at the given path, parsing it in parallel on the common
+   * {@link ForkJoinPool}.
+   *
+   * @param path    the path of the animation file
+   * @param builder a builder for helping to construct a new animation
+   * @param <Doc>   the main model interface type describing animations
+   * @return the animation constructed by the builder
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public static <Doc> Doc parseFile(Path path, AnimationBuilder<Doc> builder)
+      throws IOException {
+    return parseFile(path, builder, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Produces a new animation from the file at the given path, parsing it in parallel on the given
+   * pool.
+   *
+   * @param path    the path of the animation file
+   * @param builder a builder for helping to construct a new animation
+   * @param pool    the pool to parse chunks of the file on
+   * @param <Doc>   the main model interface type describing animations
+   * @return the animation constructed by the builder
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public static <Doc> Doc parseFile(Path path, AnimationBuilder<Doc> builder, ForkJoinPool pool)
+      throws IOException {
+    Objects.requireNonNull(path, "Must have non-null file path");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    Objects.requireNonNull(pool, "Must provide a non-null ForkJoinPool");
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long chunkSize = Math.max(MIN_CHUNK_SIZE, size / (4L * pool.getParallelism()) + 1);
+
+      // Parse every chunk in parallel, recording the lines found in each
+      List<ForkJoinTask<ChunkRecording>> tasks = new ArrayList<>();
+      long start = 0;
+      while (start < size) {
+        long end = nextChunkStart(channel, Math.min(size, start + chunkSize), size);
+        long chunkStart = start;
+        tasks.add(pool.submit(() -> parseChunk(channel, chunkStart, end)));
+        start = end;
+      }
+
+      // Give the recorded lines to the builder in file order, letting go of each chunk's
+      // recording once it is replayed so that they are not all kept until the model is built
+      for (int i = 0; i < tasks.size(); i++) {
+        ForkJoinTask<ChunkRecording> task = tasks.get(i);
+        tasks.set(i, null);
+        task.join().replay(builder);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Parses the given range of the file into a recording of its lines. If the range contains a
+   * malformed line, the lines before it are recorded along with the error.
+   */
+  private static ChunkRecording parseChunk(FileChannel channel, long start, long end) {
+    ChunkRecording recording = new ChunkRecording();
+    try {
+      AnimationReader.parse(new MappedFileTokenizer(channel, start, end, WINDOW_SIZE), recording);
+    } catch (RuntimeException e) {
+      recording.error = e;
+    }
+    return recording;
+  }
+
+  /**
+   * Finds where the chunk that follows the given position should begin. This is the start of the
+   * first line after the position that begins with a keyword, or the end of the file if there is
+   * none.
+   *
+   * @param channel the channel of the animation file
+   * @param from    the position to start searching at
+   * @param size    the size of the file
+   * @return the position of the start of the next chunk
+   * @throws IOException if the file cannot be mapped
+   */
+  private static long nextChunkStart(FileChannel channel, long from, long size)
+      throws IOException {
+    long regionSize = 1 << 16;
+    while (from < size) {
+      int length = (int) Math.min(regionSize, size - from);
+      MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+      for (int i = 0; i < length; i++) {
+        if (region.get(i) == '\n' && startsWithKeyword(region, i + 1)) {
+          return from + i + 1;
+        }
+      }
+      // Keep the last line, in case it continues past the region
+      int lastLine = length;
+      while (lastLine > 0 && region.get(lastLine - 1) != '\n') {
+        lastLine--;
+      }
+      if (from + length == size) {
+        return size;
+      }
+      if (lastLine == 0) {
+        // No line starts in this region
+        from += length;
+      } else if (lastLine > 1) {
+        from += lastLine - 1;
+      } else {
+        regionSize *= 2;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Checks if the line starting at the given index of the region begins with a keyword that is
+   * followed by whitespace. A line cut off by the end of the region is treated as not beginning
+   * with a keyword.
+   */
+  private static boolean startsWithKeyword(MappedByteBuffer region, int index) {
+    while (index < region.limit()
+        && (region.get(index) == ' ' || region.get(index) == '\t')) {
+      index++;
+    }
+    for (byte[] keyword : KEYWORDS) {
+      int end = index + keyword.length;
+      if (end < region.limit() && ReadableTokenizer.isSpace(region.get(end))) {
+        boolean matches = true;
+        for (int i = 0; i < keyword.length && matches; i++) {
+          matches = region.get(index + i) == keyword[i];
+        }
+        if (matches) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A builder that records the lines of a chunk of an animation file in compact arrays, so that
+   * they can be given to another builder later.
+   */
+  private static class ChunkRecording implements AnimationBuilder<ChunkRecording> {
+
+    private static final byte BOUNDS = 0;
+    private static final byte SHAPE = 1;
+    private static final byte MOTION = 2;
+    private static final byte KEYFRAME = 3;
+
+    private byte[] kinds = new byte[256];
+    private int kindCount;
+    private String[] strings = new String[256];
+    private int stringCount;
+    private int[] ints = new int[4096];
+    private int intCount;
+    private RuntimeException error;
+
+    /**
+     * Gives every recorded line to the given builder in the order they were recorded, then throws
+     * the error that stopped this chunk from being parsed, if there was one.
+     *
+     * @param builder the builder to give the recorded lines to
+     */
+    void replay(AnimationBuilder<?> builder) {
+      int s = 0;
+      int n = 0;
+      for (int k = 0; k < this.kindCount; k++) {
+        int[] v = this.ints;
+        switch (this.kinds[k]) {
+          case BOUNDS:
+            builder.setBounds(v[n], v[n + 1], v[n + 2], v[n + 3]);
+            n += 4;
+            break;
+          case SHAPE:
+            builder.declareShape(this.strings[s], this.strings[s + 1]);
+            s += 2;
+            break;
+          case MOTION:
+            builder.addMotion(this.strings[s],
+                v[n], v[n + 1], v[n + 2], v[n + 3], v[n + 4], v[n + 5], v[n + 6], v[n + 7],
+                v[n + 8], v[n + 9], v[n + 10], v[n + 11], v[n + 12], v[n + 13], v[n + 14],
+                v[n + 15]);
+            s += 1;
+            n += 16;
+            break;
+          default:
+            builder.addKeyframe(this.strings[s],
+                v[n], v[n + 1], v[n + 2], v[n + 3], v[n + 4], v[n + 5], v[n + 6], v[n + 7]);
+            s += 1;
+            n += 8;
+        }
+      }
+      if (this.error != null) {
+        throw this.error;
+      }
+    }
+
+    @Override
+    public ChunkRecording build() {
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<ChunkRecording> setBounds(int x, int y, int width, int height) {
+      record(BOUNDS);
+      recordInts(x, y, width, height);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<ChunkRecording> declareShape(String name, String type) {
+      record(SHAPE);
+      recordString(name);
+      recordString(type);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<ChunkRecording> addMotion(String name,
+        int t1, int x1, int y1, int w1, int h1, int r1, int g1, int b1,
+        int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2) {
+      record(MOTION);
+      recordString(name);
+      recordInts(t1, x1, y1, w1, h1, r1, g1, b1, t2, x2, y2, w2, h2, r2, g2, b2);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<ChunkRecording> addKeyframe(String name,
+        int t, int x, int y, int w, int h, int r, int g, int b) {
+      record(KEYFRAME);
+      recordString(name);
+      recordInts(t, x, y, w, h, r, g, b);
+      return this;
+    }
+
+    private void record(byte kind) {
+      if (this.kindCount == this.kinds.length) {
+        this.kinds = Arrays.copyOf(this.kinds, this.kinds.length * 2);
+      }
+      this.kinds[this.kindCount++] = kind;
+    }
+
+    private void recordString(String s) {
+      if (this.stringCount == this.strings.length) {
+        this.strings = Arrays.copyOf(this.strings, this.strings.length * 2);
+      }
+      this.strings[this.stringCount++] = s;
+    }
+
+    private void recordInts(int... values) {
+      while (this.intCount + values.length > this.ints.length) {
+        this.ints = Arrays.copyOf(this.ints, this.ints.length * 2);
+      }
+      System.arraycopy(values, 0, this.ints, this.intCount, values.length);
+      this.intCount += values.length;
+    }
+  }
+}
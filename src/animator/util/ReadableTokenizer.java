@@ -0,0 +1,259 @@
+package cs3500.animator.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+
+/**
+ * A hand-written tokenizer that reads an animation from a {@link Readable} in fixed size chunks.
+ * Integers are parsed directly from the buffered characters, and identifiers that were recently
+ * seen (such as keywords and the name of the shape being moved) are reused instead of allocating a
+ * new String for every occurrence. Tokens are split the same way as the {@code
+ * (\p{Space}+|#.*)+} delimiter used by a {@link java.util.Scanner}.
+ */
+class ReadableTokenizer implements AnimationTokenizer {
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final int CACHE_SIZE = 16;
+
+  private final Readable readable;
+  private char[] buffer;
+  private int pos;
+  private int limit;
+  private boolean exhausted;
+
+  // a small direct-mapped cache of recently read identifiers, indexed by their hash code
+  private final String[] recent;
+
+  // bounds of the token found by the last call to findToken
+  private int tokenStart;
+  private int tokenEnd;
+
+  /**
+   * Constructs a tokenizer reading from the given source.
+   *
+   * @param readable the source of the animation text
+   */
+  ReadableTokenizer(Readable readable) {
+    this.readable = readable;
+    this.buffer = new char[BUFFER_SIZE];
+    this.pos = 0;
+    this.limit = 0;
+    this.exhausted = false;
+    this.recent = new String[CACHE_SIZE];
+    for (String keyword : new String[]{"canvas", "shape", "motion"}) {
+      this.recent[keyword.hashCode() & (CACHE_SIZE - 1)] = keyword;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return skipDelimiters();
+  }
+
+  @Override
+  public String next() {
+    if (!findToken()) {
+      throw new IllegalStateException("Expected a token, but no more input available");
+    }
+    return tokenString();
+  }
+
+  @Override
+  public int nextInt(String label, String fieldName) {
+    if (!findToken()) {
+      throw new IllegalStateException(
+          String.format("%s: expected integer for %s, but no more input available",
+              label, fieldName));
+    }
+    long value = parseInt(this.buffer, this.tokenStart, this.tokenEnd);
+    if (value == Long.MIN_VALUE) {
+      throw new IllegalStateException(
+          String.format("%s: expected integer for %s, got: %s", label, fieldName,
+              new String(this.buffer, this.tokenStart, this.tokenEnd - this.tokenStart)));
+    }
+    return (int) value;
+  }
+
+  @Override
+  public String restOfLine() {
+    StringBuilder result = new StringBuilder();
+    while (this.pos < this.limit || fill(this.pos)) {
+      char c = this.buffer[this.pos];
+      if (c == '\n' || c == '\r' || isLineSeparator(c)) {
+        break;
+      }
+      result.append(c);
+      this.pos++;
+    }
+    return result.toString();
+  }
+
+  /**
+   * Parses the characters in the given range as a decimal integer with an optional sign.
+   *
+   * @param chars the characters to parse
+   * @param start the index of the first character
+   * @param end   the index after the last character
+   * @return the parsed value, or {@link Long#MIN_VALUE} if the characters are not an int
+   */
+  static long parseInt(char[] chars, int start, int end) {
+    int i = start;
+    boolean negative = false;
+    if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+      negative = chars[i] == '-';
+      i++;
+    }
+    if (i == end) {
+      return Long.MIN_VALUE;
+    }
+    long value = 0;
+    for (; i < end; i++) {
+      char c = chars[i];
+      if (c < '0' || c > '9') {
+        return Long.MIN_VALUE;
+      }
+      value = value * 10 + (c - '0');
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        return Long.MIN_VALUE;
+      }
+    }
+    value = negative ? -value : value;
+    return value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+  }
+
+  /**
+   * Checks if the given character is a whitespace character matched by {@code \p{Space}}.
+   */
+  static boolean isSpace(int c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+  }
+
+  /**
+   * Checks if the given character ends a comment without being whitespace itself.
+   */
+  static boolean isLineSeparator(int c) {
+    return c == 0x85 || c == 0x2028 || c == 0x2029;
+  }
+
+  /**
+   * Skips whitespace and comments up to the start of the next token.
+   *
+   * @return true if a token follows, false if the input is exhausted
+   */
+  private boolean skipDelimiters() {
+    boolean inComment = false;
+    while (this.pos < this.limit || fill(this.pos)) {
+      char c = this.buffer[this.pos];
+      if (inComment) {
+        if (c == '\n' || c == '\r' || isLineSeparator(c)) {
+          inComment = false;
+          continue;
+        }
+      } else if (c == '#') {
+        inComment = true;
+      } else if (!isSpace(c)) {
+        return true;
+      }
+      this.pos++;
+    }
+    return false;
+  }
+
+  /**
+   * Finds the bounds of the next token and moves past it.
+   *
+   * @return true if a token was found, false if the input is exhausted
+   */
+  private boolean findToken() {
+    if (!skipDelimiters()) {
+      return false;
+    }
+    int length = 0;
+    while (this.pos + length < this.limit || fill(this.pos)) {
+      char c = this.buffer[this.pos + length];
+      if (isSpace(c) || c == '#') {
+        break;
+      }
+      length++;
+    }
+    this.tokenStart = this.pos;
+    this.tokenEnd = this.pos + length;
+    this.pos = this.tokenEnd;
+    return true;
+  }
+
+  /**
+   * Gets the last token found as a String, reusing a cached String if it was seen recently.
+   */
+  private String tokenString() {
+    int hash = 0;
+    for (int i = this.tokenStart; i < this.tokenEnd; i++) {
+      hash = 31 * hash + this.buffer[i];
+    }
+    int slot = hash & (CACHE_SIZE - 1);
+    String cached = this.recent[slot];
+    if (cached != null && matches(cached)) {
+      return cached;
+    }
+    String token = new String(this.buffer, this.tokenStart, this.tokenEnd - this.tokenStart);
+    this.recent[slot] = token;
+    return token;
+  }
+
+  /**
+   * Checks if the last token found has the same characters as the given String.
+   */
+  private boolean matches(String s) {
+    if (s.length() != this.tokenEnd - this.tokenStart) {
+      return false;
+    }
+    for (int i = 0; i < s.length(); i++) {
+      if (s.charAt(i) != this.buffer[this.tokenStart + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads more characters from the source. The characters from {@code keepFrom} to the end of the
+   * buffered input are moved to the front of the buffer first, so that {@code pos} becomes {@code
+   * pos - keepFrom}. The buffer grows if it is already full of characters that must be kept.
+   *
+   * @param keepFrom the index of the first buffered character that must be kept
+   * @return true if more characters were read, false if the source is exhausted
+   */
+  private boolean fill(int keepFrom) {
+    if (this.exhausted) {
+      return false;
+    }
+    int kept = this.limit - keepFrom;
+    if (kept == this.buffer.length) {
+      char[] larger = new char[this.buffer.length * 2];
+      System.arraycopy(this.buffer, keepFrom, larger, 0, kept);
+      this.buffer = larger;
+    } else {
+      System.arraycopy(this.buffer, keepFrom, this.buffer, 0, kept);
+    }
+    this.pos -= keepFrom;
+    this.limit = kept;
+
+    CharBuffer target = CharBuffer.wrap(this.buffer, this.limit, this.buffer.length - this.limit);
+    try {
+      int read;
+      do {
+        read = this.readable.read(target);
+      }
+      while (read == 0);
+      if (read < 0) {
+        this.exhausted = true;
+        return false;
+      }
+      this.limit += read;
+      return true;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,443 @@
+package cs3500.animator.util;
+
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An animation played from a binary animation file that keeps in memory only the motions near the
+ * tick being played, so that animations far larger than memory can be played. The motions of
+ * every shape are split into chunks of consecutive motions, and an interval index of the chunks is
+ * built when the file is opened: the chunks sorted by the tick each starts at, and a segment tree
+ * of the latest tick each range of them ends at, as shapes index their own motions. Finding the
+ * motions occurring at a tick loads every chunk overlapping a window of ticks around it: a quarter
+ * of a window behind and a whole window ahead, so that playback only loads chunks about once per
+ * window of ticks. Chunks that no longer overlap the window are dropped when it moves, and
+ * scrubbing to any other tick loads the window around it through the index, without looking at
+ * the chunks that ended before it, even when a chunk starting long before it still overlaps it.
+ *
+ * <p>Only finding the motions occurring at a tick, the one thing playback asks of an animation,
+ * uses the window. Anything that needs every motion of a shape, such as getting its motions or
+ * editing its keyframes, reads all of them the first time, as an animation opened with {@link
+ * BinaryAnimationReader#openFile(java.nio.file.Path)} does, and the motions of that shape stay in
+ * memory and are used in place of the window from then on. Shapes added to the animation are kept
+ * in memory like in any other animation.</p>
+ *
+ * <p>Finding motions is safe to do from several threads at once, but the window moves to the tick
+ * of each call, so threads asking about ticks far apart will keep reloading it.</p>
+ */
+public final class WindowedAnimation extends ShapeAnimation {
+
+  /**
+   * The number of ticks ahead of the tick being played that are loaded when no other window size
+   * is given.
+   */
+  public static final int DEFAULT_WINDOW_TICKS = 1000;
+
+  // the most motions of a shape in one chunk
+  private static final int CHUNK_SIZE = 64;
+
+  private final MappedAnimationFile file;
+  private final int windowTicks;
+  // the index in the file of each shape from the file still in this animation
+  private final Map<Shape, Integer> fileShapes;
+  // whether every motion of each shape from the file has been read by the shape itself
+  private final boolean[] readByShape;
+  // whether each shape from the file has been removed from this animation
+  private final boolean[] removed;
+
+  // the index of chunks, sorted by starting tick: the shape of each chunk, where its bytes start
+  // and end within the motions of the shape, how many motions it has, the starting tick of its
+  // first motion, the latest ending tick of its motions, and the keyframe the motion before it
+  // ended at, as its eight fields
+  private final int chunkCount;
+  private final int[] chunkShapes;
+  private final int[] chunkStarts;
+  private final int[] chunkEnds;
+  private final int[] chunkSizes;
+  private final int[] chunkFirstTicks;
+  private final int[] chunkLastTicks;
+  private final int[] chunkKeyframes;
+  // a segment tree of the latest ending tick of every range of chunks, whose leaves are the
+  // chunks in order, to skip over the ranges that have all ended before a window
+  private final int chunkLeafCount;
+  private final int[] chunkMaxLastTicks;
+
+  // the window of ticks loaded, and the motions of each chunk overlapping it
+  private boolean hasWindow;
+  private long windowStart;
+  private long windowEnd;
+  private Map<Integer, LoadedChunk> loadedChunks;
+  private Map<Integer, List<LoadedChunk>> loadedChunksByShape;
+  private int loadedMotionCount;
+
+  /**
+   * Constructs an animation of the shapes in the given file, reading every motion once to index
+   * the chunks of motions.
+   *
+   * @param file        the mapped binary animation file
+   * @param windowTicks the number of ticks ahead of the tick being played to load
+   * @throws IllegalArgumentException if the canvas is not valid, or the window is not positive
+   * @throws IllegalStateException    if a shape in the file has an unknown type, or its motions
+   *                                  are cut short
+   */
+  WindowedAnimation(MappedAnimationFile file, int windowTicks) {
+    super(new ArrayList<>(), file.getCanvasX(), file.getCanvasY(), file.getCanvasWidth(),
+        file.getCanvasHeight());
+    if (windowTicks < 1) {
+      throw new IllegalArgumentException("Window must be at least one tick long");
+    }
+    this.file = file;
+    this.windowTicks = windowTicks;
+    this.fileShapes = new IdentityHashMap<>();
+    this.readByShape = new boolean[file.getShapeCount()];
+    this.removed = new boolean[file.getShapeCount()];
+    for (int i = 0; i < file.getShapeCount(); i++) {
+      int index = i;
+      Shape s = file.createShape(index, () -> {
+        List<IMotion> motions = file.readMotions(index);
+        synchronized (this) {
+          this.readByShape[index] = true;
+          this.dropFromWindow(index);
+        }
+        return motions;
+      });
+      this.addShape(s);
+      this.fileShapes.put(s, index);
+    }
+
+    int chunks = 0;
+    for (int i = 0; i < file.getShapeCount(); i++) {
+      chunks += (file.getMotionCount(i) + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+    this.chunkCount = chunks;
+    int[] shapes = new int[chunks];
+    int[] starts = new int[chunks];
+    int[] ends = new int[chunks];
+    int[] sizes = new int[chunks];
+    int[] firstTicks = new int[chunks];
+    int[] lastTicks = new int[chunks];
+    int[] keyframes = new int[chunks * BinaryAnimationFormat.FIELDS];
+    int chunk = 0;
+    List<IMotion> motions = new ArrayList<>(CHUNK_SIZE);
+    int[] previous = new int[BinaryAnimationFormat.FIELDS];
+    for (int i = 0; i < file.getShapeCount(); i++) {
+      BinaryAnimationReader reader = file.reader(i, 0, file.getLength(i));
+      Arrays.fill(previous, 0);
+      for (int read = 0; read < file.getMotionCount(i); read += CHUNK_SIZE) {
+        shapes[chunk] = i;
+        starts[chunk] = (int) reader.position();
+        sizes[chunk] = Math.min(CHUNK_SIZE, file.getMotionCount(i) - read);
+        System.arraycopy(previous, 0, keyframes, chunk * BinaryAnimationFormat.FIELDS,
+            BinaryAnimationFormat.FIELDS);
+        motions.clear();
+        reader.readMotions(sizes[chunk], previous, motions);
+        ends[chunk] = (int) reader.position();
+        firstTicks[chunk] = motions.get(0).getStartingKeyframe().getTick();
+        lastTicks[chunk] = Integer.MIN_VALUE;
+        for (IMotion m : motions) {
+          lastTicks[chunk] = Math.max(lastTicks[chunk], m.getEndingKeyframe().getTick());
+        }
+        chunk++;
+      }
+      if (reader.hasMore()) {
+        throw new IllegalStateException("Unexpected data after the motions of a shape");
+      }
+    }
+
+    // Sort the chunks by starting tick, so that playing forward loads them in order
+    Integer[] order = new Integer[chunks];
+    for (int i = 0; i < chunks; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Integer.compare(firstTicks[a], firstTicks[b]));
+    this.chunkShapes = new int[chunks];
+    this.chunkStarts = new int[chunks];
+    this.chunkEnds = new int[chunks];
+    this.chunkSizes = new int[chunks];
+    this.chunkFirstTicks = new int[chunks];
+    this.chunkLastTicks = new int[chunks];
+    this.chunkKeyframes = new int[chunks * BinaryAnimationFormat.FIELDS];
+    int leaves = 1;
+    while (leaves < chunks) {
+      leaves *= 2;
+    }
+    this.chunkLeafCount = leaves;
+    this.chunkMaxLastTicks = new int[2 * leaves];
+    Arrays.fill(this.chunkMaxLastTicks, Integer.MIN_VALUE);
+    for (int i = 0; i < chunks; i++) {
+      int from = order[i];
+      this.chunkShapes[i] = shapes[from];
+      this.chunkStarts[i] = starts[from];
+      this.chunkEnds[i] = ends[from];
+      this.chunkSizes[i] = sizes[from];
+      this.chunkFirstTicks[i] = firstTicks[from];
+      this.chunkLastTicks[i] = lastTicks[from];
+      System.arraycopy(keyframes, from * BinaryAnimationFormat.FIELDS, this.chunkKeyframes,
+          i * BinaryAnimationFormat.FIELDS, BinaryAnimationFormat.FIELDS);
+      this.chunkMaxLastTicks[leaves + i] = lastTicks[from];
+    }
+    for (int node = leaves - 1; node > 0; node--) {
+      this.chunkMaxLastTicks[node] = Math.max(this.chunkMaxLastTicks[2 * node],
+          this.chunkMaxLastTicks[2 * node + 1]);
+    }
+
+    this.hasWindow = false;
+    this.loadedChunks = new HashMap<>();
+    this.loadedChunksByShape = new HashMap<>();
+    this.loadedMotionCount = 0;
+  }
+
+  /**
+   * Gets the number of motions of shapes from the file loaded for the current window, not
+   * counting the motions of shapes that have read all of their motions.
+   *
+   * @return the number of motions loaded for the window
+   */
+  public synchronized int getWindowMotionCount() {
+    return this.loadedMotionCount;
+  }
+
+  @Override
+  public synchronized List<IMotion> getMotionsAtTick(Shape s, int tick)
+      throws IllegalArgumentException {
+    Integer index = s == null ? null : this.fileShapes.get(s);
+    if (index == null || this.readByShape[index]) {
+      return super.getMotionsAtTick(s, tick);
+    }
+    List<IMotion> result = new ArrayList<>();
+    // No motion of the shape can be occurring outside its range of ticks
+    if (tick < this.file.getFirstTick(index) || tick > this.file.getLastTick(index)) {
+      return result;
+    }
+    if (!this.hasWindow || tick < this.windowStart || tick > this.windowEnd) {
+      this.moveWindow(tick);
+    }
+    List<LoadedChunk> chunks = this.loadedChunksByShape.get(index);
+    if (chunks != null) {
+      for (LoadedChunk chunk : chunks) {
+        chunk.addMotionsAt(tick, result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Interpolates the states of a shape at the given tick. Shapes still read through the window
+   * are interpolated from the motions loaded for it, which are already objects.
+   */
+  @Override
+  public synchronized int getStatesAtTick(Shape s, int tick, int[] states)
+      throws IllegalArgumentException {
+    Integer index = s == null ? null : this.fileShapes.get(s);
+    if (index == null || this.readByShape[index]) {
+      return super.getStatesAtTick(s, tick, states);
+    }
+    return statesOf(this.getMotionsAtTick(s, tick), tick, states);
+  }
+
+  @Override
+  public synchronized int getLastTick() {
+    int lastTick = 0;
+    for (Shape s : this.getShapes()) {
+      Integer index = this.fileShapes.get(s);
+      if (index != null && !this.readByShape[index]) {
+        lastTick = Math.max(lastTick, this.file.getLastTick(index));
+      } else {
+        for (IMotion m : s.getMotions()) {
+          lastTick = Math.max(lastTick, m.getEndingKeyframe().getTick());
+        }
+      }
+    }
+    return lastTick;
+  }
+
+  @Override
+  public void removeShape(String name) {
+    Shape s = null;
+    if (name != null) {
+      for (Shape other : this.getShapes()) {
+        if (other.getName().equals(name)) {
+          s = other;
+          break;
+        }
+      }
+    }
+    super.removeShape(name);
+    if (s != null) {
+      synchronized (this) {
+        // The chunks of a removed shape are never loaded again
+        Integer index = this.fileShapes.remove(s);
+        if (index != null) {
+          this.removed[index] = true;
+          this.dropFromWindow(index);
+        }
+      }
+    }
+  }
+
+  /**
+   * Moves the window to the given tick, keeping the chunks still overlapping it and loading the
+   * ones that newly do. Only the chunks overlapping the window and the paths of the segment tree
+   * leading to them are looked at, however long the chunks before the window last.
+   *
+   * @param tick the tick being played
+   */
+  private void moveWindow(int tick) {
+    this.hasWindow = true;
+    this.windowStart = (long) tick - this.windowTicks / 4;
+    this.windowEnd = (long) tick + this.windowTicks;
+    // The chunks are sorted by starting tick, so none after the last to start by the end of the
+    // window can overlap it
+    int low = 0;
+    int high = this.chunkCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (this.chunkFirstTicks[middle] <= this.windowEnd) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    Window window = new Window();
+    if (low > 0) {
+      this.collectChunks(1, 0, this.chunkLeafCount - 1, low - 1, window);
+    }
+    this.loadedChunks = window.chunks;
+    this.loadedChunksByShape = window.chunksByShape;
+    this.loadedMotionCount = window.motionCount;
+  }
+
+  /**
+   * Walks the segment tree of chunks in order, adding the chunks at positions up to {@code last}
+   * that end during or after the start of the window to it, and skipping every range of chunks
+   * that all end before it. Chunks already loaded are kept rather than read again.
+   *
+   * @param node   the node of the segment tree
+   * @param low    the position of the first chunk under the node
+   * @param high   the position of the last chunk under the node
+   * @param last   the position of the last chunk that starts by the end of the window
+   * @param window the chunks overlapping the window found so far
+   */
+  private void collectChunks(int node, int low, int high, int last, Window window) {
+    if (low > last || this.chunkMaxLastTicks[node] < this.windowStart) {
+      return;
+    }
+    if (low < high) {
+      int middle = (low + high) >>> 1;
+      this.collectChunks(2 * node, low, middle, last, window);
+      this.collectChunks(2 * node + 1, middle + 1, high, last, window);
+      return;
+    }
+    int shape = this.chunkShapes[low];
+    if (this.readByShape[shape] || this.removed[shape]) {
+      return;
+    }
+    LoadedChunk chunk = this.loadedChunks.get(low);
+    if (chunk == null) {
+      chunk = new LoadedChunk(this.readChunk(low));
+    }
+    window.chunks.put(low, chunk);
+    window.chunksByShape.computeIfAbsent(shape, key -> new ArrayList<>()).add(chunk);
+    window.motionCount += chunk.motions.length;
+  }
+
+  /**
+   * Drops the chunks of a shape from the window, once the shape has read every motion itself or
+   * has been removed.
+   *
+   * @param shape the index of the shape in the file
+   */
+  private void dropFromWindow(int shape) {
+    List<LoadedChunk> chunks = this.loadedChunksByShape.remove(shape);
+    if (chunks != null) {
+      for (LoadedChunk chunk : chunks) {
+        this.loadedMotionCount -= chunk.motions.length;
+      }
+      this.loadedChunks.keySet().removeIf(chunk -> this.chunkShapes[chunk] == shape);
+    }
+  }
+
+  /**
+   * Reads the motions of a chunk from the file.
+   *
+   * @param chunk the index of the chunk
+   * @return the motions of the chunk, in order
+   */
+  private List<IMotion> readChunk(int chunk) {
+    int[] previous = Arrays.copyOfRange(this.chunkKeyframes, chunk * BinaryAnimationFormat.FIELDS,
+        (chunk + 1) * BinaryAnimationFormat.FIELDS);
+    List<IMotion> motions = new ArrayList<>(this.chunkSizes[chunk]);
+    this.file.reader(this.chunkShapes[chunk], this.chunkStarts[chunk], this.chunkEnds[chunk])
+        .readMotions(this.chunkSizes[chunk], previous, motions);
+    return motions;
+  }
+
+  /**
+   * The chunks found to overlap a window while it is being moved, before they replace the chunks
+   * of the window it was moved from.
+   */
+  private static final class Window {
+
+    private final Map<Integer, LoadedChunk> chunks = new HashMap<>();
+    private final Map<Integer, List<LoadedChunk>> chunksByShape = new HashMap<>();
+    private int motionCount;
+  }
+
+  /**
+   * The motions of a chunk loaded for the window, with the latest ending tick of the motions up to
+   * each one, so that the motions occurring at a tick are found like in the compact store of a
+   * shape, rather than by looking at every motion.
+   */
+  private static final class LoadedChunk {
+
+    private final IMotion[] motions;
+    private final int[] endTicksSoFar;
+
+    private LoadedChunk(List<IMotion> motions) {
+      this.motions = motions.toArray(new IMotion[0]);
+      this.endTicksSoFar = new int[this.motions.length];
+      int max = Integer.MIN_VALUE;
+      for (int i = 0; i < this.motions.length; i++) {
+        max = Math.max(max, this.motions[i].getEndingKeyframe().getTick());
+        this.endTicksSoFar[i] = max;
+      }
+    }
+
+    /**
+     * Adds the motions of this chunk occurring at the given tick to a list, in order.
+     *
+     * @param tick   the tick to find motions for
+     * @param result the list to add the motions to
+     */
+    private void addMotionsAt(int tick, List<IMotion> result) {
+      // Find the last motion starting at or before the tick
+      int low = 0;
+      int high = this.motions.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (this.motions[middle].getStartingKeyframe().getTick() <= tick) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      // Walk back from it until every motion left has ended before the tick
+      int first = low;
+      while (first > 0 && this.endTicksSoFar[first - 1] >= tick) {
+        first--;
+      }
+      for (int i = first; i < low; i++) {
+        if (this.motions[i].getEndingKeyframe().getTick() >= tick) {
+          result.add(this.motions[i]);
+        }
+      }
+    }
+  }
+}
@@ -3,6 +3,7 @@ package cs3500.animator.view;
 import cs3500.animator.controller.IFeatures;
 import java.awt.Color;
 import java.awt.Shape;
+import java.awt.image.RenderedImage;
 import java.io.IOException;
 import java.util.List;
 import javax.swing.JFrame;
@@ -26,6 +27,21 @@ public class AbstractView extends JFrame implements IView {
     throw new UnsupportedOperationException("Unsupported for SVG Views and Visual Views.");
   }
 
+  /**
+   * Unsupported for SVGViews, TextViews and VisualViews.
+   *
+   * @param image     the image of the tick
+   * @param directory the directory to write the file to
+   * @param tick      the tick the image shows
+   * @param lastTick  the last tick of the animation
+   * @throws UnsupportedOperationException always for SVGViews, TextViews and VisualViews.
+   */
+  @Override
+  public void writePNG(RenderedImage image, String directory, int tick, int lastTick)
+      throws UnsupportedOperationException, IOException {
+    throw new UnsupportedOperationException("Unsupported for SVG, Textual and Visual Views.");
+  }
+
   /**
    * Unsupported for TextViews and VisualViews.
    *
@@ -52,6 +68,21 @@ public class AbstractView extends JFrame implements IView {
     throw new UnsupportedOperationException("Unsupported for SVG View and Textual Views.");
   }
 
+  /**
+   * Unsupported for SVGViews and TextViews.
+   *
+   * @param count    the number of shapes in this frame
+   * @param geometry the x, y, width and height of each shape
+   * @param argb     the color of each shape
+   * @param ellipse  whether each shape is an ellipse
+   * @throws UnsupportedOperationException always for SVGViews and TextViews.
+   */
+  @Override
+  public void addFrame(int count, int[] geometry, int[] argb, boolean[] ellipse)
+      throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Unsupported for SVG View and Textual Views.");
+  }
+
   /**
    * Unsupported for SVGViews and TextViews.
    *
@@ -77,6 +108,17 @@ public class AbstractView extends JFrame implements IView {
     throw new UnsupportedOperationException("Unsupported for SVG View and Textual Views.");
   }
 
+  /**
+   * Unsupported for SVGViews and TextViews.
+   *
+   * @param dirtyRegions true to only repaint the parts of the animation that changed
+   * @throws UnsupportedOperationException always for SVGViews and TextViews.
+   */
+  @Override
+  public void setDirtyRegions(boolean dirtyRegions) throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Unsupported for SVG View and Textual Views.");
+  }
+
   /**
    * Unsupported for SVGViews and TextViews.
    *
@@ -296,6 +296,16 @@ public class EditorView extends VisualView implements ActionListener {
     this.animationPanel.addShapes(currentShapes, currentColors);
   }
 
+  @Override
+  public void addFrame(int count, int[] geometry, int[] argb, boolean[] ellipse) {
+    this.animationPanel.addFrame(count, geometry, argb, ellipse);
+  }
+
+  @Override
+  public void setDirtyRegions(boolean dirtyRegions) {
+    this.animationPanel.setDirtyRegions(dirtyRegions);
+  }
+
   @Override
   public void setCanvasSize(int x, int y, int width, int height) {
     this.animationPanel.setPreferredSize(new Dimension(width, height));
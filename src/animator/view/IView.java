@@ -3,6 +3,7 @@ package cs3500.animator.view;
 import cs3500.animator.controller.IFeatures;
 import java.awt.Color;
 import java.awt.Shape;
+import java.awt.image.RenderedImage;
 import java.io.IOException;
 import java.util.List;
 
@@ -15,7 +16,8 @@ public interface IView {
 
   /**
    * Generates an SVG file with a given location/name that is able to be opened in a browser to view
-   * the animation visually. If directory is empty or invalid, prints to console.
+   * the animation visually. If directory is empty or invalid, prints to console. May be called
+   * several times for one animation, each call appending the next part of the SVG.
    *
    * @param a        the appendable to write to. Either System.out or an SVG file
    * @param svgText  the text that the SVG file will consist of
@@ -25,7 +27,8 @@ public interface IView {
 
   /**
    * Prints the given text description of an IModel Animation to the console or to the given
-   * directory to be viewed as a textual view.
+   * directory to be viewed as a textual view. May be called several times for one animation, each
+   * call appending the next part of the description.
    *
    * @param textDescription the given text description to be printed to the console
    * @param a        the appendable to write to. Either System.out, or a text file.
@@ -33,6 +36,19 @@ public interface IView {
    */
   void printTextView(String textDescription, Appendable a) throws IOException;
 
+  /**
+   * Writes the given image of one tick of an IModel Animation as a PNG file in the given
+   * directory. Files are numbered by tick, padded so that they sort in the order of the ticks.
+   * May be called from several threads at once, for different ticks.
+   *
+   * @param image     the image of the tick
+   * @param directory the directory to write the file to
+   * @param tick      the tick the image shows
+   * @param lastTick  the last tick of the animation
+   * @throws IOException if unable to write the file for whatever reason.
+   */
+  void writePNG(RenderedImage image, String directory, int tick, int lastTick) throws IOException;
+
   /**
    * Adds the list of current shapes and the the list of the current colors for those shapes for the
    * current frame to the composing JPanel for visual view JFrames.
@@ -42,6 +58,19 @@ public interface IView {
    */
   void addShapes(List<Shape> currentShapes, List<Color> currentColors);
 
+  /**
+   * Adds the current frame to the composing JPanel for visual view JFrames, given as arrays of
+   * rectangles and ellipses instead of lists of shapes and colors, so that a frame can be drawn
+   * again without creating a shape and a color for each of its shapes. The arrays are drawn from
+   * after this returns, so they must not be changed afterwards.
+   *
+   * @param count    the number of shapes in this frame, in the order they are drawn
+   * @param geometry the x, y, width and height of each shape, four values per shape
+   * @param argb     the color of each shape, packed as an ARGB value
+   * @param ellipse  whether each shape is an ellipse rather than a rectangle
+   */
+  void addFrame(int count, int[] geometry, int[] argb, boolean[] ellipse);
+
   /**
    * Sets the canvas size and x, y offset for the visual view JFrame that will contain the animation
    * to be viewed visually.
@@ -60,6 +89,14 @@ public interface IView {
    */
   void refresh();
 
+  /**
+   * Sets whether the visual view only repaints the parts of the animation covered by shapes that
+   * changed since the last frame, instead of repainting all of it every frame.
+   *
+   * @param dirtyRegions true to only repaint the parts of the animation that changed
+   */
+  void setDirtyRegions(boolean dirtyRegions);
+
   /**
    * Makes the JFrame visible by using JFrame's setVisible() function for starting the animation.
    */
@@ -102,7 +139,8 @@ public interface IView {
 
   /**
    * Creates a pop-up error message that shows a given message. Used to notify the client when
-   * there is an invalidity in the interactions.
+   * there is an invalidity in the interactions, or when an animation file being followed cannot be
+   * read.
    *
    * @param message The message to be shown in the error pop-up
    */
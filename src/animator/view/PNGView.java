@@ -0,0 +1,109 @@
+package cs3500.animator.view;
+
+import cs3500.animator.controller.IFeatures;
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import javax.imageio.ImageIO;
+
+/**
+ * Class to represent PNG Views, which write an image of every tick of an IModel Animation as a
+ * numbered PNG file. Unlike the other views this is not a window, so it can be used on machines
+ * without a display. Every other view operation is unsupported.
+ */
+public class PNGView implements IView {
+
+  @Override
+  public void writePNG(RenderedImage image, String directory, int tick, int lastTick)
+      throws IOException {
+    // Pads every number to the width of the last tick, so the files sort in order of their ticks
+    int digits = Math.max(5, Integer.toString(lastTick).length());
+    String name = String.format("frame%0" + digits + "d.png", tick);
+    if (!ImageIO.write(image, "png", Paths.get(directory, name).toFile())) {
+      throw new IOException("No PNG writer available");
+    }
+  }
+
+  @Override
+  public void generateSVG(Appendable a, String svgText) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void printTextView(String textDescription, Appendable a) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void addShapes(List<Shape> currentShapes, List<Color> currentColors) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void addFrame(int count, int[] geometry, int[] argb, boolean[] ellipse) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void setCanvasSize(int x, int y, int width, int height) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void refresh() {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void setDirtyRegions(boolean dirtyRegions) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void makeVisible() {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void addFeatures(IFeatures features) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void initializeSpeedChanger(int speed) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void initializeShapeList(List<String> shapes) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void initializeKeyframeList(List<String> keyframes) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void makePopupError(String message) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void updateKeyframeEditorGUI(int x, int y, int r, int g, int b, int height, int width) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void initializeScrubber(int lastTick) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+
+  @Override
+  public void updateScrubber(int currentTick) {
+    throw new UnsupportedOperationException("Unsupported for PNG Views.");
+  }
+}
@@ -1,20 +1,54 @@
 package cs3500.animator.view;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.swing.JPanel;
-import java.awt.Shape;
 
 /**
  * A class to represent a panel/JPanel that will be part of the JFrame that is a VisualView for
  * drawing the current shapes and with their respective colors for viewing animations visually.
+ *
+ * <p>Frames are drawn into an off-screen image on a render thread of their own, and
+ * paintComponent only copies the last finished image onto the screen, so painting never sees a
+ * half-drawn frame. Three images are used without any locks: the render thread draws into one,
+ * paintComponent copies another onto the screen, and the third holds the newest finished frame.
+ * The render thread publishes a finished image by swapping it with the third one, and
+ * paintComponent picks up a newly published image by swapping it with the one it last painted.
+ * Each image only ever belongs to one thread at a time. If frames are added faster than they can
+ * be drawn, only the newest one is drawn. The images live in memory rather than on a graphics
+ * card, so the panel also works headless.</p>
+ *
+ * <p>With dirty regions turned on, only the area covered by shapes that changed since the last
+ * frame is drawn again and repainted, rather than the whole panel.</p>
  */
 public class ViewPanel extends JPanel {
-  private List<Shape> shapes;
-  private List<Color> shapeColors;
+
+  private final ExecutorService renderThread;
+  // the newest frame that has not been drawn yet, or null if every frame has been drawn
+  private final AtomicReference<Frame> pending;
+  // the image handed between the render thread and paintComponent
+  private final AtomicReference<Handoff> ready;
+  private volatile boolean dirtyRegions;
+
+  // owned by paintComponent: the image it paints onto the screen
+  private Buffer front;
+
+  // owned by the render thread: the image being drawn, and the frame last published
+  private Buffer back;
+  private Frame published;
 
   /**
    * Constructor that constructs a ViewPanel with the list of current shapes and colors
@@ -22,32 +56,323 @@ public class ViewPanel extends JPanel {
    */
   public ViewPanel() {
     super();
-    this.shapes = new ArrayList<>();
-    this.shapeColors = new ArrayList<>();
+    this.renderThread = Executors.newSingleThreadExecutor(r -> {
+      Thread thread = new Thread(r, "ViewPanel renderer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.pending = new AtomicReference<>();
+    this.ready = new AtomicReference<>(new Handoff(new Buffer(), false));
+    this.front = new Buffer();
+    this.back = new Buffer();
+    this.dirtyRegions = false;
+  }
+
+  /**
+   * Sets whether only the parts of the panel covered by shapes that changed since the last frame
+   * are drawn again and repainted, instead of the whole panel.
+   *
+   * @param dirtyRegions true to only repaint the parts of the panel that changed
+   */
+  public void setDirtyRegions(boolean dirtyRegions) {
+    this.dirtyRegions = dirtyRegions;
   }
 
   /**
    * Adds the current list of Shape and list of Color for those Shape for the current Frame to this
-   * ViewPanel to be drawn/painted.
+   * ViewPanel to be drawn/painted. The frame is drawn on the render thread, and the panel repaints
+   * itself once the frame is ready.
    * @param currentShapes the current shapes to be drawn
    * @param currentColors the respective colors of the current shapes to be drawn
    */
   public void addShapes(List<Shape> currentShapes, List<Color> currentColors) {
-    this.shapes = currentShapes;
-    this.shapeColors = currentColors;
+    Dimension preferred = this.getPreferredSize();
+    this.addFrame(new Frame(currentShapes, currentColors,
+        Math.max(1, Math.max(preferred.width, this.getWidth())),
+        Math.max(1, Math.max(preferred.height, this.getHeight()))));
+  }
+
+  /**
+   * Adds the current frame to this ViewPanel to be drawn, given as arrays of rectangles and
+   * ellipses. The frame is drawn straight from the arrays on the render thread, without creating a
+   * shape for each of its shapes, so the arrays must not be changed afterwards.
+   *
+   * @param count    the number of shapes in the frame, in the order they are drawn
+   * @param geometry the x, y, width and height of each shape, four values per shape
+   * @param argb     the color of each shape, packed as an ARGB value
+   * @param ellipse  whether each shape is an ellipse rather than a rectangle
+   * @throws IllegalArgumentException if an array is too short for the number of shapes
+   */
+  public void addFrame(int count, int[] geometry, int[] argb, boolean[] ellipse) {
+    Dimension preferred = this.getPreferredSize();
+    this.addFrame(new Frame(count, geometry, argb, ellipse,
+        Math.max(1, Math.max(preferred.width, this.getWidth())),
+        Math.max(1, Math.max(preferred.height, this.getHeight()))));
+  }
+
+  private void addFrame(Frame frame) {
+    // Only schedule a render if none is waiting already, which will pick up this frame instead
+    if (this.pending.getAndSet(frame) == null) {
+      this.renderThread.execute(this::renderPending);
+    }
   }
 
   @Override
   public void paintComponent(Graphics g) {
     super.paintComponent(g);
 
-    Graphics2D g2d = (Graphics2D) g;
+    if (this.ready.get().fresh) {
+      // Takes the newest finished image, leaving the one painted last for the render thread
+      this.front = this.ready.getAndSet(new Handoff(this.front, false)).buffer;
+    }
+    if (this.front.image != null) {
+      g.drawImage(this.front.image, 0, 0, null);
+    }
+
+  }
+
+  /**
+   * Draws the newest frame added into an off-screen image, publishes the image for paintComponent
+   * and repaints the parts of the panel that changed.
+   */
+  private void renderPending() {
+    Frame frame = this.pending.getAndSet(null);
+    if (frame == null) {
+      return;
+    }
+    Rectangle whole = new Rectangle(0, 0, frame.width, frame.height);
+    Buffer buffer = this.back;
+    if (buffer.image == null || buffer.image.getWidth() != frame.width
+        || buffer.image.getHeight() != frame.height) {
+      buffer.image = new BufferedImage(frame.width, frame.height, BufferedImage.TYPE_INT_ARGB);
+      buffer.frame = null;
+    }
+
+    // Each image remembers the frame it holds, so only what changed since then is drawn again
+    Rectangle region = this.dirtyRegions && buffer.frame != null
+        ? changedRegion(buffer.frame, frame).intersection(whole) : whole;
+    if (!region.isEmpty()) {
+      this.draw(buffer.image, frame, region);
+    }
+    buffer.frame = frame;
+
+    this.back = this.ready.getAndSet(new Handoff(buffer, true)).buffer;
+    Rectangle changed = this.dirtyRegions && this.published != null
+        && this.published.width == frame.width && this.published.height == frame.height
+        ? changedRegion(this.published, frame).intersection(whole) : whole;
+    this.published = frame;
+
+    // Repaints requested before the last paint are merged, so skipped frames are still covered
+    if (!changed.isEmpty()) {
+      this.repaint(changed);
+    }
+  }
+
+  /**
+   * Draws the shapes of a frame that overlap the given region into an image, after clearing the
+   * region.
+   */
+  private void draw(BufferedImage image, Frame frame, Rectangle region) {
+    Graphics2D g2d = image.createGraphics();
+    try {
+      g2d.setClip(region);
+      g2d.setComposite(AlphaComposite.Clear);
+      g2d.fill(region);
+      g2d.setComposite(AlphaComposite.SrcOver);
+      // Shapes given as arrays are filled by reshaping one rectangle and one ellipse
+      Rectangle rectangle = new Rectangle();
+      Ellipse2D.Double ellipse = new Ellipse2D.Double();
+      Color color = null;
+      int[] bounds = frame.bounds;
+      for (int i = 0; i < frame.count; i++) {
+        if (!region.intersects(bounds[4 * i], bounds[4 * i + 1], bounds[4 * i + 2],
+            bounds[4 * i + 3])) {
+          continue;
+        }
+        if (frame.shapes != null) {
+          g2d.setPaint(frame.colors.get(i));
+          g2d.fill(frame.shapes.get(i));
+          continue;
+        }
+        int[] geometry = frame.geometry;
+        if (color == null || color.getRGB() != frame.argb[i]) {
+          color = new Color(frame.argb[i], true);
+          g2d.setPaint(color);
+        }
+        if (frame.ellipse[i]) {
+          ellipse.setFrame(geometry[4 * i], geometry[4 * i + 1], geometry[4 * i + 2],
+              geometry[4 * i + 3]);
+          g2d.fill(ellipse);
+        } else {
+          rectangle.setBounds(geometry[4 * i], geometry[4 * i + 1], geometry[4 * i + 2],
+              geometry[4 * i + 3]);
+          g2d.fill(rectangle);
+        }
+      }
+    } finally {
+      g2d.dispose();
+    }
+  }
+
+  /**
+   * Finds the area covered by the shapes that are different between two frames: shapes that were
+   * added, removed, moved, resized, recolored or replaced by a different kind of shape.
+   */
+  private static Rectangle changedRegion(Frame before, Frame after) {
+    Rectangle region = new Rectangle();
+    int count = Math.max(before.count, after.count);
+    for (int i = 0; i < count; i++) {
+      boolean inBefore = i < before.count;
+      boolean inAfter = i < after.count;
+      if (inBefore && inAfter && sameBounds(before, after, i)
+          && before.argb[i] == after.argb[i] && sameKind(before, after, i)) {
+        continue;
+      }
+      if (inBefore) {
+        union(region, before.bounds, i);
+      }
+      if (inAfter) {
+        union(region, after.bounds, i);
+      }
+    }
+    return region;
+  }
+
+  private static boolean sameBounds(Frame before, Frame after, int i) {
+    for (int k = 4 * i; k < 4 * i + 4; k++) {
+      if (before.bounds[k] != after.bounds[k]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the shapes at the same place in two frames are the same kind of shape.
+   */
+  private static boolean sameKind(Frame before, Frame after, int i) {
+    if (before.shapes != null && after.shapes != null) {
+      return before.shapes.get(i).getClass() == after.shapes.get(i).getClass();
+    }
+    return before.shapes == null && after.shapes == null
+        && before.ellipse[i] == after.ellipse[i];
+  }
+
+  /**
+   * Grows a region to cover the bounds of a shape, ignoring the bounds if they are empty, or
+   * setting the region to them if it is empty.
+   */
+  private static void union(Rectangle region, int[] bounds, int i) {
+    int x = bounds[4 * i];
+    int y = bounds[4 * i + 1];
+    int width = bounds[4 * i + 2];
+    int height = bounds[4 * i + 3];
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+    if (region.isEmpty()) {
+      region.setBounds(x, y, width, height);
+    } else {
+      region.add(x, y);
+      region.add(x + width, y + height);
+    }
+  }
+
+  /**
+   * An off-screen image, and the frame drawn in it, if any. A buffer belongs to the render thread,
+   * to paintComponent, or to the handoff between them, and is only used by the thread that owns it.
+   */
+  private static final class Buffer {
+
+    private BufferedImage image;
+    private Frame frame;
+  }
+
+  /**
+   * The buffer handed between the render thread and paintComponent, and whether it holds a frame
+   * that paintComponent has not picked up yet. Handoffs are immutable, so a buffer and its flag are
+   * always swapped together.
+   */
+  private static final class Handoff {
+
+    private final Buffer buffer;
+    private final boolean fresh;
 
-    for (int i = 0; i < this.shapes.size(); i++) {
-      g2d.setPaint(this.shapeColors.get(i));
-      g2d.fill(this.shapes.get(i));
+    private Handoff(Buffer buffer, boolean fresh) {
+      this.buffer = buffer;
+      this.fresh = fresh;
     }
+  }
+
+  /**
+   * A frame to draw: either its shapes and colors, copied so that the lists given to addShapes can
+   * change afterwards, or the arrays of rectangles and ellipses given to addFrame, along with the
+   * bounds of its shapes and the size of the image to draw it in. Frames are never changed once
+   * made, so they can be passed from the thread adding shapes to the render thread as they are.
+   */
+  private static final class Frame {
 
+    private final int count;
+    // x, y, width and height of the area each shape covers, with a pixel of margin
+    private final int[] bounds;
+    private final int[] argb;
+    // the shapes and colors of a frame given as lists, or null if it was given as arrays
+    private final List<Shape> shapes;
+    private final List<Color> colors;
+    // the rectangles and ellipses of a frame given as arrays, or null if it was given as lists
+    private final int[] geometry;
+    private final boolean[] ellipse;
+    private final int width;
+    private final int height;
+
+    private Frame(List<Shape> shapes, List<Color> colors, int width, int height) {
+      if (shapes.size() != colors.size()) {
+        throw new IllegalArgumentException("Every shape needs exactly one color");
+      }
+      this.count = shapes.size();
+      this.shapes = Collections.unmodifiableList(new ArrayList<>(shapes));
+      this.colors = Collections.unmodifiableList(new ArrayList<>(colors));
+      this.bounds = new int[4 * this.count];
+      this.argb = new int[this.count];
+      for (int i = 0; i < this.count; i++) {
+        // One pixel of margin for the edges of shapes that are not on whole pixels
+        Rectangle b = this.shapes.get(i).getBounds();
+        b.grow(1, 1);
+        this.bounds[4 * i] = b.x;
+        this.bounds[4 * i + 1] = b.y;
+        this.bounds[4 * i + 2] = b.width;
+        this.bounds[4 * i + 3] = b.height;
+        this.argb[i] = this.colors.get(i).getRGB();
+      }
+      this.geometry = null;
+      this.ellipse = null;
+      this.width = width;
+      this.height = height;
+    }
+
+    private Frame(int count, int[] geometry, int[] argb, boolean[] ellipse, int width,
+        int height) {
+      if (count < 0 || geometry.length < 4 * count || argb.length < count
+          || ellipse.length < count) {
+        throw new IllegalArgumentException("Every shape needs a place, a size, a color and a kind");
+      }
+      this.count = count;
+      this.geometry = geometry;
+      this.argb = argb;
+      this.ellipse = ellipse;
+      this.bounds = new int[4 * count];
+      for (int i = 0; i < 4 * count; i += 4) {
+        // Shapes at whole pixels cover their own bounds, plus the same margin as shapes in lists
+        this.bounds[i] = geometry[i] - 1;
+        this.bounds[i + 1] = geometry[i + 1] - 1;
+        this.bounds[i + 2] = geometry[i + 2] + 2;
+        this.bounds[i + 3] = geometry[i + 3] + 2;
+      }
+      this.shapes = null;
+      this.colors = null;
+      this.width = width;
+      this.height = height;
+    }
   }
 
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import java.awt.Dimension;
 import java.awt.Shape;
 import java.util.List;
 import javax.swing.JFrame;
+import javax.swing.JOptionPane;
 import javax.swing.JScrollPane;
 
 /**
@@ -34,11 +35,21 @@ public class VisualView extends AbstractView {
 
   }
 
+  @Override
+  public void makePopupError(String message) {
+    JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
+  }
+
   @Override
   public void addShapes(List<Shape> currentShapes, List<Color> currentColors) {
     this.panel.addShapes(currentShapes, currentColors);
   }
 
+  @Override
+  public void addFrame(int count, int[] geometry, int[] argb, boolean[] ellipse) {
+    this.panel.addFrame(count, geometry, argb, ellipse);
+  }
+
   @Override
   public void setCanvasSize(int x, int y, int width, int height) throws IllegalArgumentException {
     if (width < 0 || height < 0) {
@@ -49,9 +60,18 @@ public class VisualView extends AbstractView {
 
   }
 
+  /**
+   * Does nothing more than addShapes already did: the panel draws each frame on its own render
+   * thread and repaints itself once the frame is ready.
+   */
   @Override
   public void refresh() {
-    this.repaint();
+    // The panel repaints itself when the frame has been drawn
+  }
+
+  @Override
+  public void setDirtyRegions(boolean dirtyRegions) {
+    this.panel.setDirtyRegions(dirtyRegions);
   }
 
   @Override
@@ -0,0 +1,215 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cs3500.animator.controller.VisualController;
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.util.AnimationFollower;
+import cs3500.animator.util.AnimationReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link AnimationFollower}: Ensures that lines appended to an animation file are
+ * added to the animation already loaded from it, only once each line is complete, and that an
+ * invalid appended motion is left out without stopping the file from being followed.
+ */
+public class AnimationFollowerTest {
+
+  private static final String START = "canvas 0 0 200 100\n"
+      + "shape R rectangle\n"
+      + "motion R 1 10 10 50 50 255 0 0 10 20 20 50 50 255 0 0\n";
+
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    this.file = Files.createTempFile("animation", ".txt");
+    Files.write(this.file, START.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.delete(this.file);
+  }
+
+  private void append(String text) throws IOException {
+    Files.write(this.file, text.getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+  }
+
+  /**
+   * Describes every motion of every shape of an animation.
+   */
+  private static String describe(IModel model) {
+    StringBuilder description = new StringBuilder();
+    for (Shape s : model.getShapes()) {
+      description.append(s.getName()).append(':');
+      for (IMotion m : s.getMotions()) {
+        description.append(' ').append(m.generateDescription());
+      }
+      description.append('\n');
+    }
+    return description.toString();
+  }
+
+  @Test
+  public void testLoadsStartOfFile() throws IOException {
+    AnimationFollower follower = new AnimationFollower(this.file, false);
+    IModel model = follower.getModel();
+    assertEquals(200, model.getCanvasWidth());
+    assertEquals(1, model.getShapes().size());
+    assertEquals(10, follower.getLastTick());
+    assertEquals(START.length(), follower.getPosition());
+    assertEquals(0, follower.poll());
+  }
+
+  @Test
+  public void testPollAddsAppendedLines() throws IOException {
+    AnimationFollower follower = new AnimationFollower(this.file, true);
+    IModel model = follower.getModel();
+    this.append("motion R 10 20 20 50 50 255 0 0 30 40 40 50 50 255 0 0\n"
+        + "shape C ellipse\n"
+        + "motion C 5 0 0 10 10 0 0 255 15 0 0 10 10 0 0 255\n");
+    assertEquals(2, follower.poll());
+    assertEquals(30, follower.getLastTick());
+    assertEquals(2, model.getShapeWithName("R").getMotions().size());
+    assertEquals(1, model.getShapeWithName("C").getMotions().size());
+
+    // The animation is the same as one read from the whole file at once
+    IModel whole = (IModel) AnimationReader.parseFile(new FileReader(this.file.toFile()),
+        new AnimationBuilderImpl());
+    assertEquals(describe(whole), describe(model));
+  }
+
+  @Test
+  public void testIncompleteLineWaitsForNewline() throws IOException {
+    AnimationFollower follower = new AnimationFollower(this.file, false);
+    this.append("motion R 10 20 20 50 50 255 0 0 30 40");
+    assertEquals(0, follower.poll());
+    assertEquals(START.length(), follower.getPosition());
+    this.append(" 40 50 50 255 0 0\n");
+    assertEquals(1, follower.poll());
+    assertEquals(30, follower.getLastTick());
+  }
+
+  @Test
+  public void testIncompleteLineAtStart() throws IOException {
+    this.append("shape C ell");
+    AnimationFollower follower = new AnimationFollower(this.file, false);
+    assertEquals(1, follower.getModel().getShapes().size());
+    this.append("ipse\nmotion C 5 0 0 10 10 0 0 255 15 0 0 10 10 0 0 255\n");
+    assertEquals(1, follower.poll());
+    assertEquals(2, follower.getModel().getShapes().size());
+  }
+
+  @Test
+  public void testInvalidMotionLeftOut() throws IOException {
+    AnimationFollower follower = new AnimationFollower(this.file, false);
+    Shape r = follower.getModel().getShapeWithName("R");
+    // The first motion does not start where the motion before it left off
+    this.append("motion R 10 99 20 50 50 255 0 0 30 40 40 50 50 255 0 0\n"
+        + "motion R 40 20 20 50 50 255 0 0 50 40 40 50 50 255 0 0\n");
+    try {
+      follower.poll();
+      fail("An appended motion was not valid");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().startsWith("1 appended motions were left out"));
+    }
+    List<IMotion> motions = r.getMotions();
+    assertEquals(2, motions.size());
+    assertEquals(40, motions.get(1).getStartingKeyframe().getTick());
+    assertEquals(50, follower.getLastTick());
+
+    // Later lines are still followed
+    this.append("motion R 50 40 40 50 50 255 0 0 60 40 40 50 50 255 0 0\n");
+    assertEquals(1, follower.poll());
+    assertEquals(3, r.getMotions().size());
+  }
+
+  @Test
+  public void testMalformedLineIsNotReadAgain() throws IOException {
+    AnimationFollower follower = new AnimationFollower(this.file, false);
+    this.append("motion R 10 twenty\n");
+    try {
+      follower.poll();
+      fail("An appended line was malformed");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    this.append("shape C ellipse\n");
+    assertEquals(0, follower.poll());
+    assertEquals(2, follower.getModel().getShapes().size());
+  }
+
+  @Test
+  public void testMalformedLineInMiddleOfAppend() throws IOException {
+    AnimationFollower follower = new AnimationFollower(this.file, false);
+    this.append("motion R 10 twenty\n"
+        + "shape C ellipse\n"
+        + "motion R 10 20 20 50 50 255 0 0 30 40 40 50 50 255 0 0\n"
+        // Too few numbers, so the keyword of the next line is read as one of them
+        + "motion C 5 0 0 10 10 0 0 255 15\n"
+        + "motion C 5 0 0 10 10 0 0 255 15 0 0 10 10 0 0 255\n");
+    try {
+      follower.poll();
+      fail("Appended lines were malformed");
+    } catch (IllegalStateException e) {
+      assertTrue(e.getMessage().startsWith("2 appended lines could not be read"));
+    }
+    // Only the malformed lines were left out
+    IModel model = follower.getModel();
+    assertEquals(2, model.getShapes().size());
+    assertEquals(2, model.getShapeWithName("R").getMotions().size());
+    assertEquals(1, model.getShapeWithName("C").getMotions().size());
+    assertEquals(30, follower.getLastTick());
+    assertEquals(0, follower.poll());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFileBecameShorter() throws IOException {
+    AnimationFollower follower = new AnimationFollower(this.file, false);
+    Files.write(this.file, "canvas 0 0 1 1\n".getBytes(StandardCharsets.US_ASCII));
+    follower.poll();
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    Files.write(this.file, new byte[0]);
+    AnimationFollower follower = new AnimationFollower(this.file, false);
+    assertEquals(0, follower.getModel().getShapes().size());
+    this.append("shape C ellipse\nmotion C 5 0 0 10 10 0 0 255 15 0 0 10 10 0 0 255\n");
+    assertEquals(1, follower.poll());
+    assertEquals(15, follower.getLastTick());
+  }
+
+  @Test
+  public void testControllerShowsRepeatedErrorOnce() throws Exception {
+    AnimationFollower follower = new AnimationFollower(this.file, false);
+    StringBuilder log = new StringBuilder();
+    VisualController controller = new VisualController(
+        new ConfirmInputs(log, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), null),
+        follower.getModel());
+    SwingUtilities.invokeAndWait(() -> controller.follow(follower));
+
+    // Every poll fails the same way once the file is shorter than what was read
+    Files.write(this.file, "canvas 0 0 1 1\n".getBytes(StandardCharsets.US_ASCII));
+    Thread.sleep(1000);
+    String[] shown = new String[1];
+    SwingUtilities.invokeAndWait(() -> shown[0] = log.toString());
+    assertEquals("Error following the animation file: "
+        + "Animation file became shorter while being followed", shown[0]);
+  }
+}
@@ -0,0 +1,127 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.util.AnimationGenerator;
+import cs3500.animator.util.AnimationGenerator.Overlap;
+import cs3500.animator.util.AnimationReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Test class for {@link AnimationGenerator}: Ensures generated animations have the requested shape
+ * and motion counts and timing, and are accepted by the model for every kind of overlap.
+ */
+public class AnimationGeneratorTest {
+
+  /**
+   * Generates an animation with the given generator and reads it into a model, which checks that
+   * its motions are valid.
+   */
+  private static IModel generateModel(AnimationGenerator generator) throws IOException {
+    StringBuilder text = new StringBuilder();
+    generator.generate(text);
+    return (IModel) AnimationReader.parseFile(new StringReader(text.toString()),
+        new AnimationBuilderImpl());
+  }
+
+  @Test
+  public void testCountsAndCanvas() throws IOException {
+    IModel model = generateModel(new AnimationGenerator(7, 5).setCanvasSize(300, 200));
+    assertEquals(300, model.getCanvasWidth());
+    assertEquals(200, model.getCanvasHeight());
+    List<Shape> shapes = model.getShapes();
+    assertEquals(7, shapes.size());
+    assertEquals("Rectangle", shapes.get(0).getClass().getSimpleName());
+    assertEquals("Oval", shapes.get(1).getClass().getSimpleName());
+    for (Shape s : shapes) {
+      assertEquals(5, s.getMotions().size());
+    }
+  }
+
+  @Test
+  public void testEveryOverlapIsValid() throws IOException {
+    for (Overlap overlap : Overlap.values()) {
+      for (int ticks = 2; ticks <= 5; ticks++) {
+        IModel model = generateModel(new AnimationGenerator(4, 20).setOverlap(overlap)
+            .setTicksPerMotion(ticks).setShapeStagger(3).setSeed(ticks));
+        assertEquals(4, model.getShapes().size());
+      }
+    }
+  }
+
+  @Test
+  public void testTiming() throws IOException {
+    List<Shape> shapes = generateModel(new AnimationGenerator(2, 3).setTicksPerMotion(4)
+        .setShapeStagger(7).setOverlap(Overlap.GAPS)).getShapes();
+    List<IMotion> motions = shapes.get(1).getMotions();
+    assertEquals(7, motions.get(0).getStartingKeyframe().getTick());
+    assertEquals(11, motions.get(0).getEndingKeyframe().getTick());
+    assertEquals(15, motions.get(1).getStartingKeyframe().getTick());
+    assertEquals(23, motions.get(2).getStartingKeyframe().getTick());
+
+    motions = generateModel(new AnimationGenerator(1, 3).setTicksPerMotion(5)
+        .setOverlap(Overlap.OVERLAPPING)).getShapes().get(0).getMotions();
+    assertEquals(3, motions.get(1).getStartingKeyframe().getTick());
+    assertEquals(6, motions.get(2).getStartingKeyframe().getTick());
+    assertEquals(11, motions.get(2).getEndingKeyframe().getTick());
+  }
+
+  @Test
+  public void testSameSeedSameAnimation() throws IOException {
+    StringBuilder first = new StringBuilder();
+    StringBuilder second = new StringBuilder();
+    StringBuilder other = new StringBuilder();
+    new AnimationGenerator(10, 10).setSeed(42).generate(first);
+    new AnimationGenerator(10, 10).setSeed(42).generate(second);
+    new AnimationGenerator(10, 10).setSeed(43).generate(other);
+    assertEquals(first.toString(), second.toString());
+    assertNotEquals(first.toString(), other.toString());
+  }
+
+  @Test
+  public void testGenerateFile() throws IOException {
+    Path file = Files.createTempFile("generated", ".txt");
+    try {
+      AnimationGenerator.main(new String[]{"-out", file.toString(), "-shapes", "3",
+          "-motions", "4", "-overlap", "overlapping", "-canvas", "50", "60"});
+      StringBuilder text = new StringBuilder();
+      new AnimationGenerator(3, 4).setOverlap(Overlap.OVERLAPPING).setCanvasSize(50, 60)
+          .generate(text);
+      assertEquals(text.toString(),
+          new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverlappingOneTickMotions() throws IOException {
+    new AnimationGenerator(1, 2).setTicksPerMotion(1).setOverlap(Overlap.OVERLAPPING)
+        .generate(new StringBuilder());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyTicks() throws IOException {
+    new AnimationGenerator(3, 2).setShapeStagger(Integer.MAX_VALUE / 2)
+        .generate(new StringBuilder());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCount() {
+    new AnimationGenerator(-1, 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownOption() throws IOException {
+    AnimationGenerator.main(new String[]{"-out", "x.txt", "-colors", "3"});
+  }
+}
@@ -0,0 +1,175 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.util.ParallelAnimationReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * Test class for {@link AnimationReader}: Ensures that animation files are split into tokens and
+ * read into a builder correctly, and that malformed files are reported with the right message.
+ */
+public class AnimationReaderTest {
+
+  private IModel read(String text) {
+    return (IModel) AnimationReader.parseFile(new StringReader(text), new AnimationBuilderImpl());
+  }
+
+  @Test
+  public void testReadAnimation() {
+    IModel model = read("canvas -5 10 300 200\n"
+        + "shape R rectangle\n"
+        + "motion R 1 200 200 50 100 255 0 0  10 200 200 50 100 255 0 0\n"
+        + "motion R 10 200 200 50 100 255 0 0  50 300 -300 50 100 255 0 0\n");
+    assertEquals(-5, model.getCanvasX());
+    assertEquals(10, model.getCanvasY());
+    assertEquals(300, model.getCanvasWidth());
+    assertEquals(200, model.getCanvasHeight());
+    assertEquals(2, model.getMotionsForShape(model.getShapeWithName("R")).size());
+    Keyframe last = model.getKeyframesForShape("R").get(2);
+    assertEquals(50, last.getTick());
+    assertEquals(-300, last.getY());
+  }
+
+  @Test
+  public void testCommentsAndWhitespace() {
+    IModel model = read("# a comment on its own line\n"
+        + "canvas\t0 0\r\n 100 100 # a comment after a line\n"
+        + "shape C#comment right after a name\n ellipse\n"
+        + "motion C 1 0 0 10 10 0 0 255 5 +5 5 10 10 0 0 255");
+    assertEquals(100, model.getCanvasWidth());
+    assertEquals(5, model.getKeyframesForShape("C").get(1).getX());
+  }
+
+  @Test
+  public void testEmptyInput() {
+    IModel model = read("  \n# nothing here\n");
+    assertEquals(0, model.getShapes().size());
+  }
+
+  @Test
+  public void testNonIntegerField() {
+    try {
+      read("canvas 0 0 wide 100");
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("Canvas: expected integer for width, got: wide", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testIntegerOutOfRange() {
+    try {
+      read("canvas 0 0 2147483648 100");
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("Canvas: expected integer for width, got: 2147483648", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testMissingField() {
+    try {
+      read("shape R rectangle\nmotion R 1 2 3");
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("cs3500.animator.model.Motion: expected integer for initial width, "
+          + "but no more input available", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testUnexpectedKeyword() {
+    try {
+      read("canvas 0 0 10 10\nrotate R 90\nshape R rectangle");
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("Unexpected keyword: rotate R 90", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testReadMappedFile() throws IOException {
+    Path file = Files.createTempFile("animation", ".txt");
+    try {
+      Files.write(file, ("canvas 0 0 100 100 # comment\n"
+          + "shape R rectangle\n"
+          + "motion R 1 0 0 10 10 0 0 255  5 -20 5 10 10 0 0 255\n").getBytes(
+          StandardCharsets.US_ASCII));
+      IModel model = (IModel) AnimationReader.parseMappedFile(file, new AnimationBuilderImpl());
+      assertEquals(100, model.getCanvasHeight());
+      assertEquals(-20, model.getKeyframesForShape("R").get(1).getX());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testReadMappedFileError() throws IOException {
+    Path file = Files.createTempFile("animation", ".txt");
+    try {
+      Files.write(file, "canvas 0 0 100 tall".getBytes(StandardCharsets.US_ASCII));
+      AnimationReader.parseMappedFile(file, new AnimationBuilderImpl());
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("Canvas: expected integer for height, got: tall", e.getMessage());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testReadFileInParallel() throws IOException {
+    // Large enough to be split into several chunks, with a motion split across lines
+    StringBuilder text = new StringBuilder("canvas 0 0 100 100\n");
+    for (int i = 0; i < 20000; i++) {
+      text.append("shape S").append(i).append(" ellipse\n")
+          .append("motion S").append(i).append(" 1 0 0 10 10 0 0 255\n")
+          .append("  5 ").append(i).append(" 0 10 10 0 0 255 # moves right\n");
+    }
+    Path file = Files.createTempFile("animation", ".txt");
+    try {
+      Files.write(file, text.toString().getBytes(StandardCharsets.US_ASCII));
+      IModel model = (IModel) ParallelAnimationReader.parseFile(file, new AnimationBuilderImpl(),
+          new ForkJoinPool(4));
+      assertEquals(20000, model.getShapes().size());
+      for (int i = 0; i < 20000; i += 999) {
+        assertEquals("S" + i, model.getShapes().get(i).getName());
+        assertEquals(i, model.getKeyframesForShape("S" + i).get(1).getX());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testReadFileInParallelError() throws IOException {
+    StringBuilder text = new StringBuilder("canvas 0 0 100 100\n");
+    for (int i = 0; i < 20000; i++) {
+      text.append("shape S").append(i).append(" ellipse\n")
+          .append("motion S").append(i).append(" 1 0 0 10 10 0 0 255 5 0 0 10 10 0 0 255\n");
+    }
+    text.append("motion S0 5 far\n");
+    text.append("canvas 0 0 100\n");
+    Path file = Files.createTempFile("animation", ".txt");
+    try {
+      Files.write(file, text.toString().getBytes(StandardCharsets.US_ASCII));
+      ParallelAnimationReader.parseFile(file, new AnimationBuilderImpl(), new ForkJoinPool(4));
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("cs3500.animator.model.Motion: expected integer for initial x-coordinate, "
+          + "got: far", e.getMessage());
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,264 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cs3500.animator.controller.TextController;
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Motion;
+import cs3500.animator.model.Rectangle;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.util.AnimationConverter;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.util.BinaryAnimationReader;
+import cs3500.animator.util.BinaryAnimationWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ * Test class for {@link BinaryAnimationReader}, {@link BinaryAnimationWriter} and {@link
+ * AnimationConverter}: Ensures animations saved in the binary format load back into the same
+ * animation, judged by the output of {@link TextController}, and that files that are not binary
+ * animations are rejected.
+ */
+public class BinaryAnimationTest {
+
+  /**
+   * Gets the text description of an animation from a text controller.
+   */
+  private static String describe(IModel model) throws IOException {
+    StringBuilder log = new StringBuilder();
+    new TextController(new ConfirmInputs(log, null, null, null, null), model)
+        .createTextView(new StringBuilder());
+    return log.toString();
+  }
+
+  private static byte[] write(IModel model) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryAnimationWriter.write(model, out);
+    return out.toByteArray();
+  }
+
+  private static IModel read(byte[] binary) throws IOException {
+    return (IModel) BinaryAnimationReader.parseStream(new ByteArrayInputStream(binary),
+        new AnimationBuilderImpl());
+  }
+
+  /**
+   * Creates a small animation with one moving shape.
+   */
+  private static IModel smallModel() {
+    return (IModel) new AnimationBuilderImpl()
+        .setBounds(0, 0, 100, 100)
+        .declareShape("R", "rectangle")
+        .addMotion("R", 1, 0, 0, 10, 10, 0, 0, 255, 5, 20, 0, 10, 10, 0, 0, 255)
+        .build();
+  }
+
+  @Test
+  public void testExamplesRoundTrip() throws IOException {
+    for (String file : new String[]{"buildings", "hanoi", "big-bang-big-crunch"}) {
+      IModel model;
+      try (FileReader reader = new FileReader("Examples/" + file + ".txt")) {
+        model = (IModel) AnimationReader.parseFile(reader, new AnimationBuilderImpl());
+      }
+      byte[] binary = write(model);
+      IModel loaded = read(binary);
+      assertEquals(file, describe(model), describe(loaded));
+      assertArrayEquals(file, binary, write(loaded));
+    }
+  }
+
+  @Test
+  public void testExtremeValuesRoundTrip() throws IOException {
+    IModel model = (IModel) AnimationReader.parseFile(new StringReader(
+        "canvas -2147483648 -7 2147483647 1\n"
+            + "shape \u00e9toile ellipse\n"
+            + "shape empty rectangle\n"
+            + "motion \u00e9toile 0 -2147483648 2147483647 0 1 0 0 0"
+            + "  2147483647 2147483647 -2147483648 5 1 255 255 255\n"),
+        new AnimationBuilderImpl());
+    IModel loaded = read(write(model));
+    assertEquals(-2147483648, loaded.getCanvasX());
+    assertEquals(2147483647, loaded.getCanvasWidth());
+    assertEquals(describe(model), describe(loaded));
+  }
+
+  @Test
+  public void testRepeatedMotionsAreSmall() throws IOException {
+    StringBuilder text = new StringBuilder("canvas 0 0 100 100\nshape R rectangle\n");
+    for (int i = 0; i < 1000; i++) {
+      text.append("motion R ").append(i).append(" 5 ").append(i).append(" 10 10 0 0 0 ")
+          .append(i + 1).append(" 5 ").append(i + 1).append(" 10 10 0 0 0\n");
+    }
+    IModel model = (IModel) AnimationReader.parseFile(new StringReader(text.toString()),
+        new AnimationBuilderImpl());
+    // A marker byte for each keyframe, and one byte for each of the two fields that change
+    assertTrue(write(model).length < 1000 * 4 + 100);
+  }
+
+  @Test
+  public void testConvertFiles() throws IOException {
+    Path binary = Files.createTempFile("animation", ".bin");
+    Path text = Files.createTempFile("animation", ".txt");
+    Path binaryAgain = Files.createTempFile("animation", ".bin");
+    try {
+      AnimationConverter.main(new String[]{"Examples/hanoi.txt", binary.toString()});
+      assertTrue(BinaryAnimationReader.isBinaryFile(binary));
+      AnimationConverter.main(new String[]{binary.toString(), text.toString()});
+      assertFalse(BinaryAnimationReader.isBinaryFile(text));
+      AnimationConverter.main(new String[]{text.toString(), binaryAgain.toString()});
+      assertArrayEquals(Files.readAllBytes(binary), Files.readAllBytes(binaryAgain));
+
+      IModel model = (IModel) BinaryAnimationReader.parseFile(binary, new AnimationBuilderImpl());
+      try (FileReader reader = new FileReader("Examples/hanoi.txt")) {
+        assertEquals(describe((IModel) AnimationReader.parseFile(reader,
+            new AnimationBuilderImpl())), describe(model));
+      }
+    } finally {
+      Files.delete(binary);
+      Files.delete(text);
+      Files.delete(binaryAgain);
+    }
+  }
+
+  @Test
+  public void testNotBinary() throws IOException {
+    try {
+      read("canvas 0 0 10 10".getBytes(StandardCharsets.US_ASCII));
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("Not a binary animation", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testUnsupportedVersion() throws IOException {
+    byte[] binary = write(smallModel());
+    binary[7] = 3;
+    try {
+      read(binary);
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("Unsupported binary animation version: 3", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testCutShort() throws IOException {
+    byte[] binary = write(smallModel());
+    try {
+      read(Arrays.copyOf(binary, binary.length - 1));
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("Binary animation ends unexpectedly", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testTrailingData() throws IOException {
+    byte[] binary = write(smallModel());
+    try {
+      read(Arrays.copyOf(binary, binary.length + 1));
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("Unexpected data after the end of the animation", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testOpenExamples() throws IOException {
+    Path binary = Files.createTempFile("animation", ".bin");
+    try {
+      for (String file : new String[]{"buildings", "hanoi", "big-bang-big-crunch"}) {
+        IModel model;
+        try (FileReader reader = new FileReader("Examples/" + file + ".txt")) {
+          model = (IModel) AnimationReader.parseFile(reader, new AnimationBuilderImpl());
+        }
+        BinaryAnimationWriter.writeFile(model, binary);
+        assertEquals(file, describe(model), describe(BinaryAnimationReader.openFile(binary)));
+      }
+    } finally {
+      Files.delete(binary);
+    }
+  }
+
+  @Test
+  public void testOpenReadsShapesWhenNeeded() throws IOException {
+    // Shapes added to an animation are not checked, so an invalid shape can be saved
+    IModel model = new ShapeAnimation(new ArrayList<>(), 0, 0, 100, 100);
+    model.addShape(smallModel().getShapeWithName("R"));
+    model.addShape(new Rectangle("bad", new ArrayList<>(Arrays.asList(
+        new Motion(new Keyframe(1, 0, 0, 0, 0, 0, 10, 10), new Keyframe(5, 20, 0, 0, 0, 0, 10, 10)),
+        new Motion(new Keyframe(5, 99, 0, 0, 0, 0, 10, 10),
+            new Keyframe(9, 0, 0, 0, 0, 0, 10, 10))))));
+    Path binary = Files.createTempFile("animation", ".bin");
+    try {
+      BinaryAnimationWriter.writeFile(model, binary);
+      IModel opened = BinaryAnimationReader.openFile(binary);
+      assertEquals(2, opened.getShapes().size());
+      assertEquals(1, opened.getShapeWithName("R").getMotions().size());
+      Shape bad = opened.getShapeWithName("bad");
+      assertEquals(0, opened.getMotionsAtTick(bad, 10).size());
+      try {
+        bad.getMotions();
+        fail("Expected an IllegalArgumentException");
+      } catch (IllegalArgumentException e) {
+        assertEquals("One motion must start in the same state that the one before it left off",
+            e.getMessage());
+      }
+    } finally {
+      Files.delete(binary);
+    }
+  }
+
+  @Test
+  public void testReadVersionWithoutDirectory() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write("ANIMBIN".getBytes(StandardCharsets.US_ASCII));
+    // Version 1, a canvas of 0 0 100 100, and a table of one rectangle named R
+    out.write(new byte[]{1, 0, 0, (byte) 0xC8, 1, (byte) 0xC8, 1, 1, 1, 'R', 9});
+    out.write("rectangle".getBytes(StandardCharsets.US_ASCII));
+    // One motion from all zeros at tick 0 to x 5 at tick 10
+    out.write(new byte[]{1, 0, 3, 20, 10});
+    Path binary = Files.createTempFile("animation", ".bin");
+    try {
+      Files.write(binary, out.toByteArray());
+      String expected = describe((IModel) AnimationReader.parseFile(new StringReader(
+          "canvas 0 0 100 100\nshape R rectangle\nmotion R 0 0 0 0 0 0 0 0 10 5 0 0 0 0 0 0\n"),
+          new AnimationBuilderImpl()));
+      assertEquals(expected, describe(read(out.toByteArray())));
+      assertEquals(expected, describe(BinaryAnimationReader.openFile(binary)));
+    } finally {
+      Files.delete(binary);
+    }
+  }
+
+  @Test
+  public void testOpenCutShort() throws IOException {
+    byte[] binary = write(smallModel());
+    Path file = Files.createTempFile("animation", ".bin");
+    try {
+      Files.write(file, Arrays.copyOf(binary, binary.length - 1));
+      BinaryAnimationReader.openFile(file);
+      fail("Expected an IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertEquals("Binary animation ends unexpectedly", e.getMessage());
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -1,8 +1,12 @@
 import cs3500.animator.controller.IFeatures;
 import cs3500.animator.view.IView;
 import java.awt.Color;
+import java.awt.Rectangle;
 import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.RenderedImage;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -46,12 +50,27 @@ public class ConfirmInputs implements IView {
 
   }
 
+  @Override
+  public void writePNG(RenderedImage image, String directory, int tick, int lastTick) {
+    this.log.append(String.format("%d/%d", tick, lastTick));
+  }
+
   @Override
   public void addShapes(List<Shape> currentShapes, List<Color> currentColors) {
     this.currentShapes.addAll(currentShapes);
     this.currentColors.addAll(currentColors);
   }
 
+  @Override
+  public void addFrame(int count, int[] geometry, int[] argb, boolean[] ellipse) {
+    for (int i = 0; i < count; i++) {
+      int[] g = Arrays.copyOfRange(geometry, 4 * i, 4 * i + 4);
+      this.currentShapes.add(ellipse[i] ? new Ellipse2D.Double(g[0], g[1], g[2], g[3])
+          : new Rectangle(g[0], g[1], g[2], g[3]));
+      this.currentColors.add(new Color(argb[i], true));
+    }
+  }
+
   @Override
   public void setCanvasSize(int x, int y, int width, int height) {
     this.log.append(String.format("%d,%d,%d,%d", x, y, width, height));
@@ -63,6 +82,11 @@ public class ConfirmInputs implements IView {
     // no inputs to test so do nothing.
   }
 
+  @Override
+  public void setDirtyRegions(boolean dirtyRegions) {
+    // no inputs to test so do nothing.
+  }
+
   @Override
   public void makeVisible() throws UnsupportedOperationException {
     // no inputs to test so do nothing.
@@ -0,0 +1,231 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.controller.IFeatures;
+import cs3500.animator.controller.VisualController;
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Motion;
+import cs3500.animator.model.Rectangle;
+import cs3500.animator.model.ShapeAnimation;
+import cs3500.animator.view.IView;
+import cs3500.animator.view.ViewPanel;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Shape;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+import org.junit.Test;
+
+/**
+ * Stress test for handing frames from the {@link VisualController} to a {@link ViewPanel}: frames
+ * are added as fast as possible while another thread keeps painting the panel, and every painted
+ * image must show a whole frame. Each frame draws two separate squares in the same color, so a
+ * painted image with the squares in different colors mixes two frames.
+ */
+public class FrameHandoffStressTest {
+
+  private static final long RUN_MILLIS = 1000;
+
+  /**
+   * Creates a panel that can be painted headless.
+   */
+  private static ViewPanel makePanel(boolean dirtyRegions) {
+    ViewPanel panel = new ViewPanel();
+    panel.setPreferredSize(new Dimension(100, 100));
+    panel.setSize(100, 100);
+    panel.setBackground(Color.WHITE);
+    panel.setDirtyRegions(dirtyRegions);
+    return panel;
+  }
+
+  /**
+   * Paints the panel over and over until told to stop, counting the images in which the two
+   * squares have different colors.
+   *
+   * @return the number of images painted and the number of mixed images
+   */
+  private static long[] paintUntilStopped(ViewPanel panel, AtomicBoolean running) {
+    BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+    long painted = 0;
+    long mixed = 0;
+    while (running.get()) {
+      panel.paint(image.getGraphics());
+      if (image.getRGB(10, 10) != image.getRGB(70, 70)) {
+        mixed++;
+      }
+      painted++;
+    }
+    return new long[]{painted, mixed};
+  }
+
+  private static void hammerPanel(boolean dirtyRegions) throws InterruptedException {
+    ViewPanel panel = makePanel(dirtyRegions);
+    AtomicBoolean running = new AtomicBoolean(true);
+    Thread writer = new Thread(() -> {
+      int k = 0;
+      while (running.get()) {
+        Color color = new Color(k % 256, 255 - k % 256, (k / 256) % 256);
+        // The second square moves, so dirty regions also cover shapes changing place
+        List<Shape> shapes = Arrays.asList(new java.awt.Rectangle(0, 0, 20, 20),
+            new java.awt.Rectangle(60 + k % 2, 60, 20, 20));
+        panel.addShapes(shapes, Arrays.asList(color, color));
+        k++;
+      }
+    });
+    writer.start();
+    AtomicReference<long[]> result = new AtomicReference<>();
+    Thread reader = new Thread(() -> result.set(paintUntilStopped(panel, running)));
+    reader.start();
+    Thread.sleep(RUN_MILLIS);
+    running.set(false);
+    writer.join();
+    reader.join();
+    assertTrue(result.get()[0] > 0);
+    assertEquals(0, result.get()[1]);
+  }
+
+  @Test
+  public void testAddingAndPaintingFrames() throws InterruptedException {
+    hammerPanel(false);
+  }
+
+  @Test
+  public void testAddingAndPaintingFramesWithDirtyRegions() throws InterruptedException {
+    hammerPanel(true);
+  }
+
+  @Test
+  public void testPlaybackWhilePainting() throws Exception {
+    ViewPanel panel = makePanel(true);
+    // Two squares that change color the same way over 100 ticks
+    List<IMotion> motionsA = new ArrayList<>(Collections.singletonList(new Motion(
+        new Keyframe(0, 0, 0, 255, 0, 0, 20, 20), new Keyframe(100, 0, 0, 0, 0, 255, 20, 20))));
+    List<IMotion> motionsB = new ArrayList<>(Collections.singletonList(new Motion(
+        new Keyframe(0, 60, 60, 255, 0, 0, 20, 20), new Keyframe(100, 60, 60, 0, 0, 255, 20, 20))));
+    IModel model = new ShapeAnimation(new ArrayList<>(Arrays.asList(
+        new Rectangle("a", motionsA), new Rectangle("b", motionsB))), 0, 0, 100, 100);
+    VisualController controller = new VisualController(new PanelView(panel), model);
+    controller.setTempo(2000);
+    controller.setTargetFrameRate(1000);
+    controller.toggleLooping();
+
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicReference<long[]> result = new AtomicReference<>();
+    Thread reader = new Thread(() -> result.set(paintUntilStopped(panel, running)));
+    SwingUtilities.invokeAndWait(controller::startAnimation);
+    reader.start();
+    Thread.sleep(RUN_MILLIS);
+    SwingUtilities.invokeAndWait(controller::pauseAnimation);
+    running.set(false);
+    reader.join();
+    assertTrue(result.get()[0] > 0);
+    assertEquals(0, result.get()[1]);
+  }
+
+  /**
+   * A view that only sends frames to a panel, without a window, so it can be used headless.
+   */
+  private static class PanelView implements IView {
+
+    private final ViewPanel panel;
+
+    PanelView(ViewPanel panel) {
+      this.panel = panel;
+    }
+
+    @Override
+    public void generateSVG(Appendable a, String svgText) {
+      // not a visual input
+    }
+
+    @Override
+    public void printTextView(String textDescription, Appendable a) {
+      // not a visual input
+    }
+
+    @Override
+    public void writePNG(RenderedImage image, String directory, int tick, int lastTick) {
+      // not a visual input
+    }
+
+    @Override
+    public void addShapes(List<Shape> currentShapes, List<Color> currentColors) {
+      this.panel.addShapes(currentShapes, currentColors);
+    }
+
+    @Override
+    public void addFrame(int count, int[] geometry, int[] argb, boolean[] ellipse) {
+      this.panel.addFrame(count, geometry, argb, ellipse);
+    }
+
+    @Override
+    public void setCanvasSize(int x, int y, int width, int height) {
+      this.panel.setPreferredSize(new Dimension(width, height));
+    }
+
+    @Override
+    public void refresh() {
+      // the panel repaints itself
+    }
+
+    @Override
+    public void setDirtyRegions(boolean dirtyRegions) {
+      this.panel.setDirtyRegions(dirtyRegions);
+    }
+
+    @Override
+    public void makeVisible() {
+      // no window to show
+    }
+
+    @Override
+    public void addFeatures(IFeatures features) {
+      // no editor
+    }
+
+    @Override
+    public void initializeSpeedChanger(int speed) {
+      // no editor
+    }
+
+    @Override
+    public void initializeShapeList(List<String> shapes) {
+      // no editor
+    }
+
+    @Override
+    public void initializeKeyframeList(List<String> keyframes) {
+      // no editor
+    }
+
+    @Override
+    public void makePopupError(String message) {
+      // no editor
+    }
+
+    @Override
+    public void updateKeyframeEditorGUI(int x, int y, int r, int g, int b, int height,
+        int width) {
+      // no editor
+    }
+
+    @Override
+    public void initializeScrubber(int lastTick) {
+      // no editor
+    }
+
+    @Override
+    public void updateScrubber(int currentTick) {
+      // no editor
+    }
+  }
+}
@@ -0,0 +1,77 @@
+import static org.junit.Assert.assertEquals;
+
+import cs3500.animator.controller.FrameScheduler;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link FrameScheduler}: Ensures frames are coalesced to the target frame rate and
+ * that dropped frames, skipped ticks and render times are counted, using a fake time source.
+ */
+public class FrameSchedulerTest {
+
+  private long now;
+  private FrameScheduler scheduler;
+
+  @Before
+  public void initial() {
+    this.now = 0;
+    // one frame every 10 ms
+    this.scheduler = new FrameScheduler(100, () -> this.now);
+  }
+
+  @Test
+  public void testFirstFrameWaitsOnlyForTick() {
+    assertEquals(3_000_000L, this.scheduler.scheduleNextFrame(3_000_000L));
+  }
+
+  @Test
+  public void testFastTicksWaitForFramePeriod() {
+    this.scheduler.beginFrame(0);
+    this.now += 2_000_000L;
+    this.scheduler.endFrame();
+    // the next tick is in 1 ms, but the next frame is not allowed for another 8 ms
+    assertEquals(8_000_000L, this.scheduler.scheduleNextFrame(1_000_000L));
+  }
+
+  @Test
+  public void testSlowTicksWaitForTick() {
+    this.scheduler.beginFrame(0);
+    this.scheduler.endFrame();
+    assertEquals(50_000_000L, this.scheduler.scheduleNextFrame(50_000_000L));
+  }
+
+  @Test
+  public void testStatistics() {
+    this.scheduler.beginFrame(0);
+    this.now += 2_000_000L;
+    this.scheduler.endFrame();
+    this.scheduler.scheduleNextFrame(0);
+    // starts 25 ms after it was due 8 ms from now: two frame periods late
+    this.now += 33_000_000L;
+    this.scheduler.beginFrame(4);
+    this.now += 4_000_000L;
+    this.scheduler.endFrame();
+    assertEquals(2, this.scheduler.getFramesRendered());
+    assertEquals(2, this.scheduler.getFramesDropped());
+    assertEquals(3, this.scheduler.getTicksSkipped());
+    assertEquals(4_000_000L, this.scheduler.getLastRenderNanos());
+    assertEquals(4_000_000L, this.scheduler.getMaxRenderNanos());
+    assertEquals(3_000_000L, this.scheduler.getAverageRenderNanos());
+  }
+
+  @Test
+  public void testResetForgetsLastTick() {
+    this.scheduler.beginFrame(0);
+    this.scheduler.endFrame();
+    this.scheduler.reset();
+    this.scheduler.beginFrame(50);
+    this.scheduler.endFrame();
+    assertEquals(0, this.scheduler.getTicksSkipped());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroFrameRate() {
+    new FrameScheduler(0);
+  }
+}
@@ -1,4 +1,6 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 import cs3500.animator.controller.IController;
 import cs3500.animator.controller.TextController;
@@ -8,6 +10,7 @@ import cs3500.animator.model.Motion;
 import cs3500.animator.model.Rectangle;
 import cs3500.animator.model.Shape;
 import cs3500.animator.model.ShapeAnimation;
+import cs3500.animator.model.SingleKeyframeMotion;
 import cs3500.animator.view.TextView;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -43,4 +46,26 @@ public class KeyframeTest {
 
     assertEquals(3, rectA.getKeyframes().size());
   }
+
+  @Test
+  public void testKeyframeEquality() {
+    Keyframe k = new Keyframe(5, 1, 2, 3, 4, 5, 6, 7);
+    assertEquals(new Keyframe(5, 1, 2, 3, 4, 5, 6, 7), k);
+    assertEquals(new Keyframe(5, 1, 2, 3, 4, 5, 6, 7).hashCode(), k.hashCode());
+    assertNotEquals(new Keyframe(5, 1, 2, 3, 4, 5, 6, 8), k);
+    assertNotEquals(new Keyframe(6, 1, 2, 3, 4, 5, 6, 7), k);
+  }
+
+  @Test
+  public void testMotionSharesKeyframes() {
+    Keyframe start = new Keyframe(0, 5, 0, 255, 0, 0, 20, 30);
+    Keyframe end = new Keyframe(20, 10, 1, 0, 0, 255, 50, 10);
+    Motion m = new Motion(start, end);
+    assertSame(start, m.getStartingKeyframe());
+    assertSame(end, m.getEndingKeyframe());
+
+    SingleKeyframeMotion single = new SingleKeyframeMotion(start);
+    assertSame(start, single.getStartingKeyframe());
+    assertSame(start, single.getEndingKeyframe());
+  }
 }
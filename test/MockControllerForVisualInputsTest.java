@@ -2,6 +2,7 @@ import cs3500.animator.controller.IController;
 import cs3500.animator.model.IModel;
 import cs3500.animator.model.IMotion;
 import cs3500.animator.model.Shape;
+import cs3500.animator.util.AnimationFollower;
 import cs3500.animator.view.IView;
 import java.awt.Color;
 import java.awt.Rectangle;
@@ -62,11 +63,51 @@ public class MockControllerForVisualInputsTest implements IController {
     findShapesToDraw();
   }
 
+  @Override
+  public void createPNGs(String directory) {
+    // Does nothing for testing
+  }
+
   @Override
   public void setTempo(int t) {
     // Does nothing for testing
   }
 
+  @Override
+  public void setTempo(double t) {
+    // Does nothing for testing
+  }
+
+  @Override
+  public void setTargetFrameRate(double fps) {
+    // Does nothing for testing
+  }
+
+  @Override
+  public void setDirtyRegions(boolean dirtyRegions) {
+    // Does nothing for testing
+  }
+
+  @Override
+  public void setTimeSorted(boolean timeSorted) {
+    // Does nothing for testing
+  }
+
+  @Override
+  public void follow(AnimationFollower follower) {
+    // Does nothing for testing
+  }
+
+  @Override
+  public String getFrameStatistics() {
+    return "";
+  }
+
+  @Override
+  public void setFrameCacheSize(long bytes) {
+    // Does nothing for testing
+  }
+
   @Override
   public int getTempo() throws UnsupportedOperationException {
     return 0;
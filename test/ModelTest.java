@@ -8,9 +8,12 @@ import cs3500.animator.model.Motion;
 import cs3500.animator.model.Oval;
 import cs3500.animator.model.Rectangle;
 import cs3500.animator.model.Shape;
+import cs3500.animator.model.SingleKeyframeMotion;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -406,5 +409,154 @@ public class ModelTest {
 
   }
 
+  @Test
+  public void testMotionsStayInOrderOfStartingTick() {
+    Motion before = new Motion(new Keyframe(0, 10, 0, 0, 0, 255, 50, 10),
+        new Keyframe(5, 10, 0, 0, 0, 255, 50, 10));
+    IMotion single = new SingleKeyframeMotion(new Keyframe(5, 10, 0, 0, 0, 255, 50, 10));
+    rectB.addMotion(single);
+    rectB.addMotion(before);
+
+    assertEquals(new ArrayList<IMotion>(Arrays.asList(before, this.m7, single)),
+        this.rectB.getMotions());
+    assertEquals(before, this.rectB.getMotionBefore(this.m7));
+    assertEquals(single, this.rectB.getMotionAfter(this.m7));
+
+    rectB.removeMotion(this.m7);
+    assertEquals(before, this.rectB.getMotionBefore(single));
+    assertFalse(this.rectB.hasMotion(this.m7));
+  }
 
+  @Test
+  public void testCompactShape() {
+    Keyframe k1 = new Keyframe(0, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k2 = new Keyframe(5, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k3 = new Keyframe(9, 20, 0, 0, 0, 255, 50, 10);
+    Rectangle compact = new Rectangle("compact", new ArrayList<IMotion>(
+        Arrays.asList(new Motion(k2, k3), new SingleKeyframeMotion(k3), new Motion(k1, k2))),
+        true);
+
+    List<IMotion> motions = compact.getMotions();
+    assertEquals(3, motions.size());
+    assertEquals(k1, motions.get(0).getStartingKeyframe());
+    assertEquals(k2, motions.get(1).getStartingKeyframe());
+    assertEquals(k3, motions.get(1).getEndingKeyframe());
+    assertTrue(motions.get(2) instanceof SingleKeyframeMotion);
+    assertEquals(new ArrayList<>(Arrays.asList(k1, k2, k3)), compact.getKeyframes());
+
+    // Motions are compared by value, so an equal motion can be used to remove one
+    assertTrue(compact.hasMotion(new Motion(k2, k3)));
+    assertFalse(compact.hasMotion(new Motion(k2, k2)));
+    assertEquals(k1, compact.getMotionBefore(new Motion(k2, k3)).getStartingKeyframe());
+    compact.removeMotion(new Motion(k1, k2));
+    assertEquals(2, compact.getMotionsAtTick(9).size());
+    assertEquals(0, compact.getMotionsAtTick(4).size());
+  }
+
+  @Test
+  public void testStatesAtTickFromArrays() {
+    Keyframe k1 = new Keyframe(0, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k2 = new Keyframe(5, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k3 = new Keyframe(9, 20, 4, 100, 0, 255, 50, 30);
+    List<IMotion> motions = new ArrayList<>(Arrays.asList(new Motion(k1, k2), new Motion(k2, k3),
+        new SingleKeyframeMotion(k3)));
+    Rectangle compact = new Rectangle("compact", new ArrayList<>(motions), true);
+    Rectangle objects = new Rectangle("objects", new ArrayList<>(motions));
+
+    int[] states = new int[3 * Shape.STATE_SIZE];
+    assertEquals(1, compact.getStatesAtTick(7, states));
+    assertEquals(Arrays.asList(15, 2, 20, 50, 50, 0, 255), Arrays.asList(states[0], states[1],
+        states[2], states[3], states[4], states[5], states[6]));
+
+    // The states read from the arrays are the same as the states of the motion objects
+    for (int tick = -1; tick <= 10; tick++) {
+      int[] fromArrays = new int[3 * Shape.STATE_SIZE];
+      int[] fromObjects = new int[3 * Shape.STATE_SIZE];
+      assertEquals(compact.getMotionsAtTick(tick).size(),
+          compact.getStatesAtTick(tick, fromArrays));
+      assertEquals(objects.getStatesAtTick(tick, fromObjects),
+          compact.getStatesAtTick(tick, fromArrays));
+      assertEquals(Arrays.toString(fromObjects), Arrays.toString(fromArrays));
+    }
+
+    // Nothing is written into an array too short for every state
+    int[] tooShort = new int[Shape.STATE_SIZE];
+    assertEquals(2, compact.getStatesAtTick(9, tooShort));
+    assertEquals(Arrays.toString(new int[Shape.STATE_SIZE]), Arrays.toString(tooShort));
+  }
+
+  @Test
+  public void testLazyShape() {
+    Keyframe k1 = new Keyframe(0, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k2 = new Keyframe(5, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k3 = new Keyframe(9, 20, 0, 0, 0, 255, 50, 10);
+    int[] loads = new int[1];
+    Oval lazy = new Oval("lazy", 0, 9, () -> {
+      loads[0]++;
+      return new ArrayList<>(Arrays.asList(new Motion(k2, k3), new Motion(k1, k2)));
+    });
+
+    // Nothing can be occurring outside the range of ticks, so the motions are not loaded
+    assertEquals("lazy", lazy.getName());
+    assertEquals(0, lazy.getMotionsAtTick(10).size());
+    assertEquals(0, loads[0]);
+
+    assertEquals(1, lazy.getMotionsAtTick(3).size());
+    assertEquals(k1, lazy.getMotions().get(0).getStartingKeyframe());
+    lazy.removeMotion(new Motion(k2, k3));
+    assertEquals(1, lazy.getMotions().size());
+    assertEquals(1, loads[0]);
+  }
+
+  @Test
+  public void testLazyShapeLoadedOnceByManyThreads() throws InterruptedException {
+    Keyframe k1 = new Keyframe(0, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k2 = new Keyframe(5, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k3 = new Keyframe(9, 20, 0, 0, 0, 255, 50, 10);
+    AtomicInteger loads = new AtomicInteger();
+    Rectangle lazy = new Rectangle("lazy", 0, 9, () -> {
+      loads.incrementAndGet();
+      try {
+        // Gives the other threads time to ask for the motions while they are being loaded
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new ArrayList<>(Arrays.asList(new Motion(k1, k2), new Motion(k2, k3)));
+    });
+
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger found = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      int tick = i;
+      Thread t = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        found.addAndGet(lazy.getMotionsAtTick(tick).size());
+      });
+      threads.add(t);
+      t.start();
+    }
+    start.countDown();
+    for (Thread t : threads) {
+      t.join();
+    }
+    assertEquals(1, loads.get());
+    // Ticks 0 to 7 each have one motion, except tick 5 where both motions meet
+    assertEquals(9, found.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLazyShapeWithInvalidMotions() {
+    Keyframe k1 = new Keyframe(0, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k2 = new Keyframe(5, 10, 0, 0, 0, 255, 50, 10);
+    Keyframe k3 = new Keyframe(5, 20, 0, 0, 0, 255, 50, 10);
+    Rectangle lazy = new Rectangle("lazy", 0, 9, () -> new ArrayList<>(Arrays.asList(
+        new Motion(k1, k2), new Motion(k3, new Keyframe(9, 20, 0, 0, 0, 255, 50, 10)))));
+    lazy.getMotions();
+  }
 }
@@ -0,0 +1,104 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import cs3500.animator.controller.IController;
+import cs3500.animator.controller.PNGController;
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Motion;
+import cs3500.animator.model.Oval;
+import cs3500.animator.model.Rectangle;
+import cs3500.animator.model.ShapeAnimation;
+import cs3500.animator.view.PNGView;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test class for {@link PNGController} and {@link PNGView}: Ensures every tick is written as a PNG
+ * showing the interpolated shapes, and that rendering in parallel writes the same files. Nothing
+ * here opens a window, so these tests run headless.
+ */
+public class PNGControllerTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private IModel model;
+
+  @Before
+  public void initial() {
+    // A red square moving right over 10 ticks, and a blue circle appearing at tick 5
+    List<IMotion> rectMotions = new ArrayList<>(Collections.singletonList(new Motion(
+        new Keyframe(0, 10, 10, 255, 0, 0, 20, 20), new Keyframe(10, 60, 10, 255, 0, 0, 20, 20))));
+    List<IMotion> ovalMotions = new ArrayList<>(Collections.singletonList(new Motion(
+        new Keyframe(5, 50, 60, 0, 0, 255, 30, 30), new Keyframe(10, 50, 60, 0, 0, 255, 30, 30))));
+    this.model = new ShapeAnimation(new ArrayList<>(Arrays.asList(
+        new Rectangle("rect", rectMotions), new Oval("oval", ovalMotions))), 10, 10, 100, 100);
+  }
+
+  @Test
+  public void testWritesEveryTick() throws IOException {
+    File out = new File(this.folder.getRoot(), "frames");
+    new PNGController(new PNGView(), this.model, 2).createPNGs(out.getPath());
+    String[] names = out.list();
+    Arrays.sort(names);
+    assertEquals(11, names.length);
+    assertEquals("frame00000.png", names[0]);
+    assertEquals("frame00010.png", names[10]);
+  }
+
+  @Test
+  public void testFramesShowInterpolatedShapes() throws IOException {
+    File out = this.folder.getRoot();
+    new PNGController(new PNGView(), this.model, 3).createPNGs(out.getPath());
+
+    BufferedImage first = ImageIO.read(new File(out, "frame00000.png"));
+    assertEquals(100, first.getWidth());
+    // the square starts at the canvas offset, and the circle is not there yet
+    assertEquals(Color.RED.getRGB(), first.getRGB(5, 5));
+    assertEquals(Color.WHITE.getRGB(), first.getRGB(55, 65));
+
+    // halfway, the square has moved 25 pixels right
+    BufferedImage middle = ImageIO.read(new File(out, "frame00005.png"));
+    assertEquals(Color.WHITE.getRGB(), middle.getRGB(5, 5));
+    assertEquals(Color.RED.getRGB(), middle.getRGB(30, 5));
+    assertEquals(Color.BLUE.getRGB(), middle.getRGB(55, 65));
+  }
+
+  @Test
+  public void testParallelMatchesSequential() throws IOException {
+    File one = this.folder.newFolder("one");
+    File four = this.folder.newFolder("four");
+    new PNGController(new PNGView(), this.model, 1).createPNGs(one.getPath());
+    new PNGController(new PNGView(), this.model, 4).createPNGs(four.getPath());
+    for (String name : one.list()) {
+      assertArrayEquals(name, Files.readAllBytes(new File(one, name).toPath()),
+          Files.readAllBytes(new File(four, name).toPath()));
+    }
+    assertEquals(one.list().length, four.list().length);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoWorkers() {
+    new PNGController(new PNGView(), this.model, 0);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testOtherViewsUnsupported() {
+    IController controller = new PNGController(new PNGView(), this.model);
+    controller.startAnimation();
+  }
+}
@@ -0,0 +1,102 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.controller.PlaybackClock;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link PlaybackClock}: Ensures the tick is computed from the elapsed time, using a
+ * fake time source that the tests move forward by hand.
+ */
+public class PlaybackClockTest {
+
+  private long now;
+  private PlaybackClock clock;
+
+  @Before
+  public void initial() {
+    this.now = 1_000_000_000L;
+    this.clock = new PlaybackClock(10, () -> this.now);
+  }
+
+  @Test
+  public void testPausedClockDoesNotMove() {
+    assertFalse(this.clock.isRunning());
+    this.now += 5_000_000_000L;
+    assertEquals(0, this.clock.tick());
+    assertEquals(-1, this.clock.nanosUntilNextTick());
+  }
+
+  @Test
+  public void testTickComesFromElapsedTime() {
+    this.clock.start();
+    assertTrue(this.clock.isRunning());
+    this.now += 250_000_000L;
+    assertEquals(2.5, this.clock.position(), 1e-9);
+    assertEquals(2, this.clock.tick());
+    assertEquals(50_000_000L, this.clock.nanosUntilNextTick());
+    // A late frame skips straight to the tick that is due
+    this.now += 1_000_000_000L;
+    assertEquals(12, this.clock.tick());
+  }
+
+  @Test
+  public void testPauseAndResume() {
+    this.clock.start();
+    this.now += 330_000_000L;
+    this.clock.pause();
+    this.now += 10_000_000_000L;
+    assertEquals(3, this.clock.tick());
+    this.clock.start();
+    this.now += 70_000_000L;
+    assertEquals(4.0, this.clock.position(), 1e-9);
+  }
+
+  @Test
+  public void testFractionalTempo() {
+    this.clock.setTempo(2.5);
+    this.clock.start();
+    this.now += 1_000_000_000L;
+    assertEquals(2, this.clock.tick());
+    this.now += 200_000_000L;
+    assertEquals(3, this.clock.tick());
+    assertEquals(2.5, this.clock.getTempo(), 0);
+  }
+
+  @Test
+  public void testChangingTempoContinuesFromPosition() {
+    this.clock.start();
+    this.now += 500_000_000L;
+    this.clock.setTempo(1000);
+    assertEquals(5.0, this.clock.position(), 1e-9);
+    this.now += 1_000_000L;
+    assertEquals(6, this.clock.tick());
+  }
+
+  @Test
+  public void testSeek() {
+    this.clock.start();
+    this.now += 500_000_000L;
+    this.clock.seek(40);
+    assertEquals(40, this.clock.tick());
+    this.now += 100_000_000L;
+    assertEquals(41, this.clock.tick());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroTempo() {
+    this.clock.setTempo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNaNTempo() {
+    new PlaybackClock(Double.NaN);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSeek() {
+    this.clock.seek(-1);
+  }
+}
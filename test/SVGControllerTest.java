@@ -0,0 +1,100 @@
+import static org.junit.Assert.assertEquals;
+
+import cs3500.animator.controller.SVGController;
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Motion;
+import cs3500.animator.model.Oval;
+import cs3500.animator.model.Rectangle;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * Test class for {@link SVGController}: Ensures converting shapes in parallel produces exactly the
+ * same SVG as converting them one after another, and that the SVG is written in pieces. Uses
+ * {@link ConfirmInputs} as the view, so these tests also run headless.
+ */
+public class SVGControllerTest {
+
+  /**
+   * Creates an animation of the given number of alternating rectangles and ovals, each with a
+   * different number of motions.
+   */
+  private static IModel makeModel(int shapeCount) {
+    List<Shape> shapes = new ArrayList<>();
+    for (int i = 0; i < shapeCount; i++) {
+      List<IMotion> motions = new ArrayList<>();
+      for (int j = 0; j <= i % 7; j++) {
+        motions.add(new Motion(new Keyframe(10 * j, i, j, i % 256, j, 100, 10 + j, 20),
+            new Keyframe(10 * j + 10, i, j + 1, i % 256, j + 1, 100, 11 + j, 20)));
+      }
+      shapes.add(i % 2 == 0 ? new Rectangle("r" + i, motions) : new Oval("o" + i, motions));
+    }
+    return new ShapeAnimation(shapes, 5, 5, 400, 300);
+  }
+
+  /**
+   * Creates the SVG of the given animation, converting shapes on a pool of the given size.
+   */
+  private static String makeSVG(IModel model, int threads) throws IOException {
+    StringBuilder log = new StringBuilder();
+    SVGController controller = new SVGController(
+        new ConfirmInputs(log, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), null),
+        model, new ForkJoinPool(threads));
+    controller.setTempo(20);
+    controller.createSVG(new StringBuilder());
+    return log.toString();
+  }
+
+  @Test
+  public void testParallelMatchesSerial() throws IOException {
+    IModel model = makeModel(503);
+    String serial = makeSVG(model, 1);
+    assertEquals(serial, makeSVG(model, 3));
+    assertEquals(serial, makeSVG(model, 8));
+  }
+
+  @Test
+  public void testWritesInPieces() throws IOException {
+    IModel model = makeModel(1000);
+    List<String> pieces = new ArrayList<>();
+    SVGController controller = new SVGController(
+        new ConfirmInputs(new StringBuilder(), null, null, null, null) {
+          @Override
+          public void generateSVG(Appendable a, String svgText) {
+            pieces.add(svgText);
+          }
+        }, model, new ForkJoinPool(2));
+    controller.setTempo(20);
+    controller.createSVG(new StringBuilder());
+
+    assertEquals(makeSVG(model, 1), String.join("", pieces));
+    // The header, the footer, and groups of at most 64 shapes
+    assertEquals(2 + 1000 / 64 + 1, pieces.size());
+    assertEquals("</svg>", pieces.get(pieces.size() - 1));
+  }
+
+  @Test
+  public void testFewerShapesThanThreads() throws IOException {
+    IModel model = makeModel(2);
+    assertEquals(makeSVG(model, 1), makeSVG(model, 16));
+  }
+
+  @Test
+  public void testNoShapes() throws IOException {
+    assertEquals("<svg width=\"400\" height=\"300\" version=\"1.1\" "
+        + "xmlns=\"http://www.w3.org/2000/svg\">\n\n</svg>", makeSVG(makeModel(0), 4));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullPool() {
+    new SVGController(new ConfirmInputs(new StringBuilder(), null, null, null, null),
+        makeModel(1), null);
+  }
+}
@@ -1,4 +1,5 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import cs3500.animator.model.IMotion;
 import cs3500.animator.model.Keyframe;
@@ -217,6 +218,38 @@ public class ShapeAnimationTests {
         testAnimation.getShapes());
   }
 
+  @Test
+  public void removeShapeByName() {
+    assertEquals(this.rectA1, this.testAnimation.getShapeWithName("rect A1"));
+
+    this.testAnimation.removeShape("rect A1");
+    this.testAnimation.removeShape("not a shape");
+
+    assertEquals(new ArrayList<Keyframe>(), this.testAnimation.getKeyframesForShape("rect A1"));
+    assertEquals(this.ovalA, this.testAnimation.getShapeWithName("oval A"));
+  }
+
+  @Test
+  public void removeShapeWithDuplicateName() {
+    Rectangle duplicate = new Rectangle("rect A1", new ArrayList<>());
+    this.testAnimation.addShape(duplicate);
+    assertEquals(this.rectA1, this.testAnimation.getShapeWithName("rect A1"));
+    assertEquals(new ArrayList<IMotion>(), this.testAnimation.getMotionsForShape(duplicate));
+
+    this.testAnimation.removeShape("rect A1");
+
+    assertEquals(duplicate, this.testAnimation.getShapeWithName("rect A1"));
+    assertEquals(
+        new ArrayList<Shape>(Arrays.asList(this.rectB, this.ovalA, this.ovalA1, duplicate)),
+        testAnimation.getShapes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getRemovedShapeWithName() {
+    this.testAnimation.removeShape("rect B");
+    this.testAnimation.getShapeWithName("rect B");
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void removeNullShape() {
     assertEquals(
@@ -332,4 +365,94 @@ public class ShapeAnimationTests {
     assertEquals(this.motionsRectA1, this.testAnimation.getMotionsForShape(this.rectA3));
 
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGetMotionsAtTick() {
+    IMotion m6 = this.motionsRectA1.get(2);
+    assertEquals(new ArrayList<>(), this.testAnimation.getMotionsAtTick(this.rectA1, 4));
+    assertEquals(new ArrayList<>(Arrays.asList(this.m4)),
+        this.testAnimation.getMotionsAtTick(this.rectA1, 7));
+    assertEquals(new ArrayList<>(Arrays.asList(this.m4, this.m5)),
+        this.testAnimation.getMotionsAtTick(this.rectA1, 10));
+    assertEquals(new ArrayList<>(Arrays.asList(m6)),
+        this.testAnimation.getMotionsAtTick(this.rectA1, 30));
+    assertEquals(new ArrayList<>(), this.testAnimation.getMotionsAtTick(this.rectA1, 31));
+  }
+
+  @Test
+  public void testGetMotionsAtTickAfterEdit() {
+    assertEquals(new ArrayList<>(Arrays.asList(this.m4)),
+        this.testAnimation.getMotionsAtTick(this.ovalA, 5));
+    this.testAnimation.removeMotion(this.m4, this.ovalA);
+    assertEquals(new ArrayList<>(), this.testAnimation.getMotionsAtTick(this.ovalA, 5));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetMotionsAtTickNonExistent() {
+    this.testAnimation.getMotionsAtTick(this.rectA3, 0);
+  }
+
+  @Test
+  public void testAddMotionBeforeFirst() {
+    IMotion m6 = this.motionsRectA1.get(2);
+    Motion first = new Motion(new Keyframe(0, 5, 0, 255, 0, 0, 20, 30),
+        new Keyframe(5, 5, 0, 255, 0, 0, 20, 30));
+    this.testAnimation.addMotion(first, this.rectA1);
+    assertEquals(new ArrayList<>(Arrays.asList(first, this.m4, this.m5, m6)),
+        this.rectA1.getMotions());
+    assertEquals(first, this.rectA1.getMotionBefore(this.m4));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddMotionInconsistentWithNext() {
+    this.testAnimation.addMotion(new Motion(new Keyframe(0, 5, 0, 255, 0, 0, 20, 30),
+        new Keyframe(5, 9, 0, 255, 0, 0, 20, 30)), this.rectA1);
+  }
+
+  @Test
+  public void testInvalidAddMotionLeavesShapeUnchanged() {
+    List<IMotion> before = this.rectA1.getMotions();
+    try {
+      this.testAnimation.addMotion(new Motion(new Keyframe(0, 5, 0, 255, 0, 0, 20, 30),
+          new Keyframe(5, 9, 0, 255, 0, 0, 20, 30)), this.rectA1);
+      fail("The motion is inconsistent with the motion after it");
+    } catch (IllegalArgumentException e) {
+      assertEquals(before, this.rectA1.getMotions());
+    }
+  }
+
+  @Test
+  public void testInvalidRemoveMotionLeavesShapeUnchanged() {
+    List<IMotion> before = this.rectA1.getMotions();
+    try {
+      this.testAnimation.removeMotion(this.m5, this.rectA1);
+      fail("The motions on either side of the removed motion are inconsistent");
+    } catch (IllegalArgumentException e) {
+      assertEquals(before, this.rectA1.getMotions());
+      assertEquals(this.m5, this.rectA1.getMotionAfter(this.m4));
+    }
+  }
+
+  @Test
+  public void testGetMotionBeforeAndAfter() {
+    IMotion m6 = this.motionsRectA1.get(2);
+    assertEquals(null, this.rectA1.getMotionBefore(this.m4));
+    assertEquals(this.m5, this.rectA1.getMotionAfter(this.m4));
+    assertEquals(this.m5, this.rectA1.getMotionBefore(m6));
+    assertEquals(null, this.rectA1.getMotionAfter(m6));
+    assertEquals(null, this.rectA1.getMotionBefore(this.m3));
+    assertEquals(null, this.rectA1.getMotionAfter(this.m3));
+  }
+
+  @Test
+  public void testGetLastTick() {
+    int lastTick = 0;
+    for (Shape s : this.testAnimation.getShapes()) {
+      for (IMotion m : s.getMotions()) {
+        lastTick = Math.max(lastTick, m.getEndingKeyframe().getTick());
+      }
+    }
+    assertEquals(lastTick, this.testAnimation.getLastTick());
+    assertEquals(0, new ShapeAnimation(new ArrayList<>(), 0, 0, 10, 10).getLastTick());
+  }
+}
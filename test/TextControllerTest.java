@@ -0,0 +1,174 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.controller.TextController;
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Motion;
+import cs3500.animator.model.Oval;
+import cs3500.animator.model.Rectangle;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Test class for {@link TextController}: Ensures the text description written one shape at a time
+ * is exactly the same as the description built as a whole. Uses {@link ConfirmInputs} as the view,
+ * so these tests also run headless.
+ */
+public class TextControllerTest {
+
+  /**
+   * Creates an animation of the given number of alternating rectangles and ovals, where every
+   * third shape has no motions.
+   */
+  private static IModel makeModel(int shapeCount) {
+    List<Shape> shapes = new ArrayList<>();
+    for (int i = 0; i < shapeCount; i++) {
+      List<IMotion> motions = new ArrayList<>();
+      for (int j = 0; j < i % 3; j++) {
+        motions.add(new Motion(new Keyframe(10 * j, i + j, 7, 5, 5, 10, 20, 30),
+            new Keyframe(10 * j + 10, i + j + 1, 7, 5, 5, 10, 20, 30)));
+      }
+      shapes.add(i % 2 == 0 ? new Rectangle("r" + i, motions) : new Oval("o" + i, motions));
+    }
+    return new ShapeAnimation(shapes, 5, 5, 400, 300);
+  }
+
+  /**
+   * Builds the whole text description of an animation at once, then removes its trailing
+   * newlines.
+   */
+  private static String describe(IModel model) {
+    StringBuilder text = new StringBuilder("canvas 5 5 400 300\n");
+    for (Shape s : model.getShapes()) {
+      text.append("shape ").append(s.getName()).append(" ")
+          .append(s.getClass().getSimpleName()).append("\n");
+      for (IMotion m : s.getMotions()) {
+        text.append("motion ").append(s.getName()).append(" ")
+            .append(m.generateDescription()).append("\n");
+      }
+      text.append("\n");
+    }
+    return text.toString().replaceAll("\n$", "");
+  }
+
+  /**
+   * Writes the text description of the given animation, and gets the pieces it was written in.
+   */
+  private static List<String> writePieces(IModel model) throws IOException {
+    return writePieces(model, false);
+  }
+
+  /**
+   * Writes the text description of the given animation, in time order if asked to, and gets the
+   * pieces it was written in.
+   */
+  private static List<String> writePieces(IModel model, boolean timeSorted) throws IOException {
+    List<String> pieces = new ArrayList<>();
+    TextController controller = new TextController(
+        new ConfirmInputs(new StringBuilder(), null, null, null, null) {
+          @Override
+          public void printTextView(String textDescription, Appendable a) {
+            pieces.add(textDescription);
+          }
+        }, model);
+    controller.setTimeSorted(timeSorted);
+    controller.createTextView(new StringBuilder());
+    return pieces;
+  }
+
+  /**
+   * Gets the lines of the given description that start with the given word, in order.
+   */
+  private static List<String> linesStartingWith(String description, String word) {
+    List<String> lines = new ArrayList<>();
+    for (String line : description.split("\n")) {
+      if (line.startsWith(word + " ")) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  @Test
+  public void testMatchesWholeDescription() throws IOException {
+    // The last shape has motions
+    IModel model = makeModel(9);
+    assertEquals(describe(model), String.join("", writePieces(model)));
+    // The last shape has no motions
+    model = makeModel(7);
+    assertEquals(describe(model), String.join("", writePieces(model)));
+  }
+
+  @Test
+  public void testOnePiecePerShape() throws IOException {
+    List<String> pieces = writePieces(makeModel(4));
+    assertEquals(5, pieces.size());
+    assertEquals("canvas 5 5 400 300", pieces.get(0));
+    assertEquals("\nshape r0 Rectangle", pieces.get(1));
+    assertEquals("\n\nshape o1 Oval\nmotion o1 0 1 7 30 20 5 5 10 10 2 7 30 20 5 5 10",
+        pieces.get(2));
+  }
+
+  @Test
+  public void testNoShapes() throws IOException {
+    IModel model = makeModel(0);
+    assertEquals(describe(model), String.join("", writePieces(model)));
+    assertEquals("canvas 5 5 400 300", describe(model));
+  }
+
+  @Test
+  public void testTimeSortedHasSameLines() throws IOException {
+    IModel model = makeModel(9);
+    String grouped = String.join("", writePieces(model));
+    String sorted = String.join("", writePieces(model, true));
+    assertEquals(linesStartingWith(grouped, "shape"), linesStartingWith(sorted, "shape"));
+    List<String> groupedMotions = linesStartingWith(grouped, "motion");
+    List<String> sortedMotions = linesStartingWith(sorted, "motion");
+    Collections.sort(groupedMotions);
+    Collections.sort(sortedMotions);
+    assertEquals(groupedMotions, sortedMotions);
+    assertFalse(sorted.endsWith("\n"));
+  }
+
+  @Test
+  public void testTimeSortedOrder() throws IOException {
+    String sorted = String.join("", writePieces(makeModel(9), true));
+    String[] lines = sorted.split("\n");
+    assertEquals("canvas 5 5 400 300", lines[0]);
+    for (int i = 1; i <= 9; i++) {
+      assertTrue(lines[i].startsWith("shape "));
+    }
+    // Motions are in order of starting tick, and then of shape
+    assertEquals("motion o1 0 1 7 30 20 5 5 10 10 2 7 30 20 5 5 10", lines[10]);
+    assertEquals("motion r2 0 2 7 30 20 5 5 10 10 3 7 30 20 5 5 10", lines[11]);
+    int tick = Integer.MIN_VALUE;
+    for (int i = 10; i < lines.length; i++) {
+      assertTrue(lines[i].startsWith("motion "));
+      int start = Integer.parseInt(lines[i].split(" ")[2]);
+      assertTrue(start >= tick);
+      tick = start;
+    }
+    assertEquals(10 + 9, lines.length);
+  }
+
+  @Test
+  public void testTimeSortedPieces() throws IOException {
+    // Motions are sent to the view a few hundred lines at a time, after one piece of every shape
+    List<String> pieces = writePieces(makeModel(900), true);
+    assertEquals("canvas 5 5 400 300", pieces.get(0));
+    assertFalse(pieces.get(1).contains("motion"));
+    assertEquals(2 + 900 / 256 + 1, pieces.size());
+    assertEquals(256, pieces.get(2).split("\n").length - 1);
+
+    pieces = writePieces(makeModel(0), true);
+    assertEquals("canvas 5 5 400 300", String.join("", pieces));
+  }
+}
@@ -0,0 +1,140 @@
+import static org.junit.Assert.assertEquals;
+
+import cs3500.animator.view.ViewPanel;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ViewPanel}: Ensures frames drawn on the panel's render thread end up on
+ * screen, with and without dirty regions. Painting is done into an image, so these tests also run
+ * headless.
+ */
+public class ViewPanelTest {
+
+  private ViewPanel panel;
+
+  @Before
+  public void initial() {
+    this.panel = new ViewPanel();
+    this.panel.setPreferredSize(new Dimension(100, 100));
+    this.panel.setSize(100, 100);
+    this.panel.setBackground(Color.WHITE);
+  }
+
+  /**
+   * Paints the panel into an image until the pixel at the given point has the given color, since
+   * frames are drawn on another thread.
+   */
+  private BufferedImage paintUntil(int x, int y, Color expected) throws InterruptedException {
+    BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+    for (int i = 0; i < 200; i++) {
+      this.panel.paint(image.getGraphics());
+      if (image.getRGB(x, y) == expected.getRGB()) {
+        break;
+      }
+      Thread.sleep(10);
+    }
+    return image;
+  }
+
+  @Test
+  public void testFrameIsPainted() throws InterruptedException {
+    List<Shape> shapes = Arrays.asList(new Rectangle(10, 10, 20, 20),
+        new Ellipse2D.Double(50, 50, 20, 20));
+    this.panel.addShapes(shapes, Arrays.asList(Color.RED, Color.BLUE));
+    BufferedImage image = this.paintUntil(60, 60, Color.BLUE);
+    assertEquals(Color.RED.getRGB(), image.getRGB(15, 15));
+    assertEquals(Color.BLUE.getRGB(), image.getRGB(60, 60));
+    assertEquals(Color.WHITE.getRGB(), image.getRGB(40, 40));
+    // corner of the ellipse's bounds, outside the ellipse
+    assertEquals(Color.WHITE.getRGB(), image.getRGB(51, 51));
+  }
+
+  @Test
+  public void testNewestFrameReplacesOldOne() throws InterruptedException {
+    this.panel.addShapes(Collections.singletonList(new Rectangle(10, 10, 20, 20)),
+        Collections.singletonList(Color.RED));
+    this.paintUntil(15, 15, Color.RED);
+    this.panel.addShapes(Collections.singletonList(new Rectangle(60, 60, 20, 20)),
+        Collections.singletonList(Color.GREEN));
+    BufferedImage image = this.paintUntil(65, 65, Color.GREEN);
+    assertEquals(Color.GREEN.getRGB(), image.getRGB(65, 65));
+    assertEquals(Color.WHITE.getRGB(), image.getRGB(15, 15));
+  }
+
+  @Test
+  public void testDirtyRegionsMatchFullRepaints() throws InterruptedException {
+    ViewPanel full = new ViewPanel();
+    full.setPreferredSize(new Dimension(100, 100));
+    full.setSize(100, 100);
+    full.setBackground(Color.WHITE);
+    this.panel.setDirtyRegions(true);
+    Color[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.ORANGE, Color.MAGENTA};
+    for (int i = 0; i < colors.length; i++) {
+      List<Shape> shapes = Arrays.asList(new Rectangle(5 + 10 * i, 5, 20, 20),
+          new Rectangle(50, 50, 30, 30), new Ellipse2D.Double(60, 5 + 8 * i, 25, 15));
+      List<Color> frameColors = Arrays.asList(colors[i], Color.BLACK, colors[i]);
+      this.panel.addShapes(shapes, frameColors);
+      full.addShapes(shapes, frameColors);
+      this.paintUntil(6 + 10 * i, 6, colors[i]);
+      // wait for the other panel to draw the same frame too
+      BufferedImage expected = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+      for (int j = 0; j < 200; j++) {
+        full.paint(expected.getGraphics());
+        if (expected.getRGB(6 + 10 * i, 6) == colors[i].getRGB()) {
+          break;
+        }
+        Thread.sleep(10);
+      }
+      BufferedImage actual = this.paintUntil(6 + 10 * i, 6, colors[i]);
+      for (int x = 0; x < 100; x++) {
+        for (int y = 0; y < 100; y++) {
+          assertEquals("pixel " + x + "," + y + " of frame " + i,
+              expected.getRGB(x, y), actual.getRGB(x, y));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFramesFromArraysMatchShapes() throws InterruptedException {
+    ViewPanel shapesPanel = new ViewPanel();
+    shapesPanel.setPreferredSize(new Dimension(100, 100));
+    shapesPanel.setSize(100, 100);
+    shapesPanel.setBackground(Color.WHITE);
+    this.panel.setDirtyRegions(true);
+    Color[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.ORANGE, Color.MAGENTA};
+    for (int i = 0; i < colors.length; i++) {
+      int[] geometry = {5 + 10 * i, 5, 20, 20, 50, 50, 30, 30, 60, 5 + 8 * i, 25, 15};
+      int[] argb = {colors[i].getRGB(), Color.BLACK.getRGB(), colors[i].getRGB()};
+      this.panel.addFrame(3, geometry, argb, new boolean[]{false, false, true});
+      shapesPanel.addShapes(Arrays.asList(new Rectangle(5 + 10 * i, 5, 20, 20),
+          new Rectangle(50, 50, 30, 30), new Ellipse2D.Double(60, 5 + 8 * i, 25, 15)),
+          Arrays.asList(colors[i], Color.BLACK, colors[i]));
+      BufferedImage expected = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+      for (int j = 0; j < 200; j++) {
+        shapesPanel.paint(expected.getGraphics());
+        if (expected.getRGB(6 + 10 * i, 6) == colors[i].getRGB()) {
+          break;
+        }
+        Thread.sleep(10);
+      }
+      BufferedImage actual = this.paintUntil(6 + 10 * i, 6, colors[i]);
+      for (int x = 0; x < 100; x++) {
+        for (int y = 0; y < 100; y++) {
+          assertEquals("pixel " + x + "," + y + " of frame " + i,
+              expected.getRGB(x, y), actual.getRGB(x, y));
+        }
+      }
+    }
+  }
+}
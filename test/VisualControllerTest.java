@@ -0,0 +1,115 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.controller.VisualController;
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Motion;
+import cs3500.animator.model.Rectangle;
+import cs3500.animator.model.ShapeAnimation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for playback by the {@link VisualController}: Ensures that playback at a tempo fast
+ * enough to skip ticks still ends on the last tick of the animation, that playback held after the
+ * last tick carries on once it is moved, and that editing the animation clears cached frames.
+ */
+public class VisualControllerTest {
+
+  private IModel model;
+  private List<Integer> drawnTicks;
+  private VisualController controller;
+
+  @Before
+  public void setUp() {
+    List<IMotion> motions = new ArrayList<>(Collections.singletonList(new Motion(
+        new Keyframe(0, 0, 0, 255, 0, 0, 20, 20), new Keyframe(50, 50, 0, 0, 0, 255, 20, 20))));
+    this.model = new ShapeAnimation(new ArrayList<>(Arrays.asList(
+        new Rectangle("a", motions))), 0, 0, 100, 100);
+    this.drawnTicks = new ArrayList<>();
+    this.controller = new VisualController(new TickRecorder(this.drawnTicks), this.model);
+    // About a thousand ticks a frame, so almost every tick is skipped
+    this.controller.setTempo(60000);
+    this.controller.setTargetFrameRate(60);
+  }
+
+  /**
+   * Gets the ticks drawn so far, read on the event dispatch thread they are drawn on.
+   */
+  private List<Integer> drawnTicks() throws Exception {
+    List<Integer> ticks = new ArrayList<>();
+    SwingUtilities.invokeAndWait(() -> ticks.addAll(this.drawnTicks));
+    return ticks;
+  }
+
+  @Test
+  public void testSkippedLastTickIsDrawn() throws Exception {
+    SwingUtilities.invokeAndWait(this.controller::startAnimation);
+    Thread.sleep(300);
+    List<Integer> ticks = this.drawnTicks();
+    assertTrue(ticks.size() < 51);
+    assertEquals(50, (int) ticks.get(ticks.size() - 1));
+
+    // Playback is held after the last tick without drawing any more frames
+    Thread.sleep(200);
+    assertEquals(ticks, this.drawnTicks());
+  }
+
+  @Test
+  public void testSeekResumesHeldPlayback() throws Exception {
+    SwingUtilities.invokeAndWait(this.controller::startAnimation);
+    Thread.sleep(300);
+    SwingUtilities.invokeAndWait(() -> {
+      this.drawnTicks.clear();
+      this.controller.updateTick(10);
+    });
+    Thread.sleep(300);
+    List<Integer> ticks = this.drawnTicks();
+    assertEquals(50, (int) ticks.get(ticks.size() - 1));
+  }
+
+  @Test
+  public void testEditsClearCachedFrames() {
+    List<java.awt.Shape> shapes = new ArrayList<>();
+    VisualController editor = new VisualController(new ConfirmInputs(new StringBuilder(), shapes,
+        new ArrayList<>(), new ArrayList<>(), null), this.model);
+    editor.setFrameCacheSize(1 << 20);
+    editor.updateTick(10);
+    assertEquals(10, shapes.get(shapes.size() - 1).getBounds().x);
+
+    // The frame cached for tick 10 is not drawn again once a keyframe is edited
+    editor.editKeyframe(50, 100, 0, 0, 0, 255, 20, 20, "a");
+    editor.updateTick(10);
+    assertEquals(20, shapes.get(shapes.size() - 1).getBounds().x);
+
+    editor.removeShape("a");
+    int drawn = shapes.size();
+    editor.updateTick(10);
+    assertEquals(drawn, shapes.size());
+  }
+
+  /**
+   * A view that records every tick the scrubber is moved to during playback.
+   */
+  private static class TickRecorder extends ConfirmInputs {
+
+    private final List<Integer> ticks;
+
+    TickRecorder(List<Integer> ticks) {
+      super(new StringBuilder(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), null);
+      this.ticks = ticks;
+    }
+
+    @Override
+    public void updateScrubber(int currentTick) {
+      this.ticks.add(currentTick);
+    }
+  }
+}
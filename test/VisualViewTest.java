@@ -51,11 +51,6 @@ public class VisualViewTest {
     this.view.initializeKeyframeList(new ArrayList<>());
   }
 
-  @Test (expected = UnsupportedOperationException.class)
-  public void testMakePopupError() {
-    this.view.makePopupError("test");
-  }
-
   @Test (expected = UnsupportedOperationException.class)
   public void testUpdateKeyframeEditorGUI() {
     this.view.updateKeyframeEditorGUI(1,2,3,4,5,6,7);
@@ -0,0 +1,177 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.animator.model.IModel;
+import cs3500.animator.model.IMotion;
+import cs3500.animator.model.Keyframe;
+import cs3500.animator.model.Shape;
+import cs3500.animator.model.ShapeAnimation.AnimationBuilderImpl;
+import cs3500.animator.util.AnimationGenerator;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.util.BinaryAnimationReader;
+import cs3500.animator.util.BinaryAnimationWriter;
+import cs3500.animator.util.WindowedAnimation;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Test class for {@link WindowedAnimation}: Ensures the motions found at every tick are the same as
+ * those of the animation the file was saved from, whichever way the ticks are played, and that
+ * only the motions near the tick being played are kept.
+ */
+public class WindowedAnimationTest {
+
+  /**
+   * Saves the given animation to a binary file and opens it as a windowed animation.
+   */
+  private static WindowedAnimation open(IModel model, int windowTicks) throws IOException {
+    Path binary = Files.createTempFile("animation", ".bin");
+    try {
+      BinaryAnimationWriter.writeFile(model, binary);
+      return BinaryAnimationReader.openWindowed(binary, windowTicks);
+    } finally {
+      Files.delete(binary);
+    }
+  }
+
+  /**
+   * Describes the motions of every shape of an animation occurring at the given tick.
+   */
+  private static String describeTick(IModel model, int tick) {
+    StringBuilder description = new StringBuilder();
+    for (Shape s : model.getShapes()) {
+      description.append(s.getName()).append(':');
+      for (IMotion m : model.getMotionsAtTick(s, tick)) {
+        description.append(' ').append(m.generateDescription());
+      }
+      description.append('\n');
+    }
+    return description.toString();
+  }
+
+  @Test
+  public void testExamplesForwardAndBackward() throws IOException {
+    for (String file : new String[]{"buildings", "hanoi", "big-bang-big-crunch"}) {
+      IModel model;
+      try (FileReader reader = new FileReader("Examples/" + file + ".txt")) {
+        model = (IModel) AnimationReader.parseFile(reader, new AnimationBuilderImpl());
+      }
+      WindowedAnimation windowed = open(model, 8);
+      assertEquals(file, model.getLastTick(), windowed.getLastTick());
+      for (int tick = 0; tick <= model.getLastTick() + 1; tick += 5) {
+        assertEquals(file + " " + tick, describeTick(model, tick), describeTick(windowed, tick));
+      }
+      for (int tick = model.getLastTick(); tick >= 0; tick -= 7) {
+        assertEquals(file + " " + tick, describeTick(model, tick), describeTick(windowed, tick));
+      }
+    }
+  }
+
+  @Test
+  public void testOnlyWindowIsLoaded() throws IOException {
+    StringBuilder text = new StringBuilder();
+    new AnimationGenerator(20, 1000).setTicksPerMotion(10).setOverlap(
+        AnimationGenerator.Overlap.OVERLAPPING).generate(text);
+    IModel model = (IModel) AnimationReader.parseFile(new StringReader(text.toString()),
+        new AnimationBuilderImpl(true));
+    WindowedAnimation windowed = open(model, 100);
+    assertEquals(0, windowed.getWindowMotionCount());
+
+    for (int tick = 0; tick <= model.getLastTick(); tick += 250) {
+      assertEquals(describeTick(model, tick), describeTick(windowed, tick));
+      // A window of 125 ticks is covered by no more than three chunks of 64 motions of each shape
+      assertTrue(windowed.getWindowMotionCount() <= 20 * 3 * 64);
+    }
+    assertEquals(describeTick(model, 10), describeTick(windowed, 10));
+    assertTrue(windowed.getWindowMotionCount() <= 20 * 3 * 64);
+  }
+
+  @Test
+  public void testLongChunkBeforeWindow() throws IOException {
+    // One shape has a single motion lasting the whole animation, so its chunk starts before, and
+    // overlaps, every window
+    AnimationBuilderImpl builder = new AnimationBuilderImpl();
+    builder.setBounds(0, 0, 100, 100).declareShape("L", "rectangle")
+        .declareShape("S", "ellipse").declareShape("T", "ellipse")
+        .addMotion("L", 0, 0, 0, 10, 10, 255, 0, 0, 20000, 90, 0, 10, 10, 255, 0, 0);
+    for (int i = 0; i < 2000; i++) {
+      builder.addMotion("S", 10 * i, i % 50, 0, 10, 10, 0, 0, 255,
+          10 * i + 10, (i + 1) % 50, 0, 10, 10, 0, 0, 255);
+    }
+    builder.addMotion("T", 5000, 0, 0, 10, 10, 0, 255, 0, 5100, 0, 0, 10, 10, 0, 255, 0);
+    IModel model = (IModel) builder.build();
+    WindowedAnimation windowed = open(model, 100);
+    for (int tick : new int[]{0, 19995, 5050, 12000, 5000, 5100, 5101, 20000, 20001, 3}) {
+      assertEquals("" + tick, describeTick(model, tick), describeTick(windowed, tick));
+      // The long chunk and no more than three chunks of the other shape are loaded
+      assertTrue(windowed.getWindowMotionCount() <= 1 + 1 + 3 * 64);
+    }
+  }
+
+  @Test
+  public void testEditedShapeUsesItsOwnMotions() throws IOException {
+    IModel model = (IModel) new AnimationBuilderImpl()
+        .setBounds(0, 0, 100, 100)
+        .declareShape("R", "rectangle")
+        .addMotion("R", 1, 0, 0, 10, 10, 0, 0, 255, 5, 20, 0, 10, 10, 0, 0, 255)
+        .build();
+    WindowedAnimation windowed = open(model, 100);
+    Shape r = windowed.getShapeWithName("R");
+    assertEquals(1, windowed.getMotionsAtTick(r, 3).size());
+
+    r.editKeyframe(5, new Keyframe(5, 40, 0, 0, 0, 255, 10, 10));
+    List<IMotion> motions = windowed.getMotionsAtTick(r, 3);
+    assertEquals(1, motions.size());
+    assertEquals(40, motions.get(0).getEndingKeyframe().getX());
+    assertEquals(0, windowed.getWindowMotionCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRemovedShape() throws IOException {
+    IModel model = (IModel) new AnimationBuilderImpl()
+        .setBounds(0, 0, 100, 100)
+        .declareShape("R", "rectangle")
+        .addMotion("R", 1, 0, 0, 10, 10, 0, 0, 255, 5, 20, 0, 10, 10, 0, 0, 255)
+        .build();
+    WindowedAnimation windowed = open(model, 100);
+    Shape r = windowed.getShapeWithName("R");
+    windowed.removeShape("R");
+    windowed.getMotionsAtTick(r, 3);
+  }
+
+  @Test
+  public void testRemovedShapeLeavesWindow() throws IOException {
+    // Two shapes with the same motions, so each has the same chunks in any window
+    AnimationBuilderImpl builder = new AnimationBuilderImpl();
+    builder.setBounds(0, 0, 100, 100).declareShape("R", "rectangle").declareShape("C", "ellipse");
+    for (int i = 0; i < 500; i++) {
+      for (String name : new String[]{"R", "C"}) {
+        builder.addMotion(name, 10 * i, i, 0, 10, 10, 0, 0, 255,
+            10 * i + 10, i + 1, 0, 10, 10, 0, 0, 255);
+      }
+    }
+    IModel model = (IModel) builder.build();
+    WindowedAnimation both = open(model, 100);
+    WindowedAnimation one = open(model, 100);
+
+    Shape c = one.getShapeWithName("C");
+    one.getMotionsAtTick(c, 1000);
+    assertTrue(one.getWindowMotionCount() > 0);
+    int before = one.getWindowMotionCount();
+    one.removeShape("R");
+    assertEquals(before / 2, one.getWindowMotionCount());
+
+    // Moving the window loads only the chunks of the shape left
+    for (int tick = 0; tick < 5000; tick += 700) {
+      one.getMotionsAtTick(c, tick);
+      both.getMotionsAtTick(both.getShapeWithName("C"), tick);
+      assertEquals(both.getWindowMotionCount() / 2, one.getWindowMotionCount());
+      assertEquals(describeTick(both, tick).replaceAll("R:.*\\n", ""), describeTick(one, tick));
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package cs3500.animator.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link FrameCache}: Ensures the least recently used frames are evicted to keep
+ * the cache within its budget, and that a frame begun before the cache was cleared is not cached.
+ * It is in the same package as the cache, which is not public.
+ */
+public class FrameCacheTest {
+
+  // the estimated size of a trimmed frame of one shape: overhead, geometry, color and kind
+  private static final long ONE_SHAPE = 128 + 4 * 4 + 4 + 1;
+
+  private FrameCache cache;
+
+  @Before
+  public void initial() {
+    // Room for two frames of one shape, but not three
+    this.cache = new FrameCache(2 * ONE_SHAPE + 10);
+  }
+
+  private static FrameCache.Frame frame(int x) {
+    FrameCache.Frame frame = new FrameCache.Frame();
+    frame.add(false, x, 0, 10, 10, 255, 0, 0);
+    return frame.trim();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBudgetMustBePositive() {
+    new FrameCache(0);
+  }
+
+  @Test
+  public void testGetCachedFrame() {
+    FrameCache.Frame first = frame(1);
+    this.cache.put(1, first, this.cache.generation());
+    assertSame(first, this.cache.get(1));
+    assertNull(this.cache.get(2));
+    assertEquals(ONE_SHAPE, this.cache.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() {
+    this.cache.put(1, frame(1), this.cache.generation());
+    this.cache.put(2, frame(2), this.cache.generation());
+    // Reading the first frame makes the second one the least recently used
+    assertNotNull(this.cache.get(1));
+    this.cache.put(3, frame(3), this.cache.generation());
+    assertNull(this.cache.get(2));
+    assertNotNull(this.cache.get(1));
+    assertNotNull(this.cache.get(3));
+  }
+
+  @Test
+  public void testStaysWithinBudget() {
+    for (int tick = 0; tick < 10; tick++) {
+      this.cache.put(tick, frame(tick), this.cache.generation());
+      assertEquals(Math.min(tick + 1, 2) * ONE_SHAPE, this.cache.size());
+    }
+    assertNotNull(this.cache.get(8));
+    assertNotNull(this.cache.get(9));
+    assertNull(this.cache.get(7));
+  }
+
+  @Test
+  public void testReplacedFrameIsNotCountedTwice() {
+    this.cache.put(1, frame(1), this.cache.generation());
+    this.cache.put(1, frame(2), this.cache.generation());
+    assertEquals(ONE_SHAPE, this.cache.size());
+  }
+
+  @Test
+  public void testFrameOverBudgetIsNotCached() {
+    this.cache.put(1, frame(1), this.cache.generation());
+    FrameCache.Frame big = new FrameCache.Frame();
+    for (int i = 0; i < 20; i++) {
+      big.add(true, i, i, 10, 10, 0, 0, 255);
+    }
+    this.cache.put(2, big.trim(), this.cache.generation());
+    assertNull(this.cache.get(2));
+    // The frames already cached are kept
+    assertNotNull(this.cache.get(1));
+    assertEquals(ONE_SHAPE, this.cache.size());
+  }
+
+  @Test
+  public void testClearRemovesEveryFrame() {
+    this.cache.put(1, frame(1), this.cache.generation());
+    this.cache.put(2, frame(2), this.cache.generation());
+    this.cache.clear();
+    assertNull(this.cache.get(1));
+    assertNull(this.cache.get(2));
+    assertEquals(0, this.cache.size());
+  }
+
+  @Test
+  public void testFrameBegunBeforeClearIsNotCached() {
+    int generation = this.cache.generation();
+    FrameCache.Frame stale = frame(1);
+    this.cache.clear();
+    this.cache.put(1, stale, generation);
+    assertNull(this.cache.get(1));
+    assertEquals(0, this.cache.size());
+
+    // A frame begun after the cache was cleared is cached
+    this.cache.put(1, frame(1), this.cache.generation());
+    assertNotNull(this.cache.get(1));
+  }
+}